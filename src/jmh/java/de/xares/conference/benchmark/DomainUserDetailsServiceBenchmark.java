@@ -0,0 +1,88 @@
+package de.xares.conference.benchmark;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.Authority;
+import de.xares.conference.domain.User;
+import de.xares.conference.repository.UserRepository;
+import de.xares.conference.security.AuthoritiesConstants;
+import de.xares.conference.management.SecurityMetersService;
+import de.xares.conference.security.DomainUserDetailsService;
+import de.xares.conference.security.UnknownUserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * {@link DomainUserDetailsService#loadUserByUsername(String)} with a warm user cache.
+ * <p>
+ * The repository answers from memory, as the {@code usersByLogin} and {@code usersByEmail} caches do once warm, so the
+ * benchmark measures the work done by the service itself, by login and by email. {@code unknown} is a login no user
+ * exists for, which is answered by the unknown user cache after the first lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainUserDetailsServiceBenchmark {
+
+    @Param({ "admin", "admin@localhost", "unknown" })
+    private String login;
+
+    private DomainUserDetailsService userDetailsService;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("admin");
+        user.setEmail("admin@localhost");
+        user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+        user.setActivated(true);
+        user.setAuthorities(Set.of(new Authority().name(AuthoritiesConstants.ADMIN), new Authority().name(AuthoritiesConstants.USER)));
+
+        Optional<User> cachedUser = Optional.of(user);
+        Set<String> knownLogins = Set.of("admin", "admin@localhost");
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[] { UserRepository.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "findOneWithAuthoritiesByLogin", "findOneWithAuthoritiesByEmailIgnoreCase" -> knownLogins.contains(args[0])
+                        ? cachedUser
+                        : Optional.empty();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+        UnknownUserCache unknownUserCache = new UnknownUserCache(
+            new ApplicationProperties(),
+            new SecurityMetersService(new SimpleMeterRegistry())
+        );
+        userDetailsService = new DomainUserDetailsService(userRepository, new NoOpCacheManager(), unknownUserCache);
+    }
+
+    @Benchmark
+    public Object loadUserByUsername() {
+        try {
+            return userDetailsService.loadUserByUsername(login);
+        } catch (UsernameNotFoundException e) {
+            return e;
+        }
+    }
+}
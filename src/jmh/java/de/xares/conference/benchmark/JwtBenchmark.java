@@ -0,0 +1,91 @@
+package de.xares.conference.benchmark;
+
+import static de.xares.conference.security.SecurityUtils.AUTHORITIES_KEY;
+import static de.xares.conference.security.SecurityUtils.JWT_ALGORITHM;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.config.SecurityJwtConfiguration;
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Encoding and decoding of JWTs by the {@link SecurityJwtConfiguration} beans, with the claims
+ * {@code AuthenticateController} puts in a token. {@link #decode()} presents the same token again and is served by the
+ * verified token cache, {@link #decodeUncached()} checks the signature on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String BASE64_SECRET =
+        "ODg4YzQxMWU3ZTg4MjA2NzAzOTc5OGI4ZDkxNzY1NzlhZDlkYzZlZGQxYzJjMTdkMTFmNTFiYzhmYTVjOTlkMGRjNDdkZjBlMmFkYWEyOTFlM2ZlZmRmNDcwMTRhODI4MGRkOTY5NDFiZjQzN2YwYjI2Yzk4ZjM1ZjMxY2E3OWU=";
+
+    private JwtEncoder jwtEncoder;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder uncachedJwtDecoder;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", BASE64_SECRET);
+        jwtEncoder = securityJwtConfiguration.jwtEncoder();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        jwtDecoder = securityJwtConfiguration.jwtDecoder(new SecurityMetersService(new SimpleMeterRegistry()), applicationProperties);
+        applicationProperties.getSecurity().getJwtCache().setMaximumSize(0);
+        uncachedJwtDecoder = securityJwtConfiguration.jwtDecoder(
+            new SecurityMetersService(new SimpleMeterRegistry()),
+            applicationProperties
+        );
+        token = encode();
+    }
+
+    @Benchmark
+    public String encode() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(86400))
+            .subject("admin")
+            .claim(AUTHORITIES_KEY, "ROLE_ADMIN ROLE_USER")
+            .build();
+        JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeUncached() {
+        return uncachedJwtDecoder.decode(token);
+    }
+}
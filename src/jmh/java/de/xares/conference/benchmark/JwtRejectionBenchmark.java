@@ -0,0 +1,111 @@
+package de.xares.conference.benchmark;
+
+import static de.xares.conference.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.util.Base64;
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.config.SecurityJwtConfiguration;
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Cost of rejecting bad tokens with several threads presenting them at once, comparing the {@link SecurityJwtConfiguration}
+ * decoder with a plain {@link NimbusJwtDecoder} that verifies the signature before looking at anything else.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtRejectionBenchmark {
+
+    private static final String BASE64_SECRET =
+        "ODg4YzQxMWU3ZTg4MjA2NzAzOTc5OGI4ZDkxNzY1NzlhZDlkYzZlZGQxYzJjMTdkMTFmNTFiYzhmYTVjOTlkMGRjNDdkZjBlMmFkYWEyOTFlM2ZlZmRmNDcwMTRhODI4MGRkOTY5NDFiZjQzN2YwYjI2Yzk4ZjM1ZjMxY2E3OWU=";
+
+    private static final String OTHER_BASE64_SECRET =
+        "ZmQ1NGE0NXM2NWZkczczN2I5YWFmY2IzNDEyZTA3ZWQ5OWIyNjdmMzM0MTMyNzQ3MjBkZGJiN2Y2YzVlNjRlOWYxNDA3NWYyZDdlZDA0MTU5MmYwYjc2NTdiYWY4";
+
+    @Param({ "malformed", "unsupported", "expired", "invalid-signature" })
+    private String cause;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder nimbusJwtDecoder;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", BASE64_SECRET);
+        jwtDecoder = securityJwtConfiguration.jwtDecoder(new SecurityMetersService(new SimpleMeterRegistry()), new ApplicationProperties());
+        nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey(BASE64_SECRET)).macAlgorithm(JWT_ALGORITHM).build();
+
+        Instant now = Instant.now();
+        token = switch (cause) {
+            case "malformed" -> encode(BASE64_SECRET, JWT_ALGORITHM, now.plusSeconds(86400)).substring(1);
+            case "unsupported" -> encode(BASE64_SECRET, MacAlgorithm.HS256, now.plusSeconds(86400));
+            case "expired" -> encode(BASE64_SECRET, JWT_ALGORITHM, now.minusSeconds(600));
+            case "invalid-signature" -> encode(OTHER_BASE64_SECRET, JWT_ALGORITHM, now.plusSeconds(86400));
+            default -> throw new IllegalArgumentException(cause);
+        };
+    }
+
+    @Benchmark
+    public Object reject() {
+        return decode(jwtDecoder);
+    }
+
+    @Benchmark
+    public Object rejectWithoutPrechecks() {
+        return decode(nimbusJwtDecoder);
+    }
+
+    private Object decode(JwtDecoder decoder) {
+        try {
+            return decoder.decode(token);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    private static String encode(String base64Secret, MacAlgorithm algorithm, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder().issuedAt(expiresAt.minusSeconds(60)).expiresAt(expiresAt).subject("admin").build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(secretKey(base64Secret)))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims))
+            .getTokenValue();
+    }
+
+    private static SecretKey secretKey(String base64Secret) {
+        byte[] keyBytes = Base64.from(base64Secret).decode();
+        return new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
+    }
+}
@@ -0,0 +1,134 @@
+package de.xares.conference.benchmark;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.config.MailConfiguration;
+import de.xares.conference.domain.User;
+import de.xares.conference.service.MailRenderer;
+import de.xares.conference.service.MailRenderer.RenderedMail;
+import de.xares.conference.service.MailTemplate;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Rendering of the activation email for a list of users. {@link #renderUncached()} processes the template and looks up the
+ * subject for every email, as with {@code spring.thymeleaf.cache} disabled, {@link #renderCached()} renders with the
+ * {@link MailRenderer} on one thread and {@link #renderParallel()} on one thread per processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailRenderingBenchmark {
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private SpringTemplateEngine uncachedTemplateEngine;
+
+    private MailRenderer sequentialRenderer;
+
+    private MailRenderer parallelRenderer;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+        ClassLoaderTemplateResolver uncachedResolver = new ClassLoaderTemplateResolver();
+        uncachedResolver.setPrefix("templates/");
+        uncachedResolver.setSuffix(".html");
+        uncachedResolver.setTemplateMode(TemplateMode.HTML);
+        uncachedResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        uncachedResolver.setCacheable(false);
+        uncachedTemplateEngine = createTemplateEngine(uncachedResolver);
+        SpringTemplateEngine templateEngine = createTemplateEngine(
+            (ClassLoaderTemplateResolver) new MailConfiguration().mailTemplateResolver()
+        );
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl(BASE_URL);
+        ApplicationProperties sequential = new ApplicationProperties();
+        sequential.getMail().getRendering().setThreads(1);
+        sequentialRenderer = new MailRenderer(sequential, templateEngine, messageSource, jHipsterProperties);
+        parallelRenderer = new MailRenderer(new ApplicationProperties(), templateEngine, messageSource, jHipsterProperties);
+
+        users = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setLogin("attendee-" + i);
+            user.setEmail("attendee-" + i + "@localhost");
+            user.setLangKey("en");
+            user.setActivationKey("activation-key-" + i);
+            users.add(user);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sequentialRenderer.destroy();
+        parallelRenderer.destroy();
+    }
+
+    @Benchmark
+    public List<RenderedMail> renderUncached() {
+        List<RenderedMail> mails = new ArrayList<>(users.size());
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            Context context = new Context(locale);
+            context.setVariable("user", user);
+            context.setVariable("baseUrl", BASE_URL);
+            String content = uncachedTemplateEngine.process(MailTemplate.ACTIVATION.name(), context);
+            String subject = messageSource.getMessage(MailTemplate.ACTIVATION.titleKey(), null, locale);
+            mails.add(new RenderedMail(user.getEmail(), subject, content));
+        }
+        return mails;
+    }
+
+    @Benchmark
+    public List<RenderedMail> renderCached() {
+        return sequentialRenderer.renderAll(users, MailTemplate.ACTIVATION);
+    }
+
+    @Benchmark
+    public List<RenderedMail> renderParallel() {
+        return parallelRenderer.renderAll(users, MailTemplate.ACTIVATION);
+    }
+
+    private SpringTemplateEngine createTemplateEngine(ClassLoaderTemplateResolver templateResolver) {
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        return templateEngine;
+    }
+}
@@ -0,0 +1,89 @@
+package de.xares.conference.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.xares.conference.config.JacksonConfiguration;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.service.dto.TalkSummaryDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of a page of talks, as the entities with their abstract that {@code GET /api/talks} used to return, and as
+ * the summaries without it that it returns now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TalkSerializationBenchmark {
+
+    @Param({ "20", "200" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<Talk> talks;
+
+    private List<TalkSummaryDTO> summaries;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        // Same modules and defaults as the ObjectMapper Spring Boot builds for the application
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        String abstractText = "A talk about performance. ".repeat(60);
+        talks = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            Room room = new Room().id(i % 8).name("Room " + (i % 8));
+            Instant start = Instant.parse("2025-03-01T09:00:00Z").plusSeconds(3600 * (i / 8));
+            Timeslot timeslot = new Timeslot().id(i / 8).start(start).end(start.plusSeconds(2700));
+            Talk talk = new Talk().id(i).title("Talk " + i).speaker("Speaker " + i).abstractText(abstractText).room(room).timeslot(timeslot);
+            talks.add(talk);
+
+            TalkSummaryDTO summary = new TalkSummaryDTO();
+            summary.setId(talk.getId());
+            summary.setTitle(talk.getTitle());
+            summary.setSpeaker(talk.getSpeaker());
+            summary.setRoomId(room.getId());
+            summary.setRoomName(room.getName());
+            summary.setTimeslotId(timeslot.getId());
+            summary.setTimeslotStart(timeslot.getStart());
+            summary.setTimeslotEnd(timeslot.getEnd());
+            summaries.add(summary);
+        }
+    }
+
+    @Benchmark
+    public byte[] talksWithAbstract() throws Exception {
+        return objectMapper.writeValueAsBytes(talks);
+    }
+
+    @Benchmark
+    public byte[] talkSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,66 @@
+package de.xares.conference.benchmark;
+
+import de.xares.conference.domain.Authority;
+import de.xares.conference.domain.User;
+import de.xares.conference.security.AuthoritiesConstants;
+import de.xares.conference.service.dto.UserDTO;
+import de.xares.conference.service.mapper.UserMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping of a page of users by {@link UserMapper#usersToUserDTOs(List)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "200" })
+    private int size;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper();
+        Authority userAuthority = new Authority().name(AuthoritiesConstants.USER);
+        Authority adminAuthority = new Authority().name(AuthoritiesConstants.ADMIN);
+        users = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setLogin("user-" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setAuthorities(i % 10 == 0 ? Set.of(userAuthority, adminAuthority) : Set.of(userAuthority));
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}
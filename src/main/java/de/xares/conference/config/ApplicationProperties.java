@@ -1,6 +1,14 @@
 package de.xares.conference.config;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Conference.
@@ -13,12 +21,54 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final Warmup warmup = new Warmup();
+
+    private final Execution execution = new Execution();
+
+    private final Mail mail = new Mail();
+
+    private final Notification notification = new Notification();
+
+    private final Stream stream = new Stream();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public Execution getExecution() {
+        return execution;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public Notification getNotification() {
+        return notification;
+    }
+
+    public Stream getStream() {
+        return stream;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +83,772 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Security {
+
+        private final JwtCache jwtCache = new JwtCache();
+
+        private final Password password = new Password();
+
+        private final LoginRateLimit loginRateLimit = new LoginRateLimit();
+
+        private final UnknownUserCache unknownUserCache = new UnknownUserCache();
+
+        public JwtCache getJwtCache() {
+            return jwtCache;
+        }
+
+        public Password getPassword() {
+            return password;
+        }
+
+        public LoginRateLimit getLoginRateLimit() {
+            return loginRateLimit;
+        }
+
+        public UnknownUserCache getUnknownUserCache() {
+            return unknownUserCache;
+        }
+
+        public static class JwtCache {
+
+            /**
+             * Maximum number of verified tokens kept in memory, {@code 0} disables the cache.
+             */
+            private int maximumSize = 10_000;
+
+            public int getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(int maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+        }
+
+        public static class Password {
+
+            /**
+             * BCrypt log rounds of new hashes, hashes stored with fewer rounds are rehashed on the next login.
+             */
+            private int strength = 10;
+
+            /**
+             * Number of threads hashing and verifying passwords.
+             */
+            private int hashingThreads = Runtime.getRuntime().availableProcessors();
+
+            /**
+             * Number of hashing requests waiting for a thread before further requests are rejected.
+             */
+            private int hashingQueueCapacity = 100;
+
+            public int getStrength() {
+                return strength;
+            }
+
+            public void setStrength(int strength) {
+                this.strength = strength;
+            }
+
+            public int getHashingThreads() {
+                return hashingThreads;
+            }
+
+            public void setHashingThreads(int hashingThreads) {
+                this.hashingThreads = hashingThreads;
+            }
+
+            public int getHashingQueueCapacity() {
+                return hashingQueueCapacity;
+            }
+
+            public void setHashingQueueCapacity(int hashingQueueCapacity) {
+                this.hashingQueueCapacity = hashingQueueCapacity;
+            }
+        }
+
+        public static class LoginRateLimit {
+
+            /**
+             * Length of the sliding window login attempts are counted over.
+             */
+            private Duration window = Duration.ofMinutes(1);
+
+            /**
+             * Attempts allowed per login or email in a window, at least 1.
+             */
+            private int attemptsPerLogin = 10;
+
+            /**
+             * Attempts allowed per client IP address in a window, at least 1. Attendees behind the same NAT share it.
+             */
+            private int attemptsPerIp = 300;
+
+            /**
+             * Maximum number of logins and IP addresses tracked at once.
+             */
+            private int maximumKeys = 100_000;
+
+            public Duration getWindow() {
+                return window;
+            }
+
+            public void setWindow(Duration window) {
+                this.window = window;
+            }
+
+            public int getAttemptsPerLogin() {
+                return attemptsPerLogin;
+            }
+
+            public void setAttemptsPerLogin(int attemptsPerLogin) {
+                this.attemptsPerLogin = attemptsPerLogin;
+            }
+
+            public int getAttemptsPerIp() {
+                return attemptsPerIp;
+            }
+
+            public void setAttemptsPerIp(int attemptsPerIp) {
+                this.attemptsPerIp = attemptsPerIp;
+            }
+
+            public int getMaximumKeys() {
+                return maximumKeys;
+            }
+
+            public void setMaximumKeys(int maximumKeys) {
+                this.maximumKeys = maximumKeys;
+            }
+        }
+
+        public static class UnknownUserCache {
+
+            /**
+             * How long a login or email no user was found for is rejected without a query.
+             */
+            private Duration timeToLive = Duration.ofMinutes(1);
+
+            /**
+             * Maximum number of logins and emails remembered, {@code 0} disables the cache.
+             */
+            private int maximumSize = 10_000;
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public int getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(int maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory holding the disk tier of the caches configured with a {@code disk-size}.
+         */
+        private String diskPath = System.getProperty("java.io.tmpdir") + "/conference-cache";
+
+        /**
+         * Settings per cache name, overriding {@code jhipster.cache.ehcache}. Entity caches can be named by their simple
+         * name, such as {@code Talk} or {@code [User.authorities]}.
+         */
+        private final Map<String, Tiers> caches = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Tiers> getCaches() {
+            return caches;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Tiers {
+
+            /**
+             * Time entries stay in the cache, defaults to {@code jhipster.cache.ehcache.time-to-live-seconds}.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Entries kept on the heap, defaults to {@code jhipster.cache.ehcache.max-entries}.
+             */
+            private Long maxEntries;
+
+            /**
+             * Size of the off-heap tier, which stores serialized entries outside the garbage collected heap. None if unset.
+             */
+            private DataSize offHeapSize;
+
+            /**
+             * Size of the disk tier, below the off-heap tier when both are set. None if unset.
+             */
+            private DataSize diskSize;
+
+            /**
+             * Whether the disk tier is kept across restarts, otherwise it is cleared on startup.
+             */
+            private boolean diskPersistent;
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Whether cache evictions are broadcast to the other instances sharing the database.
+             */
+            private boolean enabled = true;
+
+            /**
+             * PostgreSQL channel the evictions are notified on.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * Time evictions are collected before being sent, so that those of concurrent transactions share a message.
+             */
+            private Duration flushInterval = Duration.ofMillis(20);
+
+            /**
+             * Number of pending evictions that triggers sending before {@code flush-interval} has elapsed.
+             */
+            private int batchSize = 1000;
+
+            /**
+             * Number of evicted keys of one cache within a batch above which the whole cache is evicted instead.
+             */
+            private int regionThreshold = 200;
+
+            /**
+             * Delay before listening again after the connection was lost.
+             */
+            private Duration reconnectDelay = Duration.ofSeconds(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getRegionThreshold() {
+                return regionThreshold;
+            }
+
+            public void setRegionThreshold(int regionThreshold) {
+                this.regionThreshold = regionThreshold;
+            }
+
+            public Duration getReconnectDelay() {
+                return reconnectDelay;
+            }
+
+            public void setReconnectDelay(Duration reconnectDelay) {
+                this.reconnectDelay = reconnectDelay;
+            }
+        }
+    }
+
+    public static class Warmup {
+
+        /**
+         * Whether caches are loaded and requests replayed before the application reports being ready.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Talks starting at most this long before or after startup are loaded into the cache.
+         */
+        private Duration talkWindow = Duration.ofDays(3);
+
+        /**
+         * Paths of {@code GET} requests replayed against this instance, as a user with {@code ROLE_USER}.
+         */
+        private final List<String> requests = new ArrayList<>();
+
+        /**
+         * Number of times each request is replayed.
+         */
+        private int iterations = 100;
+
+        /**
+         * Time after which replaying stops, whatever the remaining iterations.
+         */
+        private Duration timeout = Duration.ofMinutes(1);
+
+        /**
+         * Connect and read timeout of each replayed request.
+         */
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        /**
+         * URL requests are replayed against, {@code http://localhost:<port>} if unset.
+         */
+        private String baseUrl;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTalkWindow() {
+            return talkWindow;
+        }
+
+        public void setTalkWindow(Duration talkWindow) {
+            this.talkWindow = talkWindow;
+        }
+
+        public List<String> getRequests() {
+            return requests;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+    }
+
+    public static class Execution {
+
+        /**
+         * Threads running servlet requests, {@code @Async} methods and {@code @Scheduled} jobs.
+         */
+        private Mode mode = Mode.PLATFORM;
+
+        /**
+         * Virtual threads pinned to their carrier for longer than this are logged and counted.
+         */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+
+        public enum Mode {
+            /**
+             * Pooled platform threads, sized by {@code spring.task.*} and the Undertow worker pool.
+             */
+            PLATFORM,
+            /**
+             * One virtual thread per request or task, startup fails on a runtime older than Java 21.
+             */
+            VIRTUAL,
+        }
+    }
+
+    public static class Mail {
+
+        private final Outbox outbox = new Outbox();
+
+        private final Rendering rendering = new Rendering();
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public Rendering getRendering() {
+            return rendering;
+        }
+
+        public static class Rendering {
+
+            /**
+             * Threads rendering the emails of bulk sends, defaults to the number of processors.
+             */
+            private int threads = Runtime.getRuntime().availableProcessors();
+
+            /**
+             * Chunks of emails waiting for a rendering thread, further chunks are rendered by the sending thread.
+             */
+            private int queueCapacity = 100;
+
+            /**
+             * Number of emails of a bulk send rendered together by one thread.
+             */
+            private int chunkSize = 50;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+        }
+
+        public static class Outbox {
+
+            /**
+             * Whether queued emails are sent by this instance, they are only queued otherwise.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Time between two looks for emails to send, while none are queued.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * Maximum number of emails claimed and sent at once.
+             */
+            private int batchSize = 50;
+
+            /**
+             * Time after which emails claimed by an instance that did not send them are sent by another one.
+             */
+            private Duration claimTimeout = Duration.ofMinutes(5);
+
+            /**
+             * Attempts after which an email is marked as failed and no longer sent.
+             */
+            private int maxAttempts = 10;
+
+            /**
+             * Delay before retrying an email after its first failed attempt, doubled after each further one.
+             */
+            private Duration initialBackoff = Duration.ofSeconds(30);
+
+            /**
+             * Maximum delay between two attempts to send an email.
+             */
+            private Duration maxBackoff = Duration.ofHours(1);
+
+            /**
+             * Time after which the SMTP connection is closed while no emails are sent.
+             */
+            private Duration idleTimeout = Duration.ofMinutes(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getClaimTimeout() {
+                return claimTimeout;
+            }
+
+            public void setClaimTimeout(Duration claimTimeout) {
+                this.claimTimeout = claimTimeout;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+
+            public Duration getIdleTimeout() {
+                return idleTimeout;
+            }
+
+            public void setIdleTimeout(Duration idleTimeout) {
+                this.idleTimeout = idleTimeout;
+            }
+        }
+    }
+
+    public static class Notification {
+
+        /**
+         * Whether attendees are notified when their talks move, moves are only collected otherwise.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Attendees are notified once no talk has moved for this long, so that a reshuffle is sent as one digest.
+         */
+        private Duration quietPeriod = Duration.ofSeconds(30);
+
+        /**
+         * Maximum time attendees are notified after the first move, even while talks keep moving.
+         */
+        private Duration maxDelay = Duration.ofMinutes(5);
+
+        /**
+         * Time zone of the times in the notifications.
+         */
+        private ZoneId timeZone = ZoneOffset.UTC;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getQuietPeriod() {
+            return quietPeriod;
+        }
+
+        public void setQuietPeriod(Duration quietPeriod) {
+            this.quietPeriod = quietPeriod;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public ZoneId getTimeZone() {
+            return timeZone;
+        }
+
+        public void setTimeZone(ZoneId timeZone) {
+            this.timeZone = timeZone;
+        }
+    }
+
+    public static class Stream {
+
+        /**
+         * Events waiting to be written to a client, a client falling further behind is disconnected.
+         */
+        private int bufferSize = 64;
+
+        /**
+         * Threads writing the events to the clients, defaults to the number of processors.
+         */
+        private int writerThreads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Time a write may block on a client before the client is disconnected and its writer replaced.
+         */
+        private Duration writeTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Interval of the comments sent to idle clients, so that closed connections are noticed.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+        /**
+         * Connections are closed after this long, and reopened by the clients.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getWriterThreads() {
+            return writerThreads;
+        }
+
+        public void setWriterThreads(int writerThreads) {
+            this.writerThreads = writerThreads;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,11 +1,27 @@
 package de.xares.conference.config;
 
+import de.xares.conference.service.cache.CacheInvalidationTransport;
+import de.xares.conference.service.cache.PostgresCacheInvalidationTransport;
+import java.nio.file.Path;
 import java.time.Duration;
+import javax.cache.Caching;
+import javax.sql.DataSource;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -15,25 +31,63 @@ import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Ehcache caches, each sized from {@code application.cache.caches.<name>} or else from {@code jhipster.cache.ehcache}.
+ * <p>
+ * A cache always has a heap tier and may add an off-heap and a disk tier below it, whose entries are serialized.
+ * Statistics are enabled on every cache, so its hits, misses and evictions are published as {@code cache.*} meters.
+ * <p>
+ * The query caches are regions of their own, so that talk lists cannot evict the users or the entities they refer to.
+ * <p>
+ * Evictions are broadcast to the other instances by the {@code CacheInvalidationService}, through PostgreSQL unless another
+ * {@link CacheInvalidationTransport} bean is declared.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE_PREFIX = de.xares.conference.domain.User.class.getPackageName() + ".";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = cachingProvider.getDefaultClassLoader();
+        boolean diskTiers = cacheProperties.getCaches().values().stream().anyMatch(tiers -> tiers.getDiskSize() != null);
+        DefaultConfiguration configuration = diskTiers
+            ? new DefaultConfiguration(
+                classLoader,
+                new DefaultPersistenceConfiguration(Path.of(cacheProperties.getDiskPath()).toFile())
             )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
+            : new DefaultConfiguration(classLoader);
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    /**
+     * Broadcast cache invalidations through PostgreSQL, when the driver is on the classpath.
+     */
+    @Bean
+    @ConditionalOnClass(name = PostgresCacheInvalidationTransport.PG_CONNECTION_CLASS_NAME)
+    @ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnMissingBean(CacheInvalidationTransport.class)
+    public CacheInvalidationTransport cacheInvalidationTransport(DataSource dataSource, DataSourceProperties dataSourceProperties) {
+        return new PostgresCacheInvalidationTransport(
+            dataSource,
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword(),
+            cacheProperties.getInvalidation()
         );
     }
 
@@ -53,6 +107,11 @@ public class CacheConfiguration {
             createCache(cm, de.xares.conference.domain.Room.class.getName());
             createCache(cm, de.xares.conference.domain.Timeslot.class.getName());
             createCache(cm, de.xares.conference.domain.Talk.class.getName());
+            createCache(cm, de.xares.conference.repository.TalkRepository.TALK_QUERIES_CACHE);
+            createCache(cm, de.xares.conference.repository.RoomRepository.ROOM_QUERIES_CACHE);
+            createCache(cm, de.xares.conference.repository.TimeslotRepository.TIMESLOT_QUERIES_CACHE);
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -62,8 +121,48 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName, cm.getClassLoader()));
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName, ClassLoader classLoader) {
+        ApplicationProperties.Cache.Tiers tiers = cacheProperties.getCaches().get(cacheName);
+        if (tiers == null && cacheName.startsWith(DOMAIN_PACKAGE_PREFIX)) {
+            tiers = cacheProperties.getCaches().get(cacheName.substring(DOMAIN_PACKAGE_PREFIX.length()));
+        }
+        if (tiers == null) {
+            tiers = new ApplicationProperties.Cache.Tiers();
+        }
+
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            tiers.getMaxEntries() != null ? tiers.getMaxEntries() : ehcache.getMaxEntries()
+        );
+        if (tiers.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(tiers.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+        if (tiers.getDiskSize() != null) {
+            resourcePools = resourcePools.disk(tiers.getDiskSize().toBytes(), MemoryUnit.B, tiers.isDiskPersistent());
+        }
+        Duration timeToLive = tiers.getTimeToLive() != null ? tiers.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(
+            // A cached query result is only checked against the last write still held here, so writes must never expire
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(cacheName)
+                ? ExpiryPolicyBuilder.noExpiration()
+                : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)
+        );
+        if (tiers.getOffHeapSize() != null || tiers.getDiskSize() != null) {
+            // Entries below the heap are stored serialized, and Ehcache has no default serializer for Object
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
         }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
     }
 
     @Autowired(required = false)
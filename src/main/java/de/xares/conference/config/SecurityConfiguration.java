@@ -3,8 +3,10 @@ package de.xares.conference.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
+import de.xares.conference.management.SecurityMetersService;
 import de.xares.conference.security.*;
 import de.xares.conference.web.filter.SpaWebFilter;
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -15,6 +17,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
@@ -40,8 +43,18 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        ApplicationProperties.Security.Password password = applicationProperties.getSecurity().getPassword();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(password.getStrength());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes stored before they were prefixed with the id of their encoder are BCrypt hashes, they are upgraded on login
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new OffloadingPasswordEncoder(
+            passwordEncoder,
+            password.getHashingThreads(),
+            password.getHashingQueueCapacity(),
+            metersService
+        );
     }
 
     @Bean
@@ -0,0 +1,43 @@
+package de.xares.conference.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs servlet requests on virtual threads when {@code application.execution.mode} is {@code virtual}.
+ * <p>
+ * Undertow still accepts connections and reads requests on its IO threads. Only the servlet invocation, which blocks on
+ * JDBC or SMTP, moves from the worker pool to a new virtual thread per request.
+ * <p>
+ * The build targets Java 17, so the mode is checked against the runtime and startup fails below Java 21. The container
+ * image runs on Java 21.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.execution.mode", havingValue = "virtual")
+public class UndertowConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UndertowConfiguration.class);
+
+    public UndertowConfiguration() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException(
+                "application.execution.mode=virtual requires Java 21 or later, the runtime is Java " + Runtime.version()
+            );
+        }
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadUndertowCustomizer() {
+        return factory -> {
+            LOG.debug("Dispatching servlet requests to virtual threads");
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("undertow-");
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor).setAsyncExecutor(executor));
+        };
+    }
+}
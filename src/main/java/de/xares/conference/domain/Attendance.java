@@ -0,0 +1,89 @@
+package de.xares.conference.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A user attending a talk, who is notified when the talk moves.
+ */
+@Entity
+@Table(name = "attendance")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class Attendance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @NotNull
+    private Talk talk;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @NotNull
+    private User user;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Talk getTalk() {
+        return talk;
+    }
+
+    public Attendance talk(Talk talk) {
+        this.setTalk(talk);
+        return this;
+    }
+
+    public void setTalk(Talk talk) {
+        this.talk = talk;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Attendance user(User user) {
+        this.setUser(user);
+        return this;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Attendance)) {
+            return false;
+        }
+        return id != null && id.equals(((Attendance) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Attendance{" +
+            "id=" + getId() +
+            "}";
+    }
+}
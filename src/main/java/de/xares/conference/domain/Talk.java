@@ -31,9 +31,11 @@ public class Talk implements Serializable {
     @Column(name = "speaker", nullable = false)
     private String speaker;
 
-    @Lob
-    @Column(name = "abstract_text", nullable = false)
-    private String abstractText;
+    /**
+     * Read through {@link #getAbstractText()}, which loads it on first access.
+     */
+    @OneToOne(mappedBy = "talk", fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
+    private TalkAbstract talkAbstract;
 
     @ManyToOne(optional = false)
     @NotNull
@@ -56,6 +58,9 @@ public class Talk implements Serializable {
 
     public void setId(Long id) {
         this.id = id;
+        if (this.talkAbstract != null && id != null) {
+            this.talkAbstract.setId(id);
+        }
     }
 
     public String getTitle() {
@@ -85,7 +90,7 @@ public class Talk implements Serializable {
     }
 
     public String getAbstractText() {
-        return this.abstractText;
+        return this.talkAbstract == null ? null : this.talkAbstract.getText();
     }
 
     public Talk abstractText(String abstractText) {
@@ -94,7 +99,11 @@ public class Talk implements Serializable {
     }
 
     public void setAbstractText(String abstractText) {
-        this.abstractText = abstractText;
+        if (this.talkAbstract == null) {
+            // Carries the id of an existing talk, so that merging the talk updates its abstract instead of inserting one
+            this.talkAbstract = new TalkAbstract().id(this.id).talk(this);
+        }
+        this.talkAbstract.setText(abstractText);
     }
 
     public Room getRoom() {
@@ -149,7 +158,6 @@ public class Talk implements Serializable {
             "id=" + getId() +
             ", title='" + getTitle() + "'" +
             ", speaker='" + getSpeaker() + "'" +
-            ", abstractText='" + getAbstractText() + "'" +
             "}";
     }
 }
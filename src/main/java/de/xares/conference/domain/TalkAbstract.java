@@ -0,0 +1,95 @@
+package de.xares.conference.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * The abstract of a {@link Talk}, kept in its own table and sharing the talk's primary key.
+ * <p>
+ * Abstracts are only read when a talk is shown on its own, so they are loaded lazily and never put in the second-level
+ * cache, keeping talk lookups and listings free of the LOB.
+ */
+@Entity
+@Table(name = "talk_abstract")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TalkAbstract implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id")
+    private Talk talk;
+
+    @Lob
+    @Column(name = "abstract_text", nullable = false)
+    private String text;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public TalkAbstract id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Talk getTalk() {
+        return this.talk;
+    }
+
+    public TalkAbstract talk(Talk talk) {
+        this.setTalk(talk);
+        return this;
+    }
+
+    public void setTalk(Talk talk) {
+        this.talk = talk;
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    public TalkAbstract text(String text) {
+        this.setText(text);
+        return this;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TalkAbstract)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((TalkAbstract) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TalkAbstract{" +
+            "id=" + getId() +
+            "}";
+    }
+}
@@ -40,8 +40,8 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
 
     @JsonIgnore
     @NotNull
-    @Size(min = 60, max = 60)
-    @Column(name = "password_hash", length = 60, nullable = false)
+    @Size(min = 60, max = 100)
+    @Column(name = "password_hash", length = 100, nullable = false)
     private String password;
 
     @Size(max = 50)
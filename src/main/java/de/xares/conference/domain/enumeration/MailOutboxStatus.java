@@ -0,0 +1,15 @@
+package de.xares.conference.domain.enumeration;
+
+/**
+ * The MailOutboxStatus enumeration.
+ */
+public enum MailOutboxStatus {
+    /**
+     * Waiting to be sent, possibly after failed attempts.
+     */
+    PENDING,
+    /**
+     * Given up on after {@code application.mail.outbox.max-attempts} attempts.
+     */
+    FAILED,
+}
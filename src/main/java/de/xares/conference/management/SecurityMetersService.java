@@ -1,7 +1,11 @@
 package de.xares.conference.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +17,62 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION =
+        "Indicates whether the tokens presented by the clients were already verified.";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+    public static final String TOKEN_CACHE_SIZE_METER_NAME = "security.authentication.token-cache.size";
+
+    public static final String PASSWORD_HASHING_EXECUTOR_NAME = "password-hashing";
+    public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.password-hashing.rejected";
+
+    public static final String LOGIN_RATE_LIMITED_METER_NAME = "security.authentication.rate-limited";
+    public static final String LOGIN_RATE_LIMITED_METER_KEY_DIMENSION = "key";
+    public static final String LOGIN_RATE_LIMITER_SIZE_METER_NAME = "security.authentication.rate-limiter.size";
+
+    public static final String UNKNOWN_USER_CACHE_HITS_METER_NAME = "security.authentication.unknown-user-cache.hits";
+    public static final String UNKNOWN_USER_CACHE_SIZE_METER_NAME = "security.authentication.unknown-user-cache.size";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Counter passwordHashingRejectedCounter;
+    private final Counter loginRateLimitedByLoginCounter;
+    private final Counter loginRateLimitedByIpCounter;
+    private final Counter unknownUserCacheHitCounter;
+    private final MeterRegistry registry;
 
     public SecurityMetersService(MeterRegistry registry) {
+        this.registry = registry;
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.passwordHashingRejectedCounter = Counter.builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+            .description("Indicates the number of password hashing requests rejected because all threads and queue slots were busy.")
+            .register(registry);
+        this.loginRateLimitedByLoginCounter = loginRateLimitedCounterForKeyBuilder("login").register(registry);
+        this.loginRateLimitedByIpCounter = loginRateLimitedCounterForKeyBuilder("ip").register(registry);
+        this.unknownUserCacheHitCounter = Counter.builder(UNKNOWN_USER_CACHE_HITS_METER_NAME)
+            .description("Indicates the number of user lookups skipped because no user was recently found for the login or email.")
+            .register(registry);
+    }
+
+    private Counter.Builder loginRateLimitedCounterForKeyBuilder(String key) {
+        return Counter.builder(LOGIN_RATE_LIMITED_METER_NAME)
+            .description("Indicates the number of login attempts rejected because the login or the client IP had too many attempts.")
+            .tag(LOGIN_RATE_LIMITED_METER_KEY_DIMENSION, key);
+    }
+
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -47,4 +97,71 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    /**
+     * Report the number of verified tokens held by a cache.
+     *
+     * @param cache the cache, which is only referenced weakly.
+     */
+    public void monitorTokenCacheSize(Map<?, ?> cache) {
+        Gauge.builder(TOKEN_CACHE_SIZE_METER_NAME, cache, Map::size)
+            .description("Indicates the number of verified tokens held in memory.")
+            .register(registry);
+    }
+
+    public void trackPasswordHashingRejected() {
+        this.passwordHashingRejectedCounter.increment();
+    }
+
+    /**
+     * Report the queue depth, pool usage, queue wait and hashing time of the password hashing executor.
+     *
+     * @param executor the executor.
+     * @return the executor to submit tasks to, so that their timings are recorded.
+     */
+    public ExecutorService monitorPasswordHashingExecutor(ExecutorService executor) {
+        return ExecutorServiceMetrics.monitor(registry, executor, PASSWORD_HASHING_EXECUTOR_NAME);
+    }
+
+    public void trackLoginRateLimitedByLogin() {
+        this.loginRateLimitedByLoginCounter.increment();
+    }
+
+    public void trackLoginRateLimitedByIp() {
+        this.loginRateLimitedByIpCounter.increment();
+    }
+
+    /**
+     * Report the number of logins and IP addresses tracked by the login rate limiter.
+     *
+     * @param windows the windows of the rate limiter, which are only referenced weakly.
+     */
+    public void monitorLoginRateLimiterSize(Map<?, ?> windows) {
+        Gauge.builder(LOGIN_RATE_LIMITER_SIZE_METER_NAME, windows, Map::size)
+            .description("Indicates the number of logins and IP addresses tracked by the login rate limiter.")
+            .register(registry);
+    }
+
+    public void trackUnknownUserCacheHit() {
+        this.unknownUserCacheHitCounter.increment();
+    }
+
+    /**
+     * Report the number of logins and emails remembered as unknown.
+     *
+     * @param cache the cache, which is only referenced weakly.
+     */
+    public void monitorUnknownUserCacheSize(Map<?, ?> cache) {
+        Gauge.builder(UNKNOWN_USER_CACHE_SIZE_METER_NAME, cache, Map::size)
+            .description("Indicates the number of logins and emails remembered as unknown.")
+            .register(registry);
+    }
 }
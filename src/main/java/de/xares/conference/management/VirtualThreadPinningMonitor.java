@@ -0,0 +1,88 @@
+package de.xares.conference.management;
+
+import de.xares.conference.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, from the {@code jdk.VirtualThreadPinned} JFR event.
+ * <p>
+ * A virtual thread blocking inside a {@code synchronized} block or under a native frame cannot unmount, and holds one of the
+ * few carrier threads until it is done. Pinning longer than {@code application.execution.pinned-threshold} is logged with
+ * the top of the stack and recorded by the {@value #PINNED_METER_NAME} timer.
+ */
+@Component
+@ConditionalOnProperty(name = "application.execution.mode", havingValue = "virtual")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    public static final String PINNED_METER_NAME = "jvm.threads.virtual.pinned";
+
+    static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 10;
+
+    private final Duration threshold;
+
+    private final Timer pinnedTimer;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.threshold = applicationProperties.getExecution().getPinnedThreshold();
+        this.pinnedTimer = Timer.builder(PINNED_METER_NAME)
+            .description("Indicates the time virtual threads spent pinned to their carrier thread while blocked.")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT_NAME).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT_NAME, this::onPinned);
+        recordingStream.startAsync();
+        LOG.debug("Reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        RecordedThread thread = event.getThread();
+        LOG.warn(
+            "Virtual thread {} was pinned to its carrier thread for {} ms, at:{}",
+            thread == null ? "?" : thread.getJavaName(),
+            event.getDuration().toMillis(),
+            event.getStackTrace() == null ? " unknown" : formatFrames(event.getStackTrace().getFrames())
+        );
+    }
+
+    private static String formatFrames(List<RecordedFrame> frames) {
+        return frames
+            .stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame ->
+                "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber()
+            )
+            .collect(Collectors.joining());
+    }
+}
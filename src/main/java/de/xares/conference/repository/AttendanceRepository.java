@@ -0,0 +1,32 @@
+package de.xares.conference.repository;
+
+import de.xares.conference.domain.Attendance;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the Attendance entity.
+ */
+@Repository
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    boolean existsByTalkIdAndUserLogin(Long talkId, String login);
+
+    @Modifying
+    @Query(
+        "delete from Attendance attendance where attendance.talk.id = :talkId" +
+        " and attendance.user.id in (select user.id from User user where user.login = :login)"
+    )
+    int deleteByTalkIdAndUserLogin(@Param("talkId") Long talkId, @Param("login") String login);
+
+    /**
+     * The attendances of talks, with their activated users.
+     */
+    @Query(
+        "select attendance from Attendance attendance join fetch attendance.user user" +
+        " where attendance.talk.id in :talkIds and user.activated = true"
+    )
+    List<Attendance> findAllWithUserByTalkIdIn(@Param("talkIds") Collection<Long> talkIds);
+}
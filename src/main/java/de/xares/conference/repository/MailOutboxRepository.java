@@ -0,0 +1,47 @@
+package de.xares.conference.repository;
+
+import de.xares.conference.domain.MailOutbox;
+import de.xares.conference.domain.enumeration.MailOutboxStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the MailOutbox entity.
+ */
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+    /**
+     * Ids of the emails due to be sent and not claimed by a sender, oldest first.
+     */
+    @Query(
+        "select mail.id from MailOutbox mail where mail.status = :status and mail.nextAttemptAt <= :now" +
+        " and (mail.claimedUntil is null or mail.claimedUntil < :now) order by mail.nextAttemptAt, mail.id"
+    )
+    List<Long> findDueIds(@Param("status") MailOutboxStatus status, @Param("now") Instant now, Limit limit);
+
+    /**
+     * Claim emails for a sender, skipping those another sender claimed since they were looked up.
+     *
+     * @return the number of emails claimed.
+     */
+    @Modifying
+    @Query(
+        "update MailOutbox mail set mail.claimedBy = :claimedBy, mail.claimedUntil = :claimedUntil" +
+        " where mail.id in :ids and (mail.claimedUntil is null or mail.claimedUntil < :now)"
+    )
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("claimedBy") String claimedBy,
+        @Param("claimedUntil") Instant claimedUntil,
+        @Param("now") Instant now
+    );
+
+    List<MailOutbox> findByClaimedByOrderById(String claimedBy);
+
+    long countByStatus(MailOutboxStatus status);
+}
@@ -1,6 +1,13 @@
 package de.xares.conference.repository;
 
 import de.xares.conference.domain.Room;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +16,35 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {}
+public interface RoomRepository extends JpaRepository<Room, Long> {
+    /**
+     * Query cache region of the room lists, invalidated by Hibernate on every write to the room table.
+     */
+    String ROOM_QUERIES_CACHE = "roomQueries";
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ROOM_QUERIES_CACHE),
+        }
+    )
+    @Override
+    Page<Room> findAll(Pageable pageable);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ROOM_QUERIES_CACHE),
+        }
+    )
+    @Override
+    List<Room> findAll(Sort sort);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ROOM_QUERIES_CACHE),
+        }
+    )
+    List<Room> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -0,0 +1,24 @@
+package de.xares.conference.repository;
+
+import de.xares.conference.domain.Talk;
+import java.util.List;
+
+/**
+ * Repository fragment inserting many {@link Talk}s at once, bypassing the persistence context.
+ */
+public interface TalkBatchRepository {
+    /**
+     * Reserve identifiers from {@code sequence_generator}, fetching all the blocks they need in a single statement.
+     *
+     * @param count the number of identifiers to reserve.
+     * @return {@code count} identifiers, in ascending order.
+     */
+    List<Long> allocateIds(int count);
+
+    /**
+     * Insert talks that already carry an identifier, with their abstracts, in JDBC batches of {@code hibernate.jdbc.batch_size}.
+     *
+     * @param talks the talks to insert, each with an identifier, an abstract, a room and a timeslot.
+     */
+    void insertAll(List<Talk> talks);
+}
@@ -0,0 +1,135 @@
+package de.xares.conference.repository;
+
+import de.xares.conference.domain.Talk;
+import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * JDBC implementation of {@link TalkBatchRepository}.
+ */
+public class TalkBatchRepositoryImpl implements TalkBatchRepository {
+
+    /**
+     * Must match the {@code incrementBy} of {@code sequence_generator} and the default {@code allocationSize} of the
+     * entities, so that each value read from the sequence reserves the same block Hibernate's pooled optimizer would.
+     */
+    static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String SEQUENCE_NAME = "sequence_generator";
+
+    private static final String TABLE_NAME = "talk";
+
+    private static final String ABSTRACT_TABLE_NAME = "talk_abstract";
+
+    private static final String INSERT_SQL =
+        "insert into " + TABLE_NAME + " (id, title, speaker, room_id, timeslot_id) values (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ABSTRACT_SQL = "insert into " + ABSTRACT_TABLE_NAME + " (id, abstract_text) values (?, ?)";
+
+    private final EntityManager entityManager;
+
+    public TalkBatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+        String nextValue = getSessionFactory()
+            .getJdbcServices()
+            .getDialect()
+            .getSequenceSupport()
+            .getSelectSequenceNextValString(SEQUENCE_NAME);
+        String sql =
+            "with recursive blocks(n) as (select 1 union all select n + 1 from blocks where n < " +
+            blocks +
+            ") select " +
+            nextValue +
+            " from blocks";
+        @SuppressWarnings("unchecked")
+        List<Number> highValues = entityManager.createNativeQuery(sql).getResultList();
+        for (Number highValue : highValues) {
+            // A value read from the sequence is the highest identifier of the block it reserves
+            long first = highValue.longValue() - SEQUENCE_INCREMENT + 1;
+            for (long id = first; id <= highValue.longValue() && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void insertAll(List<Talk> talks) {
+        int batchSize = Math.max(1, getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize());
+        invalidateCachedQueries();
+        entityManager
+            .unwrap(Session.class)
+            .doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                    int pending = 0;
+                    for (Talk talk : talks) {
+                        statement.setLong(1, talk.getId());
+                        statement.setString(2, talk.getTitle());
+                        statement.setString(3, talk.getSpeaker());
+                        statement.setLong(4, talk.getRoom().getId());
+                        statement.setLong(5, talk.getTimeslot().getId());
+                        statement.addBatch();
+                        if (++pending == batchSize) {
+                            statement.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        statement.executeBatch();
+                    }
+                }
+                // Abstracts reference their talk, so they are inserted once all the talks are
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_ABSTRACT_SQL)) {
+                    int pending = 0;
+                    for (Talk talk : talks) {
+                        statement.setLong(1, talk.getId());
+                        statement.setString(2, talk.getAbstractText());
+                        statement.addBatch();
+                        if (++pending == batchSize) {
+                            statement.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        statement.executeBatch();
+                    }
+                }
+            });
+    }
+
+    /**
+     * Invalidate the cached query results read from the talk tables, as Hibernate does not see the rows inserted through JDBC.
+     * <p>
+     * As for its own writes, results are invalidated now, so none are cached until the transaction completes, and again
+     * once it has completed.
+     */
+    private void invalidateCachedQueries() {
+        if (!getSessionFactory().getSessionFactoryOptions().isQueryCacheEnabled()) {
+            return;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        TimestampsCache timestampsCache = getSessionFactory().getCache().getTimestampsCache();
+        String[] spaces = { TABLE_NAME, ABSTRACT_TABLE_NAME };
+        timestampsCache.preInvalidate(spaces, session);
+        session.getActionQueue().registerProcess((success, completedSession) -> timestampsCache.invalidate(spaces, completedSession));
+    }
+
+    private SessionFactoryImplementor getSessionFactory() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+    }
+}
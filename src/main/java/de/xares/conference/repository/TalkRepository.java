@@ -1,8 +1,14 @@
 package de.xares.conference.repository;
 
 import de.xares.conference.domain.Talk;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -13,25 +19,124 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the Talk entity.
  */
 @Repository
-public interface TalkRepository extends JpaRepository<Talk, Long> {
+public interface TalkRepository extends TalkBatchRepository, JpaRepository<Talk, Long> {
+    /**
+     * Query cache region of the talk lists, invalidated by Hibernate on every write to the talk, room or timeslot table.
+     */
+    String TALK_QUERIES_CACHE = "talkQueries";
+
+    String SUMMARY_QUERY =
+        "select talk.id as id, talk.title as title, talk.speaker as speaker," +
+        " room.id as roomId, room.name as roomName," +
+        " timeslot.id as timeslotId, timeslot.start as timeslotStart, timeslot.end as timeslotEnd" +
+        " from Talk talk join talk.room room join talk.timeslot timeslot";
+
+    int STREAM_FETCH_SIZE = 500;
+
     default Optional<Talk> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
 
-    default List<Talk> findAllWithEagerRelationships() {
-        return this.findAllWithToOneRelationships();
-    }
+    @Query(
+        "select talk from Talk talk left join fetch talk.room left join fetch talk.timeslot left join fetch talk.talkAbstract" +
+        " where talk.id =:id"
+    )
+    Optional<Talk> findOneWithToOneRelationships(@Param("id") Long id);
 
-    default Page<Talk> findAllWithEagerRelationships(Pageable pageable) {
-        return this.findAllWithToOneRelationships(pageable);
-    }
+    /**
+     * Get the talks held in a room, with their room and timeslot, ordered by start.
+     *
+     * @param roomId the id of the room.
+     * @return the list of talks.
+     */
+    @Query(
+        "select talk from Talk talk join fetch talk.room join fetch talk.timeslot timeslot where talk.room.id = :roomId" +
+        " order by timeslot.start, talk.id"
+    )
+    List<Talk> findByRoomId(@Param("roomId") Long roomId);
 
-    @Query(value = "select talk from Talk talk left join fetch talk.room", countQuery = "select count(talk) from Talk talk")
-    Page<Talk> findAllWithToOneRelationships(Pageable pageable);
+    /**
+     * Get talks with their room and timeslot, ordered by start.
+     *
+     * @param ids the ids of the talks.
+     * @return the list of talks, leaving out the ids of no talk.
+     */
+    @Query(
+        "select talk from Talk talk join fetch talk.room join fetch talk.timeslot timeslot" +
+        " where talk.id in :ids order by timeslot.start, talk.id"
+    )
+    List<Talk> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("select talk from Talk talk left join fetch talk.room")
-    List<Talk> findAllWithToOneRelationships();
+    /**
+     * Get the talks starting in an interval, with their room and timeslot, ordered by start.
+     *
+     * @param from the earliest start, inclusive.
+     * @param to the latest start, inclusive.
+     * @return the list of talks.
+     */
+    @Query(
+        "select talk from Talk talk join fetch talk.room join fetch talk.timeslot timeslot" +
+        " where timeslot.start between :from and :to order by timeslot.start, talk.id"
+    )
+    List<Talk> findByTimeslotStartBetween(@Param("from") Instant from, @Param("to") Instant to);
 
-    @Query("select talk from Talk talk left join fetch talk.room where talk.id =:id")
-    Optional<Talk> findOneWithToOneRelationships(@Param("id") Long id);
+    /**
+     * Stream all talks with their room, timeslot and abstract, ordered by id, fetching rows from the database in chunks.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of talks, read-only.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query(
+        "select talk from Talk talk left join fetch talk.room left join fetch talk.timeslot left join fetch talk.talkAbstract" +
+        " order by talk.id"
+    )
+    Stream<Talk> streamAllWithToOneRelationships();
+
+    /**
+     * Get a page of talks as {@link TalkSummaryProjection}, joining room and timeslot in the same statement
+     * and leaving out the {@code abstractText} LOB.
+     *
+     * @param pageable the pagination information.
+     * @return the page of talk summaries.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TALK_QUERIES_CACHE),
+        }
+    )
+    @Query(value = SUMMARY_QUERY, countQuery = "select count(talk) from Talk talk")
+    Page<TalkSummaryProjection> findAllSummaries(Pageable pageable);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TALK_QUERIES_CACHE),
+        }
+    )
+    @Query(SUMMARY_QUERY)
+    List<TalkSummaryProjection> findAllSummaries();
+
+    /**
+     * Get the talks following the given id as {@link TalkSummaryProjection}, ordered by id, without counting all talks.
+     *
+     * @param after the id to start after.
+     * @param limit the maximum number of talks to return.
+     * @return the list of talk summaries.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TALK_QUERIES_CACHE),
+        }
+    )
+    @Query(SUMMARY_QUERY + " where talk.id > :after order by talk.id")
+    List<TalkSummaryProjection> findAllSummariesAfter(@Param("after") Long after, Limit limit);
 }
@@ -0,0 +1,25 @@
+package de.xares.conference.repository;
+
+import java.time.Instant;
+
+/**
+ * Closed projection of a {@link de.xares.conference.domain.Talk} with its room and timeslot,
+ * without the {@code abstractText} LOB.
+ */
+public interface TalkSummaryProjection {
+    Long getId();
+
+    String getTitle();
+
+    String getSpeaker();
+
+    Long getRoomId();
+
+    String getRoomName();
+
+    Long getTimeslotId();
+
+    Instant getTimeslotStart();
+
+    Instant getTimeslotEnd();
+}
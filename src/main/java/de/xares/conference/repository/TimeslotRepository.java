@@ -1,6 +1,13 @@
 package de.xares.conference.repository;
 
 import de.xares.conference.domain.Timeslot;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +16,35 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TimeslotRepository extends JpaRepository<Timeslot, Long> {}
+public interface TimeslotRepository extends JpaRepository<Timeslot, Long> {
+    /**
+     * Query cache region of the timeslot lists, invalidated by Hibernate on every write to the timeslot table.
+     */
+    String TIMESLOT_QUERIES_CACHE = "timeslotQueries";
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TIMESLOT_QUERIES_CACHE),
+        }
+    )
+    @Override
+    Page<Timeslot> findAll(Pageable pageable);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TIMESLOT_QUERIES_CACHE),
+        }
+    )
+    @Override
+    List<Timeslot> findAll(Sort sort);
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TIMESLOT_QUERIES_CACHE),
+        }
+    )
+    List<Timeslot> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
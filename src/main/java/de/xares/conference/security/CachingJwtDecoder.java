@@ -0,0 +1,128 @@
+package de.xares.conference.security;
+
+import de.xares.conference.management.SecurityMetersService;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} remembering the tokens verified by a delegate, so that a client presenting the same token again does not
+ * pay for the signature check and claim parsing.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token and hold the claims without the token value, which is put back from the
+ * presented token on every hit, so the tokens themselves are not kept in memory. Only tokens with an
+ * expiry are cached, and an entry is never returned at or after that expiry. Tokens rejected by the delegate are never cached.
+ * When the cache is full, expired entries are swept first, then an arbitrary tenth of the entries is dropped.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final String REDACTED_TOKEN_VALUE = "redacted";
+
+    private final JwtDecoder delegate;
+
+    private final int maximumSize;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final MessageDigest digestPrototype;
+
+    private final Map<ByteBuffer, Jwt> cache;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maximumSize, SecurityMetersService metersService) {
+        this(delegate, maximumSize, metersService, Clock.systemUTC());
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maximumSize, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.metersService = metersService;
+        this.clock = clock;
+        this.cache = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+        try {
+            this.digestPrototype = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        metersService.monitorTokenCacheSize(cache);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (maximumSize <= 0 || token == null) {
+            return delegate.decode(token);
+        }
+        ByteBuffer key = hash(token);
+        Instant now = clock.instant();
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                metersService.trackTokenCacheHit();
+                return new Jwt(token, cached.getIssuedAt(), cached.getExpiresAt(), cached.getHeaders(), cached.getClaims());
+            }
+            cache.remove(key, cached);
+        }
+        metersService.trackTokenCacheMiss();
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+            if (cache.size() >= maximumSize) {
+                evict(now);
+            }
+            cache.put(key, new Jwt(REDACTED_TOKEN_VALUE, jwt.getIssuedAt(), jwt.getExpiresAt(), jwt.getHeaders(), jwt.getClaims()));
+        }
+        return jwt;
+    }
+
+    /**
+     * Get the number of cached tokens, including those that expired but were not swept yet.
+     *
+     * @return the number of cached tokens.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private ByteBuffer hash(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void evict(Instant now) {
+        if (!evictionLock.tryLock()) {
+            // Another thread is already making room
+            return;
+        }
+        try {
+            if (cache.size() < maximumSize) {
+                return;
+            }
+            cache.values().removeIf(jwt -> !now.isBefore(jwt.getExpiresAt()));
+            int excess = cache.size() - maximumSize * 9 / 10;
+            Iterator<ByteBuffer> keys = cache.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
@@ -7,8 +7,10 @@ import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -18,14 +20,26 @@ import org.springframework.transaction.annotation.Transactional;
  * Authenticate a user from the database.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements UserDetailsService {
+public class DomainUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
+    private static final EmailValidator EMAIL_VALIDATOR = new EmailValidator();
+
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final UnknownUserCache unknownUserCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DomainUserDetailsService(
+        UserRepository userRepository,
+        UnknownUserCache unknownUserCache,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.userRepository = userRepository;
+        this.unknownUserCache = unknownUserCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -33,18 +47,48 @@ public class DomainUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
+        if (unknownUserCache.isUnknown(login)) {
+            throw new UsernameNotFoundException("User " + login + " was not found in the database");
+        }
+
+        if (EMAIL_VALIDATOR.isValid(login, null)) {
             return userRepository
                 .findOneWithAuthoritiesByEmailIgnoreCase(login)
                 .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+                .orElseThrow(() -> userNotFound(login, "User with email " + login + " was not found in the database"));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
         return userRepository
             .findOneWithAuthoritiesByLogin(lowercaseLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+            .orElseThrow(() -> userNotFound(lowercaseLogin, "User " + lowercaseLogin + " was not found in the database"));
+    }
+
+    private UsernameNotFoundException userNotFound(String login, String message) {
+        unknownUserCache.putUnknown(login);
+        return new UsernameNotFoundException(message);
+    }
+
+    /**
+     * Store the new hash of a password, called after a successful login when the stored hash was made with outdated
+     * parameters. The cached user is evicted on every instance by the listeners of the {@link PasswordRehashedEvent}.
+     *
+     * @param user the authenticated user.
+     * @param newPassword the new hash of the password.
+     * @return the user with the new hash.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository
+            .findOneByLogin(user.getUsername())
+            .ifPresent(existingUser -> {
+                LOG.debug("Rehashing password of {}", existingUser.getLogin());
+                existingUser.setPassword(newPassword);
+                eventPublisher.publishEvent(new PasswordRehashedEvent(existingUser.getLogin(), existingUser.getEmail()));
+            });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
     }
 
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
@@ -0,0 +1,191 @@
+package de.xares.conference.security;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.management.SecurityMetersService;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limit the login attempts per login and per client IP address over a sliding window.
+ * <p>
+ * Each key counts its attempts in the current and the previous fixed window, and the previous count is weighted by the
+ * part of it still covered by the sliding window. Counts are updated with compare-and-set, so attempts never wait on a lock.
+ * At most {@code maximumKeys} keys are tracked: when full, keys without attempts in the sliding window are dropped first,
+ * then an arbitrary tenth of the keys.
+ * <p>
+ * An attempt rejected for one key does not count against the other, so attempts from a busy IP address cannot lock out
+ * the logins they target, and attempts on a locked login do not use up the allowance of the IP address.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final String LOGIN_KEY_PREFIX = "login:";
+
+    private static final String IP_KEY_PREFIX = "ip:";
+
+    private final long windowMillis;
+
+    private final int attemptsPerLogin;
+
+    private final int attemptsPerIp;
+
+    private final int maximumKeys;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final Map<String, AtomicReference<Window>> windows = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Autowired
+    public LoginRateLimiter(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        this(applicationProperties.getSecurity().getLoginRateLimit(), metersService, Clock.systemUTC());
+    }
+
+    LoginRateLimiter(ApplicationProperties.Security.LoginRateLimit properties, SecurityMetersService metersService, Clock clock) {
+        this.windowMillis = properties.getWindow().toMillis();
+        this.attemptsPerLogin = properties.getAttemptsPerLogin();
+        this.attemptsPerIp = properties.getAttemptsPerIp();
+        this.maximumKeys = properties.getMaximumKeys();
+        this.metersService = metersService;
+        this.clock = clock;
+        metersService.monitorLoginRateLimiterSize(windows);
+    }
+
+    /**
+     * Record a login attempt, unless the login or the IP address has no attempts left.
+     *
+     * @param login the login or email the client tries to authenticate with.
+     * @param ip the IP address of the client.
+     * @return {@code 0} if the attempt may proceed, otherwise the number of seconds after which it may be retried.
+     */
+    public long tryAcquire(String login, String ip) {
+        long now = clock.millis();
+        String ipKey = IP_KEY_PREFIX + ip;
+        long retryAfter = tryAcquire(ipKey, attemptsPerIp, now);
+        if (retryAfter > 0) {
+            metersService.trackLoginRateLimitedByIp();
+            return retryAfter;
+        }
+        retryAfter = tryAcquire(LOGIN_KEY_PREFIX + login.toLowerCase(Locale.ENGLISH), attemptsPerLogin, now);
+        if (retryAfter > 0) {
+            release(ipKey, now);
+            metersService.trackLoginRateLimitedByLogin();
+        }
+        return retryAfter;
+    }
+
+    private long tryAcquire(String key, int limit, long now) {
+        AtomicReference<Window> reference = windows.get(key);
+        if (reference == null) {
+            if (windows.size() >= maximumKeys) {
+                evict(now);
+            }
+            reference = windows.computeIfAbsent(key, k -> new AtomicReference<>(new Window(now - now % windowMillis, 0, 0)));
+        }
+        while (true) {
+            Window window = reference.get();
+            Window current = window.slideTo(now, windowMillis);
+            long retryAfterMillis = current.retryAfterMillis(now, windowMillis, limit);
+            if (retryAfterMillis > 0) {
+                return Math.max(1, (retryAfterMillis + 999) / 1000);
+            }
+            if (reference.compareAndSet(window, current.increment())) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back an attempt acquired at {@code now}, unless the key was evicted meanwhile.
+     */
+    private void release(String key, long now) {
+        AtomicReference<Window> reference = windows.get(key);
+        if (reference == null) {
+            return;
+        }
+        while (true) {
+            Window window = reference.get();
+            Window current = window.slideTo(now, windowMillis);
+            if (current.current == 0 || reference.compareAndSet(window, current.decrement())) {
+                return;
+            }
+        }
+    }
+
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            // Another thread is already making room
+            return;
+        }
+        try {
+            if (windows.size() < maximumKeys) {
+                return;
+            }
+            windows.values().removeIf(reference -> reference.get().isIdle(now, windowMillis));
+            int excess = windows.size() - maximumKeys * 9 / 10;
+            Iterator<String> keys = windows.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Attempts counted in the fixed window starting at {@code start} and in the window before it.
+     */
+    private record Window(long start, int previous, int current) {
+        Window slideTo(long now, long windowMillis) {
+            if (now < start + windowMillis) {
+                return this;
+            }
+            if (now < start + 2 * windowMillis) {
+                return new Window(start + windowMillis, current, 0);
+            }
+            return new Window(now - now % windowMillis, 0, 0);
+        }
+
+        Window increment() {
+            return new Window(start, previous, current + 1);
+        }
+
+        Window decrement() {
+            return new Window(start, previous, current - 1);
+        }
+
+        boolean isIdle(long now, long windowMillis) {
+            Window window = slideTo(now, windowMillis);
+            return window.previous == 0 && window.current == 0;
+        }
+
+        /**
+         * Time until one more attempt fits under the limit, {@code 0} if it already does.
+         */
+        long retryAfterMillis(long now, long windowMillis, int limit) {
+            double previousWeight = 1 - (double) (now - start) / windowMillis;
+            if (previous * previousWeight + current + 1 <= limit) {
+                return 0;
+            }
+            if (current + 1 <= limit) {
+                // Wait for enough of the previous window to slide out
+                double slideOut = 1 - (double) (limit - current - 1) / previous;
+                return Math.max(1, (long) Math.ceil(start + slideOut * windowMillis) - now);
+            }
+            // Wait for the current window to become the previous one, then for enough of it to slide out
+            double slideOut = 1 - (double) (limit - 1) / current;
+            return Math.max(1, (long) Math.ceil(start + windowMillis + slideOut * windowMillis) - now);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package de.xares.conference.security;
+
+import de.xares.conference.management.SecurityMetersService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} running the hashing of a delegate on a bounded pool of dedicated threads.
+ * <p>
+ * At most {@code threads} passwords are hashed at once, whatever the number of request threads, so a burst of logins
+ * cannot use all processors. Up to {@code queueCapacity} further callers wait for a thread, beyond that hashing is
+ * rejected with a {@link PasswordHashingUnavailableException} instead of tying up another request thread.
+ * <p>
+ * Callers of {@link #encode} and {@link #matches} wait for the hash. Logins, which are frequent, should rather hand the
+ * whole authentication to {@link #supplyAsync}, which does not hold the request thread and hashes inline on the pool.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor threadPool;
+
+    private final ExecutorService executor;
+
+    /**
+     * Whether the current thread runs a task of {@link #supplyAsync}, on which passwords are hashed inline.
+     */
+    private final ThreadLocal<Boolean> onHashingThread = new ThreadLocal<>();
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(SecurityMetersService.PASSWORD_HASHING_EXECUTOR_NAME + "-");
+        threadFactory.setDaemon(true);
+        this.threadPool = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory,
+            (task, pool) -> {
+                metersService.trackPasswordHashingRejected();
+                throw new RejectedExecutionException("Password hashing queue is full");
+            }
+        );
+        this.executor = metersService.monitorPasswordHashingExecutor(threadPool);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Run a task hashing passwords, such as an authentication, on the hashing threads.
+     *
+     * @param task the task, which may call this encoder.
+     * @return the future result of the task.
+     * @throws PasswordHashingUnavailableException if the threads and the queue are busy, without waiting.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    onHashingThread.set(Boolean.TRUE);
+                    try {
+                        return task.get();
+                    } finally {
+                        onHashingThread.remove();
+                    }
+                },
+                executor
+            );
+        } catch (RejectedExecutionException e) {
+            throw unavailable(e);
+        }
+    }
+
+    private <T> T hash(Supplier<T> task) {
+        if (onHashingThread.get() != null) {
+            return task.get();
+        }
+        try {
+            return executor.submit(task::get).get();
+        } catch (RejectedExecutionException e) {
+            throw unavailable(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for the password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static PasswordHashingUnavailableException unavailable(RejectedExecutionException e) {
+        return new PasswordHashingUnavailableException("Too many passwords are being hashed, try again later", e);
+    }
+}
@@ -0,0 +1,15 @@
+package de.xares.conference.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * This exception is thrown in case a password cannot be hashed because all hashing threads are busy.
+ */
+public class PasswordHashingUnavailableException extends InternalAuthenticationServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingUnavailableException(String message, Throwable t) {
+        super(message, t);
+    }
+}
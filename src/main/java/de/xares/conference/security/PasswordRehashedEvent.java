@@ -0,0 +1,37 @@
+package de.xares.conference.security;
+
+import java.io.Serializable;
+
+/**
+ * Event published by the {@link DomainUserDetailsService} when the password hash of a user is replaced on login, within
+ * the transaction storing it, so that the cached user is evicted on every instance.
+ */
+public class PasswordRehashedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String login;
+
+    private final String email;
+
+    public PasswordRehashedEvent(String login, String email) {
+        this.login = login;
+        this.email = email;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PasswordRehashedEvent{" +
+            "login='" + login + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,148 @@
+package de.xares.conference.security;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.management.SecurityMetersService;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remember the logins and emails no user was found for, so that repeated attempts with them skip the database.
+ * <p>
+ * Entries expire after {@code timeToLive}, which bounds how long a user created on another instance can be reported as
+ * unknown here. Writes through {@code UserService} remove the login and email of the written user at once, and from the
+ * other instances once the cache invalidation has been received. When
+ * {@code maximumSize} entries are held, expired entries are dropped first, then an arbitrary tenth of the entries.
+ */
+@Component
+public class UnknownUserCache {
+
+    private final long timeToLiveMillis;
+
+    private final int maximumSize;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Autowired
+    public UnknownUserCache(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        this(applicationProperties.getSecurity().getUnknownUserCache(), metersService, Clock.systemUTC());
+    }
+
+    UnknownUserCache(ApplicationProperties.Security.UnknownUserCache properties, SecurityMetersService metersService, Clock clock) {
+        this.timeToLiveMillis = properties.getTimeToLive().toMillis();
+        this.maximumSize = properties.getMaximumSize();
+        this.metersService = metersService;
+        this.clock = clock;
+        metersService.monitorUnknownUserCacheSize(expiries);
+    }
+
+    /**
+     * Check whether no user was recently found for a login or email.
+     *
+     * @param loginOrEmail the login or email, in any case.
+     * @return {@code true} if the lookup can be skipped.
+     */
+    public boolean isUnknown(String loginOrEmail) {
+        if (maximumSize <= 0) {
+            return false;
+        }
+        String key = key(loginOrEmail);
+        Long expiresAt = expiries.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (clock.millis() >= expiresAt) {
+            expiries.remove(key, expiresAt);
+            return false;
+        }
+        metersService.trackUnknownUserCacheHit();
+        return true;
+    }
+
+    /**
+     * Remember that no user was found for a login or email.
+     *
+     * @param loginOrEmail the login or email, in any case.
+     */
+    public void putUnknown(String loginOrEmail) {
+        if (maximumSize <= 0) {
+            return;
+        }
+        long now = clock.millis();
+        if (expiries.size() >= maximumSize) {
+            makeRoom(now);
+        }
+        expiries.put(key(loginOrEmail), now + timeToLiveMillis);
+    }
+
+    /**
+     * Forget a login or email, to be called when a user is created or changes its login or email.
+     * <p>
+     * Within a transaction the entry is forgotten again after commit, as a lookup that ran before the commit may have put
+     * it back meanwhile.
+     *
+     * @param loginOrEmail the login or email, in any case.
+     */
+    public void evict(String loginOrEmail) {
+        if (loginOrEmail == null) {
+            return;
+        }
+        String key = key(loginOrEmail);
+        expiries.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        expiries.remove(key);
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Forget all logins and emails, to be called when users may have been created without being evicted one by one.
+     */
+    public void clear() {
+        expiries.clear();
+    }
+
+    private static String key(String loginOrEmail) {
+        return loginOrEmail.toLowerCase(Locale.ENGLISH);
+    }
+
+    private void makeRoom(long now) {
+        if (!evictionLock.tryLock()) {
+            // Another thread is already making room
+            return;
+        }
+        try {
+            if (expiries.size() < maximumSize) {
+                return;
+            }
+            expiries.values().removeIf(expiresAt -> now >= expiresAt);
+            int excess = expiries.size() - maximumSize * 9 / 10;
+            Iterator<String> keys = expiries.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package de.xares.conference.security;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import de.xares.conference.management.SecurityMetersService;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} rejecting obviously bad tokens before a delegate checks their signature, and reporting every rejection
+ * to the {@link SecurityMetersService}.
+ * <p>
+ * The pre-checks only look at the structure of the token, the {@code alg} of its header and the {@code exp} of its
+ * unverified claims, so they can only reject tokens early, never accept them. Rejections of the delegate are classified by
+ * the type of the exception and of its cause.
+ */
+public class VerifyingJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VerifyingJwtDecoder.class);
+
+    /**
+     * Same clock skew as the default {@code JwtTimestampValidator} of the delegate.
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final JwtDecoder delegate;
+
+    private final String algorithm;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    public VerifyingJwtDecoder(JwtDecoder delegate, MacAlgorithm algorithm, SecurityMetersService metersService) {
+        this(delegate, algorithm, metersService, Clock.systemUTC());
+    }
+
+    public VerifyingJwtDecoder(JwtDecoder delegate, MacAlgorithm algorithm, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.algorithm = algorithm.getName();
+        this.metersService = metersService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        precheck(token);
+        try {
+            return delegate.decode(token);
+        } catch (JwtValidationException e) {
+            // The only validator of the delegate checks the timestamps
+            metersService.trackTokenExpired();
+            throw e;
+        } catch (BadJwtException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BadJWSException) {
+                metersService.trackTokenInvalidSignature();
+            } else if (cause instanceof BadJOSEException) {
+                metersService.trackTokenUnsupported();
+            } else {
+                metersService.trackTokenMalformed();
+            }
+            throw e;
+        } catch (JwtException e) {
+            LOG.error("Unknown JWT error {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private void precheck(String token) {
+        if (token == null) {
+            throw malformed("Malformed token");
+        }
+        int firstDot = -1;
+        int secondDot = -1;
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (++dots == 1) {
+                    firstDot = i;
+                } else if (dots == 2) {
+                    secondDot = i;
+                }
+            } else if (!isBase64Url(c)) {
+                throw malformed("Malformed token");
+            }
+        }
+        if (dots == 4) {
+            metersService.trackTokenUnsupported();
+            throw new RejectedJwtException("Encrypted tokens are not supported");
+        }
+        if (dots != 2 || firstDot == 0 || secondDot == firstDot + 1 || secondDot == token.length() - 1) {
+            throw malformed("Invalid JWT serialization");
+        }
+
+        Map<String, Object> header = parseSegment(token, 0, firstDot);
+        if (!algorithm.equals(header.get("alg"))) {
+            metersService.trackTokenUnsupported();
+            throw new RejectedJwtException("Unsupported algorithm " + header.get("alg"));
+        }
+
+        Object expiresAt = parseSegment(token, firstDot + 1, secondDot).get("exp");
+        if (expiresAt instanceof Number exp && clock.instant().minus(CLOCK_SKEW).isAfter(Instant.ofEpochSecond(exp.longValue()))) {
+            metersService.trackTokenExpired();
+            throw new RejectedJwtException("Jwt expired at " + Instant.ofEpochSecond(exp.longValue()));
+        }
+    }
+
+    private Map<String, Object> parseSegment(String token, int start, int end) {
+        try {
+            return JSONObjectUtils.parse(new Base64URL(token.substring(start, end)).decodeToString());
+        } catch (ParseException e) {
+            throw malformed("Malformed token");
+        }
+    }
+
+    private RejectedJwtException malformed(String message) {
+        metersService.trackTokenMalformed();
+        return new RejectedJwtException(message);
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    /**
+     * Rejection by a pre-check. It does not record a stack trace, as it is always thrown from the same place and may be
+     * thrown at the rate clients send bad tokens.
+     */
+    private static final class RejectedJwtException extends BadJwtException {
+
+        private static final long serialVersionUID = 1L;
+
+        RejectedJwtException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
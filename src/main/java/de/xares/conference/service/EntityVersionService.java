@@ -0,0 +1,67 @@
+package de.xares.conference.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service keeping a version counter per entity type, used to build strong ETags for the entity resources.
+ * <p>
+ * Counters are bumped once a write published through a {@link ScheduleChangedEvent} has committed, and when another
+ * instance reports a write through a remote event. Callers must read the ETag before loading entities, so that a response
+ * can only ever be tagged with a version that is older than its content.
+ * <p>
+ * Counters are not shared between instances, each tags its responses with its own epoch, so an ETag issued by one instance
+ * never matches on another and a client moving between instances only loses a conditional request.
+ */
+@Service
+public class EntityVersionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityVersionService.class);
+
+    /**
+     * Distinguishes the counters of this instance from those of a previous run, which also started at zero.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Get the current version of an entity type.
+     *
+     * @param entityType the entity type.
+     * @return the version, starting at zero.
+     */
+    public long getVersion(Class<?> entityType) {
+        AtomicLong version = versions.get(entityType);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Build a strong ETag covering the given entity types.
+     *
+     * @param entityTypes the entity types the representation is built from.
+     * @return the quoted ETag.
+     */
+    public String getETag(Class<?>... entityTypes) {
+        StringBuilder eTag = new StringBuilder(32).append('"').append(epoch);
+        for (Class<?> entityType : entityTypes) {
+            eTag.append('-').append(getVersion(entityType));
+        }
+        return eTag.append('"').toString();
+    }
+
+    public void increment(Class<?> entityType) {
+        long version = versions.computeIfAbsent(entityType, key -> new AtomicLong()).incrementAndGet();
+        LOG.debug("{} is now at version {}", entityType.getSimpleName(), version);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        increment(event.getEntityType());
+    }
+}
@@ -0,0 +1,186 @@
+package de.xares.conference.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Set of time intervals, each identified by an entity id, answering overlap queries in logarithmic time.
+ * <p>
+ * Intervals are half-open, except that two identical intervals always overlap, so that empty intervals still conflict with
+ * themselves. The tree is a treap ordered by start, where every node also holds the latest end of its subtree, so that
+ * subtrees ending before the queried interval are skipped. This class is not thread-safe.
+ */
+final class IntervalTree {
+
+    private static final class Node {
+
+        private final long id;
+
+        private final Instant start;
+
+        private final Instant end;
+
+        private final int priority;
+
+        private Instant maxEnd;
+
+        private Node left;
+
+        private Node right;
+
+        private Node(long id, Instant start, Instant end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    private Node root;
+
+    /**
+     * Add an interval, replacing the previous interval of the same id.
+     */
+    void put(long id, Instant start, Instant end) {
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        nodes.put(id, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Remove the interval of an id.
+     *
+     * @return whether the id had an interval.
+     */
+    boolean remove(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = remove(root, node);
+        return true;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Find the intervals overlapping an interval.
+     *
+     * @param start the start of the interval.
+     * @param end the end of the interval.
+     * @param excludedId an id to leave out of the result, usually the one of the entity being checked, or {@code null}.
+     * @return the ids of the overlapping intervals, ordered by start.
+     */
+    List<Long> findOverlapping(Instant start, Instant end, Long excludedId) {
+        List<Long> result = new ArrayList<>();
+        collect(root, start, end, excludedId, result);
+        return result;
+    }
+
+    static boolean overlaps(Instant start, Instant end, Instant otherStart, Instant otherEnd) {
+        return (start.isBefore(otherEnd) && otherStart.isBefore(end)) || (start.equals(otherStart) && end.equals(otherEnd));
+    }
+
+    private static void collect(Node node, Instant start, Instant end, Long excludedId, List<Long> result) {
+        if (node == null || node.maxEnd.isBefore(start)) {
+            return;
+        }
+        collect(node.left, start, end, excludedId, result);
+        if (node.start.isAfter(end)) {
+            // This node and its right subtree start after the interval
+            return;
+        }
+        if (overlaps(node.start, node.end, start, end) && (excludedId == null || node.id != excludedId)) {
+            result.add(node.id);
+        }
+        collect(node.right, start, end, excludedId, result);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (node.priority > root.priority) {
+            split(root, node);
+            return update(node);
+        }
+        if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+        } else {
+            root.right = insert(root.right, node);
+        }
+        return update(root);
+    }
+
+    /**
+     * Split a subtree around a node which is not part of it, into the left and right children of that node.
+     */
+    private static void split(Node root, Node node) {
+        if (root == null) {
+            node.left = null;
+            node.right = null;
+        } else if (compare(root, node) < 0) {
+            split(root.right, node);
+            root.right = node.left;
+            node.left = update(root);
+        } else {
+            split(root.left, node);
+            root.left = node.right;
+            node.right = update(root);
+        }
+    }
+
+    private static Node remove(Node root, Node node) {
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (compare(node, root) < 0) {
+            root.left = remove(root.left, node);
+        } else {
+            root.right = remove(root.right, node);
+        }
+        return update(root);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        Instant maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static int compare(Node node, Node other) {
+        int result = node.start.compareTo(other.start);
+        return result != 0 ? result : Long.compare(node.id, other.id);
+    }
+}
@@ -0,0 +1,322 @@
+package de.xares.conference.service;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.MailOutbox;
+import de.xares.conference.domain.enumeration.MailOutboxStatus;
+import de.xares.conference.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the emails queued in the {@link MailOutbox}.
+ * <p>
+ * A single thread claims up to {@code batchSize} due emails, sends them outside of any transaction over one SMTP
+ * connection that is kept open between batches until it has been idle for {@code idleTimeout}, then deletes the sent emails.
+ * An email that could not be sent is retried after a backoff doubling from {@code initialBackoff} up to {@code maxBackoff},
+ * and is marked as {@link MailOutboxStatus#FAILED failed} after {@code maxAttempts}. Claims expire after
+ * {@code claimTimeout}, so emails claimed by an instance that stopped before sending them are sent by another one: emails are
+ * sent at least once.
+ */
+@Service
+public class MailOutboxSender implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxSender.class);
+
+    public static final String PENDING_METER_NAME = "mail.outbox.pending";
+    public static final String SENT_METER_NAME = "mail.outbox.sent";
+    public static final String FAILED_METER_NAME = "mail.outbox.failed";
+    public static final String ABANDONED_METER_NAME = "mail.outbox.abandoned";
+    public static final String BATCH_METER_NAME = "mail.outbox.batch";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ApplicationProperties.Mail.Outbox properties;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final Counter sentCounter;
+
+    private final Counter failedCounter;
+
+    private final Counter abandonedCounter;
+
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    /**
+     * The open SMTP connection, only used with a {@link JavaMailSenderImpl}.
+     */
+    private Transport transport;
+
+    private long transportLastUsedNanos;
+
+    public MailOutboxSender(
+        ApplicationProperties applicationProperties,
+        MailOutboxRepository mailOutboxRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        TransactionTemplate transactionTemplate,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getMail().getOutbox();
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder(PENDING_METER_NAME, pending, AtomicLong::get)
+            .description("Emails waiting to be sent, as of the last batch")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder(SENT_METER_NAME).description("Emails sent").register(meterRegistry);
+        this.failedCounter = Counter.builder(FAILED_METER_NAME)
+            .description("Attempts to send an email that failed")
+            .register(meterRegistry);
+        this.abandonedCounter = Counter.builder(ABANDONED_METER_NAME)
+            .description("Emails no longer sent after too many failed attempts")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder(BATCH_METER_NAME).description("Time to send a batch of emails").register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            LOG.debug("Mail outbox sender disabled, emails are only queued");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::sendContinuously, "mail-outbox");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            closeTransport();
+        }
+    }
+
+    /**
+     * Look for emails to send right away, instead of after the poll interval.
+     */
+    public void wakeUp() {
+        wakeUps.release();
+    }
+
+    /**
+     * Send a batch of the due emails.
+     *
+     * @return the number of emails claimed, sent or not.
+     */
+    public synchronized int sendPending() {
+        List<MailOutbox> batch = transactionTemplate.execute(status -> claim());
+        if (batch.isEmpty()) {
+            closeTransportIfIdle();
+            pending.set(mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING));
+            return 0;
+        }
+        batchTimer.record(() -> {
+            List<Long> sentIds = new ArrayList<>(batch.size());
+            List<MailOutbox> failed = new ArrayList<>();
+            send(batch, sentIds, failed);
+            transactionTemplate.executeWithoutResult(status -> {
+                mailOutboxRepository.deleteAllByIdInBatch(sentIds);
+                mailOutboxRepository.saveAll(failed);
+                pending.set(mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING));
+            });
+            sentCounter.increment(sentIds.size());
+        });
+        return batch.size();
+    }
+
+    private List<MailOutbox> claim() {
+        Instant now = Instant.now();
+        Limit limit = Limit.of(Math.max(1, properties.getBatchSize()));
+        List<Long> ids = mailOutboxRepository.findDueIds(MailOutboxStatus.PENDING, now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String claimedBy = UUID.randomUUID().toString();
+        mailOutboxRepository.claim(ids, claimedBy, now.plus(properties.getClaimTimeout()), now);
+        return mailOutboxRepository.findByClaimedByOrderById(claimedBy);
+    }
+
+    private void send(List<MailOutbox> batch, List<Long> sentIds, List<MailOutbox> failed) {
+        if (transport != null && !transport.isConnected()) {
+            // Closed by the server while idle
+            closeTransport();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutbox mail = batch.get(i);
+            try {
+                send(mail);
+                sentIds.add(mail.getId());
+                LOG.debug("Sent email to User '{}'", mail.getRecipient());
+            } catch (MessagingException | MailException e) {
+                if (transport != null && !transport.isConnected()) {
+                    // The connection is lost or could not be opened, the rest of the batch would fail the same way
+                    batch.subList(i, batch.size()).forEach(unsent -> fail(unsent, e, failed));
+                    closeTransport();
+                    return;
+                }
+                fail(mail, e, failed);
+            }
+        }
+    }
+
+    private void send(MailOutbox mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.isHtml());
+        if (!(javaMailSender instanceof JavaMailSenderImpl javaMailSenderImpl)) {
+            javaMailSender.send(mimeMessage);
+            return;
+        }
+        Transport connected = connect(javaMailSenderImpl);
+        mimeMessage.setSentDate(new Date());
+        mimeMessage.saveChanges();
+        Address[] recipients = mimeMessage.getAllRecipients();
+        connected.sendMessage(mimeMessage, recipients != null ? recipients : new Address[0]);
+        transportLastUsedNanos = System.nanoTime();
+    }
+
+    private Transport connect(JavaMailSenderImpl javaMailSenderImpl) throws MessagingException {
+        if (transport != null) {
+            return transport;
+        }
+        String protocol = javaMailSenderImpl.getProtocol() != null ? javaMailSenderImpl.getProtocol() : "smtp";
+        transport = javaMailSenderImpl.getSession().getTransport(protocol);
+        transport.connect(
+            javaMailSenderImpl.getHost(),
+            javaMailSenderImpl.getPort(),
+            javaMailSenderImpl.getUsername(),
+            javaMailSenderImpl.getPassword()
+        );
+        LOG.debug("Opened SMTP connection to {}:{}", javaMailSenderImpl.getHost(), javaMailSenderImpl.getPort());
+        return transport;
+    }
+
+    private void fail(MailOutbox mail, Exception e, List<MailOutbox> failed) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(abbreviate(e.toString()));
+        mail.setClaimedBy(null);
+        mail.setClaimedUntil(null);
+        failedCounter.increment();
+        if (attempts >= properties.getMaxAttempts()) {
+            mail.setStatus(MailOutboxStatus.FAILED);
+            abandonedCounter.increment();
+            LOG.error("Email could not be sent to user '{}' after {} attempts, giving up", mail.getRecipient(), attempts, e);
+        } else {
+            Duration backoff = backoff(attempts);
+            mail.setNextAttemptAt(Instant.now().plus(backoff));
+            LOG.warn("Email could not be sent to user '{}', retrying in {}: {}", mail.getRecipient(), backoff, e.getMessage());
+        }
+        failed.add(mail);
+    }
+
+    /**
+     * The delay before the next attempt, after the given number of failed ones.
+     */
+    Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private void sendContinuously() {
+        long pollIntervalMillis = properties.getPollInterval().toMillis();
+        while (running) {
+            try {
+                if (sendPending() < properties.getBatchSize()) {
+                    wakeUps.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warn("Could not send the queued emails: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void closeTransportIfIdle() {
+        if (transport != null && System.nanoTime() - transportLastUsedNanos > properties.getIdleTimeout().toNanos()) {
+            closeTransport();
+        }
+    }
+
+    private void closeTransport() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            LOG.debug("Could not close the SMTP connection: {}", e.getMessage());
+        }
+        transport = null;
+    }
+
+    private static String abbreviate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,171 @@
+package de.xares.conference.service;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.User;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.MessageSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders the {@link MailTemplate}s for users.
+ * <p>
+ * Templates are parsed once by the engine, see {@code MailConfiguration}. What does not depend on the user, the locale and
+ * the subject, is resolved once per template and language. Bulk renders are split in chunks of {@code chunkSize} emails,
+ * rendered on a pool of {@code threads}; once {@code queueCapacity} chunks are waiting, the calling thread renders the next
+ * chunk itself, which holds back the caller instead of queueing without bounds.
+ */
+@Service
+public class MailRenderer implements DisposableBean {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private static final Function<User, Map<String, Object>> NO_VARIABLES = user -> Map.of();
+
+    /**
+     * An email rendered for a recipient.
+     */
+    public record RenderedMail(String to, String subject, String content) {}
+
+    /**
+     * What a template renders the same for all the users of a language.
+     */
+    private record Invariants(Locale locale, String subject) {}
+
+    private record InvariantsKey(MailTemplate template, String langKey) {}
+
+    private final ITemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final String baseUrl;
+
+    private final int chunkSize;
+
+    private final ThreadPoolExecutor threadPool;
+
+    private final Map<InvariantsKey, Invariants> invariants = new ConcurrentHashMap<>();
+
+    public MailRenderer(
+        ApplicationProperties applicationProperties,
+        ITemplateEngine templateEngine,
+        MessageSource messageSource,
+        JHipsterProperties jHipsterProperties
+    ) {
+        ApplicationProperties.Mail.Rendering properties = applicationProperties.getMail().getRendering();
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.baseUrl = jHipsterProperties.getMail().getBaseUrl();
+        this.chunkSize = Math.max(1, properties.getChunkSize());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mail-rendering-");
+        threadFactory.setDaemon(true);
+        int threads = Math.max(1, properties.getThreads());
+        this.threadPool = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+            threadFactory,
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Override
+    public void destroy() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Render a template for a user.
+     *
+     * @return the email, or {@code null} if the user has no email address.
+     */
+    public RenderedMail render(User user, MailTemplate template) {
+        return render(user, template, NO_VARIABLES);
+    }
+
+    /**
+     * Render a template for a user, with variables of that user.
+     *
+     * @return the email, or {@code null} if the user has no email address.
+     */
+    public RenderedMail render(User user, MailTemplate template, Function<User, Map<String, Object>> variables) {
+        if (user.getEmail() == null) {
+            return null;
+        }
+        Invariants templateInvariants = invariants.computeIfAbsent(new InvariantsKey(template, user.getLangKey()), this::resolve);
+        Context context = new Context(templateInvariants.locale(), variables.apply(user));
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, baseUrl);
+        return new RenderedMail(user.getEmail(), templateInvariants.subject(), templateEngine.process(template.name(), context));
+    }
+
+    /**
+     * Render a template for users, in parallel.
+     *
+     * @return the emails, in the order of the users, leaving out the users without an email address.
+     */
+    public List<RenderedMail> renderAll(Collection<User> users, MailTemplate template) {
+        return renderAll(users, template, NO_VARIABLES);
+    }
+
+    /**
+     * Render a template for users, in parallel, with variables of each user.
+     *
+     * @return the emails, in the order of the users, leaving out the users without an email address.
+     */
+    public List<RenderedMail> renderAll(Collection<User> users, MailTemplate template, Function<User, Map<String, Object>> variables) {
+        List<User> recipients = users.stream().filter(user -> user.getEmail() != null).toList();
+        if (recipients.size() <= chunkSize) {
+            return renderChunk(recipients, template, variables);
+        }
+        List<CompletableFuture<List<RenderedMail>>> chunks = new ArrayList<>();
+        for (int from = 0; from < recipients.size(); from += chunkSize) {
+            List<User> chunk = recipients.subList(from, Math.min(from + chunkSize, recipients.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> renderChunk(chunk, template, variables), threadPool));
+        }
+        List<RenderedMail> mails = new ArrayList<>(recipients.size());
+        try {
+            for (CompletableFuture<List<RenderedMail>> chunk : chunks) {
+                mails.addAll(chunk.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return mails;
+    }
+
+    private List<RenderedMail> renderChunk(List<User> users, MailTemplate template, Function<User, Map<String, Object>> variables) {
+        List<RenderedMail> mails = new ArrayList<>(users.size());
+        for (User user : users) {
+            mails.add(render(user, template, variables));
+        }
+        return mails;
+    }
+
+    private Invariants resolve(InvariantsKey key) {
+        Locale locale = Locale.forLanguageTag(key.langKey());
+        return new Invariants(locale, messageSource.getMessage(key.template().titleKey(), null, locale));
+    }
+}
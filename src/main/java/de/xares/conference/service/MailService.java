@@ -1,120 +1,139 @@
 package de.xares.conference.service;
 
+import de.xares.conference.domain.MailOutbox;
 import de.xares.conference.domain.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
+import de.xares.conference.repository.MailOutboxRepository;
+import de.xares.conference.service.MailRenderer.RenderedMail;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
-import tech.jhipster.config.JHipsterProperties;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
- * Service for sending emails asynchronously.
+ * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are rendered right away by the {@link MailRenderer} and queued in the {@link MailOutbox}, in the caller's
+ * transaction, so they are only sent once it commits and are not lost if the application stops or SMTP fails. They are
+ * sent by the {@link MailOutboxSender}.
  */
 @Service
+@Transactional
 public class MailService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
+    private final MailOutboxRepository mailOutboxRepository;
 
-    private static final String BASE_URL = "baseUrl";
+    private final MailOutboxSender mailOutboxSender;
 
-    private final JHipsterProperties jHipsterProperties;
+    private final MailRenderer mailRenderer;
 
-    private final JavaMailSender javaMailSender;
-
-    private final MessageSource messageSource;
-
-    private final SpringTemplateEngine templateEngine;
-
-    public MailService(
-        JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
-    ) {
-        this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+    public MailService(MailOutboxRepository mailOutboxRepository, MailOutboxSender mailOutboxSender, MailRenderer mailRenderer) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailOutboxSender = mailOutboxSender;
+        this.mailRenderer = mailRenderer;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
-        sendEmailSync(to, subject, content, isMultipart, isHtml);
-    }
-
-    private void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         LOG.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            LOG.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            LOG.warn("Email could not be sent to user '{}'", to, e);
-        }
+        queue(List.of(toOutbox(to, subject, content, isMultipart, isHtml, Instant.now())));
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-        sendEmailFromTemplateSync(user, templateName, titleKey);
+        sendEmailFromTemplate(user, new MailTemplate(templateName, titleKey));
     }
 
-    private void sendEmailFromTemplateSync(User user, String templateName, String titleKey) {
-        if (user.getEmail() == null) {
+    public void sendEmailFromTemplate(User user, MailTemplate template) {
+        RenderedMail mail = mailRenderer.render(user, template);
+        if (mail == null) {
             LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmailSync(user.getEmail(), subject, content, false, true);
+        sendEmail(mail.to(), mail.subject(), mail.content(), false, true);
+    }
+
+    /**
+     * Send a template to many users, rendered in parallel and queued at once.
+     *
+     * @param users the recipients, users without an email address are skipped.
+     * @param template the template.
+     */
+    public void sendBulk(Collection<User> users, MailTemplate template) {
+        sendBulk(users, template, user -> Map.of());
+    }
+
+    /**
+     * Send a template to many users, with variables of each user, rendered in parallel and queued at once.
+     *
+     * @param users the recipients, users without an email address are skipped.
+     * @param template the template.
+     * @param variables the template variables of a user, besides {@code user} and {@code baseUrl}.
+     */
+    public void sendBulk(Collection<User> users, MailTemplate template, Function<User, Map<String, Object>> variables) {
+        LOG.debug("Sending {} to {} users", template.name(), users.size());
+        Instant now = Instant.now();
+        List<MailOutbox> mails = new ArrayList<>(users.size());
+        for (RenderedMail mail : mailRenderer.renderAll(users, template, variables)) {
+            mails.add(toOutbox(mail.to(), mail.subject(), mail.content(), false, true, now));
+        }
+        queue(mails);
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         LOG.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplateSync(user, "mail/activationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, MailTemplate.ACTIVATION);
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         LOG.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplateSync(user, "mail/creationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, MailTemplate.CREATION);
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         LOG.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
+        sendEmailFromTemplate(user, MailTemplate.PASSWORD_RESET);
+    }
+
+    private void queue(List<MailOutbox> mails) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        mailOutboxRepository.saveAll(mails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        mailOutboxSender.wakeUp();
+                    }
+                }
+            );
+        }
+    }
+
+    private static MailOutbox toOutbox(String to, String subject, String content, boolean isMultipart, boolean isHtml, Instant now) {
+        return new MailOutbox()
+            .recipient(to)
+            .subject(subject)
+            .content(content)
+            .multipart(isMultipart)
+            .html(isHtml)
+            .nextAttemptAt(now)
+            .createdDate(now);
     }
 }
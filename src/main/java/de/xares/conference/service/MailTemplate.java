@@ -0,0 +1,17 @@
+package de.xares.conference.service;
+
+/**
+ * An email template, rendered for a {@link de.xares.conference.domain.User}.
+ *
+ * @param name the name of the Thymeleaf template, under {@code templates/}.
+ * @param titleKey the key of the message used as subject.
+ */
+public record MailTemplate(String name, String titleKey) {
+    public static final MailTemplate ACTIVATION = new MailTemplate("mail/activationEmail", "email.activation.title");
+
+    public static final MailTemplate CREATION = new MailTemplate("mail/creationEmail", "email.activation.title");
+
+    public static final MailTemplate PASSWORD_RESET = new MailTemplate("mail/passwordResetEmail", "email.reset.title");
+
+    public static final MailTemplate SCHEDULE_CHANGED = new MailTemplate("mail/scheduleChangedEmail", "email.schedule.title");
+}
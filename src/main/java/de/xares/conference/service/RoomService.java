@@ -1,6 +1,8 @@
 package de.xares.conference.service;
 
 import de.xares.conference.domain.Room;
+import de.xares.conference.service.dto.RoomDTO;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,17 +39,26 @@ public interface RoomService {
      * Get all the rooms.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of DTOs.
      */
-    Page<Room> findAll(Pageable pageable);
+    Page<RoomDTO> findAll(Pageable pageable);
+
+    /**
+     * Get the rooms following the given id, ordered by id, without counting all rooms.
+     *
+     * @param after the id to start after, or {@code null} to start with the first room.
+     * @param limit the maximum number of rooms to return.
+     * @return the list of DTOs.
+     */
+    List<RoomDTO> findAllAfter(Long after, int limit);
 
     /**
      * Get the "id" room.
      *
      * @param id the id of the entity.
-     * @return the entity.
+     * @return the DTO.
      */
-    Optional<Room> findOne(Long id);
+    Optional<RoomDTO> findOne(Long id);
 
     /**
      * Delete the "id" room.
@@ -0,0 +1,85 @@
+package de.xares.conference.service;
+
+import java.io.Serializable;
+
+/**
+ * Event published by the entity services when a {@link de.xares.conference.domain.Talk},
+ * {@link de.xares.conference.domain.Room} or {@link de.xares.conference.domain.Timeslot} is written.
+ * <p>
+ * The entity id is {@code null} when several entities of the type were written at once.
+ * <p>
+ * Listeners that must only see committed data should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}. Writes made by another instance are published
+ * as {@link #isRemote() remote} events once their cache invalidations have been received, outside of any transaction, so
+ * listeners keeping state built from the entities must also set {@code fallbackExecution}.
+ */
+public class ScheduleChangedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Action {
+        SAVED,
+        DELETED,
+    }
+
+    private final Class<?> entityType;
+
+    private final Long entityId;
+
+    private final Action action;
+
+    private final boolean remote;
+
+    public ScheduleChangedEvent(Class<?> entityType, Long entityId, Action action) {
+        this(entityType, entityId, action, false);
+    }
+
+    private ScheduleChangedEvent(Class<?> entityType, Long entityId, Action action, boolean remote) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.remote = remote;
+    }
+
+    public static ScheduleChangedEvent saved(Class<?> entityType, Long entityId) {
+        return new ScheduleChangedEvent(entityType, entityId, Action.SAVED);
+    }
+
+    public static ScheduleChangedEvent deleted(Class<?> entityType, Long entityId) {
+        return new ScheduleChangedEvent(entityType, entityId, Action.DELETED);
+    }
+
+    /**
+     * Event of writes of another instance, which does not tell which entities were written.
+     */
+    public static ScheduleChangedEvent remote(Class<?> entityType) {
+        return new ScheduleChangedEvent(entityType, null, Action.SAVED, true);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleChangedEvent{" +
+            "entityType=" + entityType.getSimpleName() +
+            ", entityId=" + entityId +
+            ", action=" + action +
+            ", remote=" + remote +
+            "}";
+    }
+}
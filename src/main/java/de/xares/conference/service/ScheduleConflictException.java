@@ -0,0 +1,29 @@
+package de.xares.conference.service;
+
+import java.util.List;
+
+/**
+ * Thrown when a write would place two talks in the same room at overlapping times, or make two timeslots overlap.
+ */
+public class ScheduleConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    private final List<Long> conflictingIds;
+
+    public ScheduleConflictException(String message, String entityName, List<Long> conflictingIds) {
+        super(message);
+        this.entityName = entityName;
+        this.conflictingIds = List.copyOf(conflictingIds);
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public List<Long> getConflictingIds() {
+        return conflictingIds;
+    }
+}
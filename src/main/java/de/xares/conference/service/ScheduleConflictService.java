@@ -0,0 +1,280 @@
+package de.xares.conference.service;
+
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TalkSummaryProjection;
+import de.xares.conference.repository.TimeslotRepository;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service detecting overlapping timeslots and rooms booked twice at the same time.
+ * <p>
+ * Committed timeslots and talks are kept in {@link IntervalTree}s, one for all the timeslots and one per room for the talks,
+ * so a check does not scan the schedule. The trees are built on startup, and updated once a write published through a
+ * {@link ScheduleChangedEvent} has committed. Writes committed by another instance are only seen once it has reported them
+ * and the trees are rebuilt, so the database constraints on {@code talk} and {@code timeslot} remain the last line of
+ * defence.
+ */
+@Service
+public class ScheduleConflictService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduleConflictService.class);
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private final TalkRepository talkRepository;
+
+    private final TimeslotRepository timeslotRepository;
+
+    private IntervalTree timeslots;
+
+    private Map<Long, IntervalTree> talksByRoom;
+
+    private Map<Long, Long> roomByTalk;
+
+    /**
+     * Incremented on every change of the trees, so that a rebuild can tell whether it raced an update.
+     */
+    private long generation;
+
+    public ScheduleConflictService(TalkRepository talkRepository, TimeslotRepository timeslotRepository) {
+        this.talkRepository = talkRepository;
+        this.timeslotRepository = timeslotRepository;
+    }
+
+    /**
+     * Check that a talk does not share its room with another talk at an overlapping time.
+     *
+     * @param talk the talk about to be saved, with its room and timeslot.
+     * @throws ScheduleConflictException if the room is already booked.
+     */
+    @Transactional(readOnly = true)
+    public void checkTalk(Talk talk) {
+        if (talk.getRoom() == null || talk.getRoom().getId() == null || talk.getTimeslot() == null) {
+            return;
+        }
+        timeslotRepository
+            .findById(talk.getTimeslot().getId())
+            .ifPresent(timeslot -> {
+                List<Long> conflicts = findTalkConflicts(talk.getId(), talk.getRoom().getId(), timeslot.getStart(), timeslot.getEnd());
+                if (!conflicts.isEmpty()) {
+                    throw new ScheduleConflictException("Room is already booked at that time", "talk", conflicts);
+                }
+            });
+    }
+
+    /**
+     * Find the talks held in a room at a time overlapping the given interval.
+     *
+     * @param talkId the id of the talk being checked, which is not reported, or {@code null}.
+     * @param roomId the id of the room.
+     * @param start the start of the interval.
+     * @param end the end of the interval.
+     * @return the ids of the conflicting talks.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findTalkConflicts(Long talkId, Long roomId, Instant start, Instant end) {
+        ensureBuilt();
+        synchronized (this) {
+            IntervalTree talks = talksByRoom.get(roomId);
+            return talks == null ? List.of() : talks.findOverlapping(earliest(start, end), latest(start, end), talkId);
+        }
+    }
+
+    /**
+     * Check that a timeslot does not overlap another timeslot.
+     *
+     * @param timeslot the timeslot about to be saved.
+     * @throws ScheduleConflictException if the timeslot overlaps another one.
+     */
+    @Transactional(readOnly = true)
+    public void checkTimeslot(Timeslot timeslot) {
+        if (timeslot.getStart() == null || timeslot.getEnd() == null) {
+            return;
+        }
+        ensureBuilt();
+        List<Long> conflicts;
+        synchronized (this) {
+            conflicts = timeslots.findOverlapping(
+                earliest(timeslot.getStart(), timeslot.getEnd()),
+                latest(timeslot.getStart(), timeslot.getEnd()),
+                timeslot.getId()
+            );
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException("Timeslot overlaps another timeslot", "timeslot", conflicts);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (event.getEntityType() == Room.class && event.getAction() == ScheduleChangedEvent.Action.SAVED && !event.isRemote()) {
+            return;
+        }
+        if (event.getEntityType() != Talk.class || event.getEntityId() == null) {
+            // A timeslot move changes the intervals of all its talks, and a bulk or remote write does not say what it wrote
+            rebuild();
+            return;
+        }
+        if (event.getAction() == ScheduleChangedEvent.Action.DELETED) {
+            removeTalk(event.getEntityId());
+        } else {
+            talkRepository.findById(event.getEntityId()).ifPresent(this::putTalk);
+        }
+    }
+
+    /**
+     * Rebuild the trees from the database.
+     * <p>
+     * The database is read without holding the lock, so the trees read are only swapped in if no update was applied
+     * meanwhile, as it may be missing from them. Otherwise the rebuild starts over, and the last attempt holds the lock while
+     * reading so that it cannot be raced again.
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        for (int attempt = 1; attempt < MAX_REBUILD_ATTEMPTS; attempt++) {
+            long startGeneration;
+            synchronized (this) {
+                startGeneration = generation;
+            }
+            Index index = readIndex();
+            synchronized (this) {
+                if (generation == startGeneration) {
+                    swap(index);
+                    return;
+                }
+            }
+            LOG.debug("Schedule changed while it was being indexed, indexing it again");
+        }
+        synchronized (this) {
+            swap(readIndex());
+        }
+    }
+
+    private Index readIndex() {
+        IntervalTree newTimeslots = new IntervalTree();
+        for (Timeslot timeslot : timeslotRepository.findAll()) {
+            newTimeslots.put(
+                timeslot.getId(),
+                earliest(timeslot.getStart(), timeslot.getEnd()),
+                latest(timeslot.getStart(), timeslot.getEnd())
+            );
+        }
+        Map<Long, IntervalTree> newTalksByRoom = new HashMap<>();
+        Map<Long, Long> newRoomByTalk = new HashMap<>();
+        for (TalkSummaryProjection talk : talkRepository.findAllSummaries()) {
+            Instant start = talk.getTimeslotStart();
+            Instant end = talk.getTimeslotEnd();
+            newTalksByRoom
+                .computeIfAbsent(talk.getRoomId(), roomId -> new IntervalTree())
+                .put(talk.getId(), earliest(start, end), latest(start, end));
+            newRoomByTalk.put(talk.getId(), talk.getRoomId());
+        }
+        return new Index(newTimeslots, newTalksByRoom, newRoomByTalk);
+    }
+
+    private synchronized void swap(Index index) {
+        timeslots = index.timeslots();
+        talksByRoom = index.talksByRoom();
+        roomByTalk = index.roomByTalk();
+        generation++;
+        LOG.debug("Indexed {} timeslots and {} talks", index.timeslots().size(), index.roomByTalk().size());
+    }
+
+    private void ensureBuilt() {
+        boolean built;
+        synchronized (this) {
+            built = timeslots != null;
+        }
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    private void putTalk(Talk talk) {
+        ensureBuilt();
+        synchronized (this) {
+            removeTalk(talk.getId());
+            Instant start = talk.getTimeslot().getStart();
+            Instant end = talk.getTimeslot().getEnd();
+            talksByRoom
+                .computeIfAbsent(talk.getRoom().getId(), roomId -> new IntervalTree())
+                .put(talk.getId(), earliest(start, end), latest(start, end));
+            roomByTalk.put(talk.getId(), talk.getRoom().getId());
+        }
+    }
+
+    private synchronized void removeTalk(Long talkId) {
+        generation++;
+        if (roomByTalk == null) {
+            return;
+        }
+        Long roomId = roomByTalk.remove(talkId);
+        if (roomId != null) {
+            talksByRoom.get(roomId).remove(talkId);
+        }
+    }
+
+    /**
+     * Talks booked by a batch that is not committed yet, such as an import, to check the talks of the batch against each
+     * other the way {@link #findTalkConflicts} checks them against the committed talks. This class is not thread-safe.
+     */
+    public static final class PendingBookings {
+
+        private final Map<Long, IntervalTree> talksByRoom = new HashMap<>();
+
+        /**
+         * Book a room, unless an earlier booking of the batch overlaps.
+         *
+         * @param key the key of the booking, such as its row.
+         * @param roomId the id of the room.
+         * @param start the start of the booking.
+         * @param end the end of the booking.
+         * @return the keys of the overlapping earlier bookings, the room is booked only if there are none.
+         */
+        public List<Long> book(long key, Long roomId, Instant start, Instant end) {
+            IntervalTree talks = talksByRoom.computeIfAbsent(roomId, id -> new IntervalTree());
+            List<Long> conflicts = talks.findOverlapping(earliest(start, end), latest(start, end), null);
+            if (conflicts.isEmpty()) {
+                talks.put(key, earliest(start, end), latest(start, end));
+            }
+            return conflicts;
+        }
+    }
+
+    /**
+     * The trees read from the database by a rebuild.
+     */
+    private record Index(IntervalTree timeslots, Map<Long, IntervalTree> talksByRoom, Map<Long, Long> roomByTalk) {}
+
+    /**
+     * Some timeslots were stored with their end before their start, so the bounds are ordered before indexing.
+     */
+    private static Instant earliest(Instant start, Instant end) {
+        return start.isAfter(end) ? end : start;
+    }
+
+    private static Instant latest(Instant start, Instant end) {
+        return start.isAfter(end) ? start : end;
+    }
+}
@@ -0,0 +1,153 @@
+package de.xares.conference.service;
+
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TalkSummaryProjection;
+import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.service.dto.ScheduleDTO;
+import de.xares.conference.service.dto.TalkSummaryDTO;
+import de.xares.conference.service.mapper.RoomMapper;
+import de.xares.conference.service.mapper.TimeslotMapper;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service serving the whole program from an in-memory {@link ScheduleDTO} snapshot.
+ * <p>
+ * Readers only dereference the current snapshot. Writers publish a {@link ScheduleChangedEvent}, and once their transaction
+ * has committed a new snapshot is built and swapped in, as it is when another instance reports a write. Rebuilds are
+ * serialized, and a rebuild that starts after several changes covers all of them.
+ */
+@Service
+public class ScheduleService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduleService.class);
+
+    private final TalkRepository talkRepository;
+
+    private final RoomRepository roomRepository;
+
+    private final TimeslotRepository timeslotRepository;
+
+    private final RoomMapper roomMapper;
+
+    private final TimeslotMapper timeslotMapper;
+
+    private final AtomicLong requestedGeneration = new AtomicLong();
+
+    private long builtGeneration = -1;
+
+    private volatile ScheduleDTO snapshot;
+
+    public ScheduleService(
+        TalkRepository talkRepository,
+        RoomRepository roomRepository,
+        TimeslotRepository timeslotRepository,
+        RoomMapper roomMapper,
+        TimeslotMapper timeslotMapper
+    ) {
+        this.talkRepository = talkRepository;
+        this.roomRepository = roomRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.roomMapper = roomMapper;
+        this.timeslotMapper = timeslotMapper;
+    }
+
+    /**
+     * Get the current schedule snapshot, building the first one if no snapshot exists yet.
+     *
+     * @return the schedule snapshot.
+     */
+    public ScheduleDTO getSchedule() {
+        ScheduleDTO current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        LOG.debug("Rebuilding schedule after {}", event);
+        refresh();
+    }
+
+    /**
+     * Rebuild the snapshot from the database and publish it.
+     * <p>
+     * If another thread has rebuilt the snapshot after this call was made, nothing is done.
+     */
+    @Transactional(readOnly = true)
+    public void refresh() {
+        long requested = requestedGeneration.incrementAndGet();
+        synchronized (this) {
+            if (builtGeneration >= requested) {
+                return;
+            }
+            long generation = requestedGeneration.get();
+            snapshot = build();
+            builtGeneration = generation;
+        }
+    }
+
+    private ScheduleDTO build() {
+        List<Room> rooms = roomRepository.findAll(Sort.by("id"));
+        List<Timeslot> timeslots = timeslotRepository.findAll(Sort.by("start", "id"));
+
+        Map<Long, Integer> roomIndex = new HashMap<>(rooms.size() * 2);
+        for (int i = 0; i < rooms.size(); i++) {
+            roomIndex.put(rooms.get(i).getId(), i);
+        }
+        Map<Long, Integer> timeslotIndex = new HashMap<>(timeslots.size() * 2);
+        for (int i = 0; i < timeslots.size(); i++) {
+            timeslotIndex.put(timeslots.get(i).getId(), i);
+        }
+
+        TalkSummaryDTO[][] talks = new TalkSummaryDTO[timeslots.size()][rooms.size()];
+        for (TalkSummaryProjection talk : talkRepository.findAllSummaries()) {
+            Integer r = roomIndex.get(talk.getRoomId());
+            Integer t = timeslotIndex.get(talk.getTimeslotId());
+            if (r == null || t == null) {
+                // Room or timeslot was created after they were read, the next rebuild will place the talk
+                continue;
+            }
+            if (talks[t][r] != null) {
+                LOG.warn(
+                    "Talks {} and {} share room {} and timeslot {}",
+                    talks[t][r].getId(),
+                    talk.getId(),
+                    talk.getRoomId(),
+                    talk.getTimeslotId()
+                );
+                continue;
+            }
+            talks[t][r] = new TalkSummaryDTO(talk);
+        }
+
+        ScheduleDTO schedule = new ScheduleDTO(roomMapper.toDto(rooms), timeslotMapper.toDto(timeslots), talks, Instant.now());
+        LOG.debug("Built schedule snapshot {}", schedule);
+        return schedule;
+    }
+}
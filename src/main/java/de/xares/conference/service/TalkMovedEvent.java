@@ -0,0 +1,48 @@
+package de.xares.conference.service;
+
+import java.io.Serializable;
+
+/**
+ * Event published by the talk service when a {@link de.xares.conference.domain.Talk} is moved to another room or timeslot,
+ * with where it was before.
+ * <p>
+ * Like the {@link ScheduleChangedEvent}, it is published within the transaction moving the talk.
+ */
+public class TalkMovedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long talkId;
+
+    private final Long previousRoomId;
+
+    private final Long previousTimeslotId;
+
+    public TalkMovedEvent(Long talkId, Long previousRoomId, Long previousTimeslotId) {
+        this.talkId = talkId;
+        this.previousRoomId = previousRoomId;
+        this.previousTimeslotId = previousTimeslotId;
+    }
+
+    public Long getTalkId() {
+        return talkId;
+    }
+
+    public Long getPreviousRoomId() {
+        return previousRoomId;
+    }
+
+    public Long getPreviousTimeslotId() {
+        return previousTimeslotId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TalkMovedEvent{" +
+            "talkId=" + talkId +
+            ", previousRoomId=" + previousRoomId +
+            ", previousTimeslotId=" + previousTimeslotId +
+            "}";
+    }
+}
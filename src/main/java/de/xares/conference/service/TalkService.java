@@ -1,7 +1,14 @@
 package de.xares.conference.service;
 
 import de.xares.conference.domain.Talk;
+import de.xares.conference.service.dto.TalkDetailDTO;
+import de.xares.conference.service.dto.TalkImportResultDTO;
+import de.xares.conference.service.dto.TalkSummaryDTO;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -34,28 +41,61 @@ public interface TalkService {
     Optional<Talk> partialUpdate(Talk talk);
 
     /**
-     * Get all the talks.
+     * Get all the talks as summaries, with room and timeslot but without the abstract.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of summaries.
      */
-    Page<Talk> findAll(Pageable pageable);
+    Page<TalkSummaryDTO> findAllSummaries(Pageable pageable);
 
     /**
-     * Get all the talks with eager load of many-to-many relationships.
+     * Get the summaries of the talks following the given id, ordered by id, without counting all talks.
      *
-     * @param pageable the pagination information.
-     * @return the list of entities.
+     * @param after the id to start after, or {@code null} to start with the first talk.
+     * @param limit the maximum number of talks to return.
+     * @return the list of summaries.
+     */
+    List<TalkSummaryDTO> findAllSummariesAfter(Long after, int limit);
+
+    /**
+     * Pass every talk with its room and timeslot to the given consumer, ordered by id.
+     * <p>
+     * Talks are streamed from the database and detached in chunks, so memory use does not grow with the number of talks.
+     * The consumer must not keep references to the talks it receives.
+     *
+     * @param consumer the consumer of the talks.
      */
-    Page<Talk> findAllWithEagerRelationships(Pageable pageable);
+    void exportAll(Consumer<Talk> consumer);
 
     /**
-     * Get the "id" talk.
+     * Import new talks in a single transaction.
+     * <p>
+     * All the rows are validated first, and only the valid ones are inserted, so one bad row does not reject the others.
+     *
+     * @param talks the talks to import, without identifiers.
+     * @return the identifiers of the imported talks and the errors of the rejected rows.
+     */
+    TalkImportResultDTO importAll(List<Talk> talks);
+
+    /**
+     * Import new talks from a CSV file, as described in RFC 4180.
+     * <p>
+     * The header names the columns: {@code title}, {@code speaker}, {@code abstract_text}, {@code room_id} and
+     * {@code timeslot_id} are required, other columns such as those of the export are ignored.
+     *
+     * @param reader the CSV content.
+     * @return the identifiers of the imported talks and the errors of the rejected rows.
+     * @throws IOException if the content cannot be read.
+     */
+    TalkImportResultDTO importCsv(Reader reader) throws IOException;
+
+    /**
+     * Get the "id" talk, with its abstract, room and timeslot.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    Optional<Talk> findOne(Long id);
+    Optional<TalkDetailDTO> findOne(Long id);
 
     /**
      * Delete the "id" talk.
@@ -63,4 +103,19 @@ public interface TalkService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Attend a talk as the current user, who is then notified when it moves.
+     *
+     * @param id the id of the talk.
+     * @return whether the talk and the current user exist.
+     */
+    boolean attend(Long id);
+
+    /**
+     * Stop attending a talk as the current user.
+     *
+     * @param id the id of the talk.
+     */
+    void leave(Long id);
 }
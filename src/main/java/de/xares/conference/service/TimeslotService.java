@@ -1,6 +1,8 @@
 package de.xares.conference.service;
 
 import de.xares.conference.domain.Timeslot;
+import de.xares.conference.service.dto.TimeslotDTO;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,17 +39,26 @@ public interface TimeslotService {
      * Get all the timeslots.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of DTOs.
      */
-    Page<Timeslot> findAll(Pageable pageable);
+    Page<TimeslotDTO> findAll(Pageable pageable);
+
+    /**
+     * Get the timeslots following the given id, ordered by id, without counting all timeslots.
+     *
+     * @param after the id to start after, or {@code null} to start with the first timeslot.
+     * @param limit the maximum number of timeslots to return.
+     * @return the list of DTOs.
+     */
+    List<TimeslotDTO> findAllAfter(Long after, int limit);
 
     /**
      * Get the "id" timeslot.
      *
      * @param id the id of the entity.
-     * @return the entity.
+     * @return the DTO.
      */
-    Optional<Timeslot> findOne(Long id);
+    Optional<TimeslotDTO> findOne(Long id);
 
     /**
      * Delete the "id" timeslot.
@@ -6,7 +6,10 @@ import de.xares.conference.domain.User;
 import de.xares.conference.repository.AuthorityRepository;
 import de.xares.conference.repository.UserRepository;
 import de.xares.conference.security.AuthoritiesConstants;
+import de.xares.conference.security.PasswordRehashedEvent;
 import de.xares.conference.security.SecurityUtils;
+import de.xares.conference.security.UnknownUserCache;
+import de.xares.conference.service.cache.CacheInvalidationService;
 import de.xares.conference.service.dto.AdminUserDTO;
 import de.xares.conference.service.dto.UserDTO;
 import java.time.Instant;
@@ -16,6 +19,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -41,16 +45,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final UnknownUserCache unknownUserCache;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        UnknownUserCache unknownUserCache,
+        CacheInvalidationService cacheInvalidationService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.unknownUserCache = unknownUserCache;
+        this.cacheInvalidationService = cacheInvalidationService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -315,10 +327,26 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
 
+    /**
+     * Evict the user whose password was rehashed on login, on this and the other instances.
+     */
+    @EventListener
+    public void onPasswordRehashed(PasswordRehashedEvent event) {
+        clearUserCaches(event.getLogin(), event.getEmail());
+    }
+
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
-        if (user.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+        clearUserCaches(user.getLogin(), user.getEmail());
+    }
+
+    private void clearUserCaches(String login, String email) {
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(login);
+        unknownUserCache.evict(login);
+        cacheInvalidationService.evictOnOtherInstances(UserRepository.USERS_BY_LOGIN_CACHE, login);
+        if (email != null) {
+            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(email);
+            unknownUserCache.evict(email);
+            cacheInvalidationService.evictOnOtherInstances(UserRepository.USERS_BY_EMAIL_CACHE, email);
         }
     }
 }
@@ -0,0 +1,188 @@
+package de.xares.conference.service;
+
+import static de.xares.conference.security.SecurityUtils.AUTHORITIES_KEY;
+import static de.xares.conference.security.SecurityUtils.JWT_ALGORITHM;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.User;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.repository.UserRepository;
+import de.xares.conference.security.AuthoritiesConstants;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Service warming up the caches and the hot code paths on startup, so that the first requests after a deploy are not slower
+ * than the following ones.
+ * <p>
+ * Rooms, timeslots, the talks around the current date and the administrators are loaded into their caches, then the
+ * configured requests are replayed against this instance. This runs while the {@link ApplicationReadyEvent} is handled, and
+ * Spring Boot only switches the {@code readinessState} health group to {@code UP} once all its listeners have returned, so
+ * no traffic is routed to the instance before warmup is done. Failures are logged and never prevent the startup.
+ */
+@Service
+public class WarmupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmupService.class);
+
+    /**
+     * Subject of the replayed requests, the angle brackets never match {@link de.xares.conference.config.Constants#LOGIN_REGEX} so
+     * that no account can be acted upon by the warmup.
+     */
+    private static final String WARMUP_SUBJECT = "<warmup>";
+
+    private final ApplicationProperties.Warmup properties;
+
+    private final RoomRepository roomRepository;
+
+    private final TimeslotRepository timeslotRepository;
+
+    private final TalkRepository talkRepository;
+
+    private final UserRepository userRepository;
+
+    private final JwtEncoder jwtEncoder;
+
+    private final RestClient.Builder restClientBuilder;
+
+    private final ClientHttpRequestFactoryBuilder<?> requestFactoryBuilder;
+
+    public WarmupService(
+        ApplicationProperties applicationProperties,
+        RoomRepository roomRepository,
+        TimeslotRepository timeslotRepository,
+        TalkRepository talkRepository,
+        UserRepository userRepository,
+        JwtEncoder jwtEncoder,
+        RestClient.Builder restClientBuilder,
+        ClientHttpRequestFactoryBuilder<?> requestFactoryBuilder
+    ) {
+        this.properties = applicationProperties.getWarmup();
+        this.roomRepository = roomRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.talkRepository = talkRepository;
+        this.userRepository = userRepository;
+        this.jwtEncoder = jwtEncoder;
+        this.restClientBuilder = restClientBuilder;
+        this.requestFactoryBuilder = requestFactoryBuilder;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        loadCaches();
+        String baseUrl = properties.getBaseUrl();
+        if (
+            baseUrl == null &&
+            event.getApplicationContext() instanceof WebServerApplicationContext webServerApplicationContext &&
+            webServerApplicationContext.getWebServer() != null &&
+            webServerApplicationContext.getWebServer().getPort() > 0
+        ) {
+            baseUrl = "http://localhost:" + webServerApplicationContext.getWebServer().getPort();
+        }
+        if (baseUrl != null) {
+            replayRequests(baseUrl);
+        }
+        LOG.info("Warmup done in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Load rooms, timeslots, the talks within {@code talkWindow} of now and the activated administrators into their caches.
+     */
+    public void loadCaches() {
+        try {
+            int rooms = roomRepository.findAll(Sort.by("id")).size();
+            int timeslots = timeslotRepository.findAll(Sort.by("start", "id")).size();
+            Instant now = Instant.now();
+            int talks = talkRepository
+                .findByTimeslotStartBetween(now.minus(properties.getTalkWindow()), now.plus(properties.getTalkWindow()))
+                .size();
+            List<User> admins = userRepository.findAllByActivatedIsTrueAndAuthoritiesName(AuthoritiesConstants.ADMIN);
+            for (User admin : admins) {
+                // Through the repository proxy, so that the users end up in the caches used on login
+                userRepository.findOneWithAuthoritiesByLogin(admin.getLogin());
+                if (admin.getEmail() != null) {
+                    userRepository.findOneWithAuthoritiesByEmailIgnoreCase(admin.getEmail());
+                }
+            }
+            LOG.debug("Loaded {} rooms, {} timeslots, {} talks and {} administrators", rooms, timeslots, talks, admins.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not load the caches: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replay each configured request {@code iterations} times, until {@code timeout} has elapsed. Each request is given up after
+     * {@code requestTimeout}, so that an endpoint which never answers cannot hold back readiness.
+     *
+     * @param baseUrl the URL of this instance.
+     * @return the number of requests answered with a success status.
+     */
+    public int replayRequests(String baseUrl) {
+        List<String> requests = properties.getRequests();
+        if (requests.isEmpty() || properties.getIterations() <= 0) {
+            return 0;
+        }
+        Instant deadline = Instant.now().plus(properties.getTimeout());
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
+            .withConnectTimeout(properties.getRequestTimeout())
+            .withReadTimeout(properties.getRequestTimeout());
+        RestClient restClient = restClientBuilder
+            .clone()
+            .requestFactory(requestFactoryBuilder.build(settings))
+            .baseUrl(baseUrl)
+            .defaultHeaders(headers -> headers.setBearerAuth(createToken(deadline)))
+            .build();
+        int succeeded = 0;
+        int failed = 0;
+        for (int i = 0; i < properties.getIterations() && Instant.now().isBefore(deadline); i++) {
+            for (String request : requests) {
+                try {
+                    restClient.get().uri(request).retrieve().toBodilessEntity();
+                    succeeded++;
+                } catch (RuntimeException e) {
+                    // Not only RestClientException, the JDK client reports a read timeout as a CancellationException
+                    if (failed++ == 0) {
+                        LOG.warn("Could not replay {}: {}", request, e.getMessage());
+                    }
+                }
+            }
+        }
+        LOG.debug("Replayed {} requests, {} failed", succeeded + failed, failed);
+        return succeeded;
+    }
+
+    /**
+     * Create a token with {@code ROLE_USER} for the warmup subject, valid until the replay stops.
+     */
+    private String createToken(Instant deadline) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(Instant.now())
+            .expiresAt(deadline.plus(Duration.ofMinutes(1)))
+            .subject(WARMUP_SUBJECT)
+            .claim(AUTHORITIES_KEY, AuthoritiesConstants.USER)
+            .build();
+        JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    }
+}
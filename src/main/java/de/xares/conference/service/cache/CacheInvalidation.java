@@ -0,0 +1,49 @@
+package de.xares.conference.service.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
+
+/**
+ * Eviction of keys from a cache, or of the whole cache when {@code keys} is empty.
+ *
+ * @param kind the kind of cache.
+ * @param region the entity name, collection role, table name or Spring cache name, or the entity name of a schedule change.
+ * @param keys the entity ids, collection owner ids or Spring cache keys, as strings.
+ */
+public record CacheInvalidation(Kind kind, String region, List<String> keys) {
+    public enum Kind {
+        /**
+         * Entries of the second level cache of an entity.
+         */
+        ENTITY,
+        /**
+         * Entries of the second level cache of a collection, keyed by owner id.
+         */
+        COLLECTION,
+        /**
+         * Cached query results reading a table, which has no keys.
+         */
+        QUERY_SPACE,
+        /**
+         * Entries of a Spring cache.
+         */
+        CACHE,
+        /**
+         * State built from the talks, rooms or timeslots, such as the schedule snapshot, which has no keys.
+         */
+        SCHEDULE,
+    }
+
+    public CacheInvalidation {
+        keys = keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    public static CacheInvalidation of(Kind kind, String region, String key) {
+        return new CacheInvalidation(kind, region, key == null ? List.of() : List.of(key));
+    }
+
+    @JsonIgnore
+    public boolean isWholeRegion() {
+        return keys.isEmpty();
+    }
+}
@@ -0,0 +1,364 @@
+package de.xares.conference.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.xares.conference.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Broadcasts cache invalidations to the other instances through a {@link CacheInvalidationTransport}.
+ * <p>
+ * Published invalidations are collected for {@code flushInterval}, or until {@code batchSize} of them are pending, and are
+ * then sent by a single thread in as few messages as the transport allows. Pending invalidations are coalesced per cache:
+ * a key is only sent once, and once more than {@code regionThreshold} keys of a cache are pending the whole cache is
+ * invalidated instead. Messages sent by this instance are ignored when they come back.
+ */
+public class CacheInvalidationBus implements CacheInvalidationTransport.Listener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String PUBLISHED_METER_NAME = "cache.invalidation.published";
+    public static final String SENT_METER_NAME = "cache.invalidation.sent";
+    public static final String RECEIVED_METER_NAME = "cache.invalidation.received";
+    public static final String MESSAGES_METER_NAME = "cache.invalidation.messages";
+
+    /**
+     * Marks a cache that is invalidated as a whole.
+     */
+    private static final Set<String> WHOLE_REGION = Collections.emptySet();
+
+    private final CacheInvalidationTransport transport;
+
+    private final ObjectMapper objectMapper;
+
+    private final Handler handler;
+
+    private final long flushIntervalNanos;
+
+    private final long retryDelayNanos;
+
+    private final int batchSize;
+
+    private final int regionThreshold;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private final Map<Region, Set<String>> pending = new LinkedHashMap<>();
+
+    private int pendingCount;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    private final Counter publishedCounter;
+
+    private final Counter sentCounter;
+
+    private final Counter receivedCounter;
+
+    private final Counter messagesCounter;
+
+    /**
+     * Applies the invalidations received from the other instances to the local caches.
+     */
+    public interface Handler {
+        void invalidate(List<CacheInvalidation> invalidations);
+
+        void invalidateAll();
+    }
+
+    public CacheInvalidationBus(
+        ApplicationProperties.Cache.Invalidation properties,
+        CacheInvalidationTransport transport,
+        ObjectMapper objectMapper,
+        Handler handler,
+        MeterRegistry meterRegistry
+    ) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.handler = handler;
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.retryDelayNanos = properties.getReconnectDelay().toNanos();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.regionThreshold = Math.max(1, properties.getRegionThreshold());
+        this.publishedCounter = Counter.builder(PUBLISHED_METER_NAME)
+            .description("Cache invalidations published by this instance, before coalescing")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder(SENT_METER_NAME)
+            .description("Cache invalidations sent to the other instances, after coalescing")
+            .register(meterRegistry);
+        this.receivedCounter = Counter.builder(RECEIVED_METER_NAME)
+            .description("Cache invalidations received from the other instances")
+            .register(meterRegistry);
+        this.messagesCounter = Counter.builder(MESSAGES_METER_NAME)
+            .description("Messages sent to the other instances")
+            .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void start() {
+        running = true;
+        transport.start(this);
+        flusher = new Thread(this::flushContinuously, "cache-invalidation");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Send the pending invalidations, then stop.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transport.stop();
+    }
+
+    /**
+     * Queue invalidations to be sent to the other instances.
+     *
+     * @param invalidations the invalidations, already applied to the caches of this instance.
+     */
+    public void publish(Collection<CacheInvalidation> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            boolean wasEmpty = pending.isEmpty();
+            for (CacheInvalidation invalidation : invalidations) {
+                add(invalidation);
+                publishedCounter.increment(Math.max(1, invalidation.keys().size()));
+            }
+            if (wasEmpty || pendingCount >= batchSize) {
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take the pending invalidations, coalesced.
+     */
+    List<CacheInvalidation> drain() {
+        lock.lock();
+        try {
+            List<CacheInvalidation> batch = new ArrayList<>(pending.size());
+            pending.forEach((region, keys) -> batch.add(new CacheInvalidation(region.kind(), region.name(), List.copyOf(keys))));
+            pending.clear();
+            pendingCount = 0;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(CacheInvalidation invalidation) {
+        Region region = new Region(invalidation.kind(), invalidation.region());
+        Set<String> keys = pending.get(region);
+        if (keys == WHOLE_REGION) {
+            return;
+        }
+        if (keys == null) {
+            keys = new LinkedHashSet<>();
+            pending.put(region, keys);
+        }
+        for (String key : invalidation.keys()) {
+            if (keys.add(key)) {
+                pendingCount++;
+            }
+        }
+        if (invalidation.isWholeRegion() || keys.size() > regionThreshold) {
+            pendingCount += 1 - keys.size();
+            pending.put(region, WHOLE_REGION);
+        }
+    }
+
+    private void flushContinuously() {
+        long retryAt = System.nanoTime();
+        while (true) {
+            List<CacheInvalidation> batch;
+            lock.lock();
+            try {
+                while (running && pending.isEmpty()) {
+                    changed.await();
+                }
+                long deadline = Math.max(System.nanoTime() + flushIntervalNanos, retryAt);
+                long remaining;
+                while (running && pendingCount < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                    changed.awaitNanos(remaining);
+                }
+                if (!running && pending.isEmpty()) {
+                    return;
+                }
+                batch = drain();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (!send(batch)) {
+                if (!running) {
+                    return;
+                }
+                retryAt = System.nanoTime() + retryDelayNanos;
+            }
+        }
+    }
+
+    /**
+     * Send a batch, putting it back into the pending invalidations on failure.
+     *
+     * @return whether the batch was sent.
+     */
+    boolean send(List<CacheInvalidation> batch) {
+        List<List<CacheInvalidation>> messages = split(batch);
+        for (int i = 0; i < messages.size(); i++) {
+            List<CacheInvalidation> message = messages.get(i);
+            try {
+                transport.send(encode(message));
+            } catch (CacheInvalidationException e) {
+                LOG.warn("Could not send cache invalidations, retrying: {}", e.getMessage());
+                lock.lock();
+                try {
+                    messages.subList(i, messages.size()).forEach(unsent -> unsent.forEach(this::add));
+                } finally {
+                    lock.unlock();
+                }
+                return false;
+            }
+            messagesCounter.increment();
+            message.forEach(invalidation -> sentCounter.increment(Math.max(1, invalidation.keys().size())));
+        }
+        return true;
+    }
+
+    /**
+     * Split a batch into messages that fit into the payload of the transport.
+     */
+    List<List<CacheInvalidation>> split(List<CacheInvalidation> batch) {
+        int maxSize = transport.getMaxPayloadSize();
+        int emptySize = encode(List.of()).getBytes(StandardCharsets.UTF_8).length;
+        List<List<CacheInvalidation>> messages = new ArrayList<>();
+        List<CacheInvalidation> current = new ArrayList<>();
+        int size = emptySize;
+        for (CacheInvalidation invalidation : batch) {
+            for (CacheInvalidation part : splitKeys(invalidation, maxSize - emptySize)) {
+                // One more byte for the separator
+                int partSize = sizeOf(part) + 1;
+                if (size + partSize > maxSize && !current.isEmpty()) {
+                    messages.add(current);
+                    current = new ArrayList<>();
+                    size = emptySize;
+                }
+                current.add(part);
+                size += partSize;
+            }
+        }
+        if (!current.isEmpty()) {
+            messages.add(current);
+        }
+        return messages;
+    }
+
+    private List<CacheInvalidation> splitKeys(CacheInvalidation invalidation, int maxSize) {
+        if (sizeOf(invalidation) + 1 <= maxSize) {
+            return List.of(invalidation);
+        }
+        if (invalidation.keys().size() <= 1) {
+            // A key this long cannot be sent, drop the whole cache instead
+            return List.of(new CacheInvalidation(invalidation.kind(), invalidation.region(), List.of()));
+        }
+        List<String> keys = invalidation.keys();
+        int half = keys.size() / 2;
+        List<CacheInvalidation> parts = new ArrayList<>();
+        parts.addAll(splitKeys(new CacheInvalidation(invalidation.kind(), invalidation.region(), keys.subList(0, half)), maxSize));
+        parts.addAll(
+            splitKeys(new CacheInvalidation(invalidation.kind(), invalidation.region(), keys.subList(half, keys.size())), maxSize)
+        );
+        return parts;
+    }
+
+    private int sizeOf(CacheInvalidation invalidation) {
+        try {
+            return objectMapper.writeValueAsBytes(invalidation).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String encode(List<CacheInvalidation> invalidations) {
+        try {
+            return objectMapper.writeValueAsString(new Message(nodeId, invalidations));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void onMessage(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (IOException e) {
+            LOG.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(message.node()) || message.invalidations() == null) {
+            return;
+        }
+        message.invalidations().forEach(invalidation -> receivedCounter.increment(Math.max(1, invalidation.keys().size())));
+        try {
+            handler.invalidate(message.invalidations());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not apply cache invalidations, clearing all caches: {}", e.getMessage());
+            handler.invalidateAll();
+        }
+    }
+
+    @Override
+    public void onMessagesLost() {
+        LOG.info("Cache invalidations may have been missed, clearing all caches");
+        handler.invalidateAll();
+    }
+
+    private record Region(CacheInvalidation.Kind kind, String name) {}
+
+    private record Message(String node, List<CacheInvalidation> invalidations) {}
+}
@@ -0,0 +1,13 @@
+package de.xares.conference.service.cache;
+
+/**
+ * This exception is thrown in case cache invalidations could not be sent to the other instances.
+ */
+public class CacheInvalidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CacheInvalidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
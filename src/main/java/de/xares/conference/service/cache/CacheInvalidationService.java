@@ -0,0 +1,352 @@
+package de.xares.conference.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.UserRepository;
+import de.xares.conference.security.UnknownUserCache;
+import de.xares.conference.service.ScheduleChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the caches of all the instances sharing the database consistent.
+ * <p>
+ * Writes flushed by Hibernate are turned into invalidations of the second level cache entries and of the cached queries
+ * they make stale, and services report the Spring cache entries they evict. Those are collected per transaction and handed
+ * to the {@link CacheInvalidationBus} once it has committed. Invalidations received from the other instances are applied
+ * to the local caches. Nothing is broadcast when no {@link CacheInvalidationTransport} is configured.
+ * <p>
+ * Committed {@link ScheduleChangedEvent}s are broadcast as well, and published again as remote events by the instances
+ * receiving them, so that the state they build from the talks, rooms and timeslots follows the writes of the others.
+ */
+@Service
+public class CacheInvalidationService implements InitializingBean, DisposableBean, CacheInvalidationBus.Handler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final UnknownUserCache unknownUserCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheInvalidationBus bus;
+
+    /**
+     * Key of the invalidations of the current transaction among the transaction resources.
+     */
+    private final Object transactionResourceKey = new Object();
+
+    public CacheInvalidationService(
+        ApplicationProperties applicationProperties,
+        ObjectProvider<CacheInvalidationTransport> transport,
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        UnknownUserCache unknownUserCache,
+        ApplicationEventPublisher eventPublisher,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        this.unknownUserCache = unknownUserCache;
+        this.eventPublisher = eventPublisher;
+        ApplicationProperties.Cache.Invalidation properties = applicationProperties.getCache().getInvalidation();
+        CacheInvalidationTransport availableTransport = transport.getIfAvailable();
+        this.bus = properties.isEnabled() && availableTransport != null
+            ? new CacheInvalidationBus(properties, availableTransport, objectMapper, this, meterRegistry)
+            : null;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (bus == null) {
+            LOG.debug("No cache invalidation transport, caches are not invalidated on the other instances");
+            return;
+        }
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        FlushListener listener = new FlushListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+        bus.start();
+        LOG.debug("Broadcasting cache invalidations as instance {}", bus.getNodeId());
+    }
+
+    @Override
+    public void destroy() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    /**
+     * Evict an entry of a Spring cache on the other instances, once the current transaction has committed.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key, evicted from this instance by the caller.
+     */
+    public void evictOnOtherInstances(String cacheName, String key) {
+        invalidateAfterCommit(CacheInvalidation.of(CacheInvalidation.Kind.CACHE, cacheName, key));
+    }
+
+    /**
+     * Tell the other instances about a committed write, and invalidate the cached queries of rows written without Hibernate,
+     * such as the bulk import of talks.
+     */
+    @TransactionalEventListener
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        if (bus == null || event.isRemote()) {
+            return;
+        }
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(event.getEntityType());
+        invalidations.add(CacheInvalidation.of(CacheInvalidation.Kind.SCHEDULE, persister.getEntityName(), null));
+        if (event.getEntityId() == null) {
+            addQuerySpaces(invalidations, persister.getPropertySpaces());
+        }
+        bus.publish(invalidations);
+    }
+
+    private void invalidateAfterCommit(CacheInvalidation invalidation) {
+        if (bus == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bus.publish(List.of(invalidation));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<CacheInvalidation> invalidations = (Set<CacheInvalidation>) TransactionSynchronizationManager.getResource(
+            transactionResourceKey
+        );
+        if (invalidations == null) {
+            Set<CacheInvalidation> transactionInvalidations = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(transactionResourceKey, transactionInvalidations);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(transactionResourceKey);
+                        if (status == STATUS_COMMITTED) {
+                            bus.publish(transactionInvalidations);
+                        }
+                    }
+                }
+            );
+            invalidations = transactionInvalidations;
+        }
+        invalidations.add(invalidation);
+    }
+
+    private void addQuerySpaces(List<CacheInvalidation> invalidations, String[] spaces) {
+        if (sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            for (String space : spaces) {
+                invalidations.add(CacheInvalidation.of(CacheInvalidation.Kind.QUERY_SPACE, space, null));
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(List<CacheInvalidation> invalidations) {
+        CacheImplementor cache = sessionFactory.getCache();
+        MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+        Set<String> querySpaces = new LinkedHashSet<>();
+        Set<Class<?>> scheduleChanges = new LinkedHashSet<>();
+        for (CacheInvalidation invalidation : invalidations) {
+            switch (invalidation.kind()) {
+                case ENTITY -> {
+                    if (invalidation.isWholeRegion()) {
+                        cache.evictEntityData(invalidation.region());
+                    } else {
+                        EntityPersister persister = metamodel.getEntityDescriptor(invalidation.region());
+                        for (String key : invalidation.keys()) {
+                            cache.evictEntityData(invalidation.region(), persister.getIdentifierMapping().getJavaType().fromString(key));
+                        }
+                    }
+                }
+                case COLLECTION -> {
+                    if (invalidation.isWholeRegion()) {
+                        cache.evictCollectionData(invalidation.region());
+                    } else {
+                        EntityPersister owner = metamodel.getCollectionDescriptor(invalidation.region()).getOwnerEntityPersister();
+                        for (String key : invalidation.keys()) {
+                            cache.evictCollectionData(invalidation.region(), owner.getIdentifierMapping().getJavaType().fromString(key));
+                        }
+                    }
+                }
+                case QUERY_SPACE -> querySpaces.add(invalidation.region());
+                case CACHE -> evictCache(invalidation);
+                case SCHEDULE -> scheduleChanges.add(metamodel.getEntityDescriptor(invalidation.region()).getMappedClass());
+            }
+        }
+        if (!querySpaces.isEmpty() && sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                cache.getTimestampsCache().invalidate(querySpaces.toArray(String[]::new), (SharedSessionContractImplementor) session);
+            }
+        }
+        LOG.debug("Applied cache invalidations {}", invalidations);
+        // Once the caches are evicted, so that listeners read what the other instance wrote
+        scheduleChanges.forEach(this::publishRemoteScheduleChange);
+    }
+
+    private void publishRemoteScheduleChange(Class<?> entityType) {
+        eventPublisher.publishEvent(ScheduleChangedEvent.remote(entityType));
+    }
+
+    private void evictCache(CacheInvalidation invalidation) {
+        Cache cache = cacheManager.getCache(invalidation.region());
+        if (cache == null) {
+            return;
+        }
+        boolean users =
+            UserRepository.USERS_BY_LOGIN_CACHE.equals(invalidation.region()) ||
+            UserRepository.USERS_BY_EMAIL_CACHE.equals(invalidation.region());
+        if (invalidation.isWholeRegion()) {
+            cache.clear();
+            if (users) {
+                unknownUserCache.clear();
+            }
+            return;
+        }
+        for (String key : invalidation.keys()) {
+            cache.evict(key);
+            if (users) {
+                // The user may have been created on the other instance
+                unknownUserCache.evict(key);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        sessionFactory.getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+        unknownUserCache.clear();
+        List.of(Talk.class, Room.class, Timeslot.class).forEach(this::publishRemoteScheduleChange);
+    }
+
+    /**
+     * Collects the invalidations made necessary by the writes flushed by Hibernate.
+     */
+    private final class FlushListener
+        implements
+            PostInsertEventListener,
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionRecreateEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            // Nothing was cached for the new entity, only queries are stale
+            onEntityWritten(event.getPersister(), null);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            onEntityWritten(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onEntityWritten(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            onCollectionWritten(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            onCollectionWritten(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            onCollectionWritten(event);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void onEntityWritten(EntityPersister persister, Object id) {
+            List<CacheInvalidation> invalidations = new ArrayList<>();
+            if (id != null && persister.canWriteToCache()) {
+                invalidations.add(CacheInvalidation.of(CacheInvalidation.Kind.ENTITY, persister.getEntityName(), String.valueOf(id)));
+            }
+            addQuerySpaces(invalidations, persister.getPropertySpaces());
+            invalidations.forEach(CacheInvalidationService.this::invalidateAfterCommit);
+        }
+
+        private void onCollectionWritten(AbstractCollectionEvent event) {
+            String role = event.getCollection().getRole();
+            if (role == null) {
+                return;
+            }
+            CollectionPersister persister = sessionFactory.getMappingMetamodel().getCollectionDescriptor(role);
+            List<CacheInvalidation> invalidations = new ArrayList<>();
+            Object ownerId = event.getAffectedOwnerIdOrNull();
+            if (persister.hasCache() && ownerId != null) {
+                invalidations.add(CacheInvalidation.of(CacheInvalidation.Kind.COLLECTION, persister.getRole(), String.valueOf(ownerId)));
+            }
+            addQuerySpaces(invalidations, persister.getCollectionSpaces());
+            invalidations.forEach(CacheInvalidationService.this::invalidateAfterCommit);
+        }
+    }
+}
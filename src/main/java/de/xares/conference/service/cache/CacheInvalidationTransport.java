@@ -0,0 +1,39 @@
+package de.xares.conference.service.cache;
+
+/**
+ * Delivers the messages of the {@link CacheInvalidationBus} to all the instances, including the sending one.
+ * <p>
+ * The PostgreSQL implementation is used by default, another one can be plugged in by declaring it as a bean.
+ */
+public interface CacheInvalidationTransport {
+    /**
+     * Start delivering the messages sent by any instance.
+     *
+     * @param listener the listener, called from a single thread.
+     */
+    void start(Listener listener);
+
+    /**
+     * Stop delivering messages.
+     */
+    void stop();
+
+    /**
+     * Send a message to all the instances.
+     *
+     * @param payload the message, at most {@link #getMaxPayloadSize()} bytes once encoded in UTF-8.
+     * @throws CacheInvalidationException if the message could not be sent.
+     */
+    void send(String payload);
+
+    int getMaxPayloadSize();
+
+    interface Listener {
+        void onMessage(String payload);
+
+        /**
+         * Called when messages may have been missed, for instance after the connection was lost.
+         */
+        void onMessagesLost();
+    }
+}
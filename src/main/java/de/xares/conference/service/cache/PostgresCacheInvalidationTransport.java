@@ -0,0 +1,184 @@
+package de.xares.conference.service.cache;
+
+import de.xares.conference.config.ApplicationProperties;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the cache invalidations with PostgreSQL {@code NOTIFY} and receives them with {@code LISTEN}.
+ * <p>
+ * Messages are sent through the connection pool, and received on a dedicated connection so that listening does not hold a
+ * pooled connection. When that connection is lost, listening resumes on a new one after {@code reconnectDelay} and the
+ * listener is told that messages may have been missed. The driver is only on the classpath of the {@code prod} build, so
+ * its notification API is called through reflection.
+ */
+public class PostgresCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresCacheInvalidationTransport.class);
+
+    public static final String PG_CONNECTION_CLASS_NAME = "org.postgresql.PGConnection";
+
+    private static final String PG_NOTIFICATION_CLASS_NAME = "org.postgresql.PGNotification";
+
+    /**
+     * Payloads must be shorter than 8000 bytes.
+     */
+    private static final int MAX_PAYLOAD_SIZE = 7999;
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSource dataSource;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final String channel;
+
+    private final long reconnectDelayMillis;
+
+    private final Class<?> pgConnectionClass;
+
+    private final Method getNotifications;
+
+    private final Method getParameter;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    /**
+     * @param dataSource the pool messages are sent through.
+     * @param url the JDBC URL of the same database, the listening connection is opened with.
+     * @param username the user of the listening connection.
+     * @param password the password of the listening connection.
+     * @param properties the invalidation properties.
+     */
+    public PostgresCacheInvalidationTransport(
+        DataSource dataSource,
+        String url,
+        String username,
+        String password,
+        ApplicationProperties.Cache.Invalidation properties
+    ) {
+        if (!CHANNEL_PATTERN.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid channel name: " + properties.getChannel());
+        }
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = properties.getChannel();
+        this.reconnectDelayMillis = properties.getReconnectDelay().toMillis();
+        try {
+            ClassLoader classLoader = getClass().getClassLoader();
+            this.pgConnectionClass = Class.forName(PG_CONNECTION_CLASS_NAME, false, classLoader);
+            this.getNotifications = pgConnectionClass.getMethod("getNotifications", int.class);
+            this.getParameter = Class.forName(PG_NOTIFICATION_CLASS_NAME, false, classLoader).getMethod("getParameter");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The PostgreSQL driver is not on the classpath", e);
+        }
+    }
+
+    @Override
+    public int getMaxPayloadSize() {
+        return MAX_PAYLOAD_SIZE;
+    }
+
+    @Override
+    public void start(Listener listener) {
+        running = true;
+        listenerThread = new Thread(() -> listen(listener), "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(POLL_TIMEOUT_MILLIS * 4L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void send(String payload) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+            if (!connection.getAutoCommit()) {
+                // Notifications are only delivered once their transaction commits
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new CacheInvalidationException("Could not notify " + channel, e);
+        }
+    }
+
+    private void listen(Listener listener) {
+        boolean missed = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + channel);
+                }
+                LOG.debug("Listening to cache invalidations on {}", channel);
+                if (missed) {
+                    listener.onMessagesLost();
+                    missed = false;
+                }
+                Object pgConnection = connection.unwrap(pgConnectionClass);
+                while (running) {
+                    Object[] notifications = (Object[]) getNotifications.invoke(pgConnection, POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (Object notification : notifications) {
+                            listener.onMessage((String) getParameter.invoke(notification));
+                        }
+                    }
+                }
+            } catch (SQLException | InvocationTargetException e) {
+                if (!running) {
+                    return;
+                }
+                Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                LOG.warn(
+                    "Lost the connection listening to cache invalidations, retrying in {} ms: {}",
+                    reconnectDelayMillis,
+                    cause.getMessage()
+                );
+                missed = true;
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } catch (IllegalAccessException e) {
+                LOG.error("Could not listen to cache invalidations", e);
+                return;
+            }
+        }
+    }
+}
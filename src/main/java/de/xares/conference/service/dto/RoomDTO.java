@@ -0,0 +1,76 @@
+package de.xares.conference.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link de.xares.conference.domain.Room} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RoomDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    @NotNull
+    private String name;
+
+    private Integer capacity;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoomDTO)) {
+            return false;
+        }
+
+        RoomDTO roomDTO = (RoomDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, roomDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RoomDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", capacity=" + getCapacity() +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package de.xares.conference.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of the whole program, shared by all the readers.
+ * <p>
+ * {@code talks[t][r]} holds the talk given in {@code rooms[r]} during {@code timeslots[t]}, or {@code null} when the room is free.
+ * The lists of a snapshot are unmodifiable. The DTOs they hold are not copied for each reader, so they must not be modified.
+ */
+public class ScheduleDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<RoomDTO> rooms;
+
+    private final List<TimeslotDTO> timeslots;
+
+    private final List<List<TalkSummaryDTO>> talks;
+
+    private final Instant builtAt;
+
+    public ScheduleDTO(List<RoomDTO> rooms, List<TimeslotDTO> timeslots, TalkSummaryDTO[][] talks, Instant builtAt) {
+        this.rooms = List.copyOf(rooms);
+        this.timeslots = List.copyOf(timeslots);
+        List<List<TalkSummaryDTO>> rows = new ArrayList<>(talks.length);
+        for (TalkSummaryDTO[] row : talks) {
+            // Free rooms are null, which List.copyOf rejects
+            rows.add(Collections.unmodifiableList(Arrays.asList(row.clone())));
+        }
+        this.talks = Collections.unmodifiableList(rows);
+        this.builtAt = builtAt;
+    }
+
+    public List<RoomDTO> getRooms() {
+        return rooms;
+    }
+
+    public List<TimeslotDTO> getTimeslots() {
+        return timeslots;
+    }
+
+    public List<List<TalkSummaryDTO>> getTalks() {
+        return talks;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduleDTO{" +
+            "rooms=" + rooms.size() +
+            ", timeslots=" + timeslots.size() +
+            ", builtAt='" + builtAt + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,113 @@
+package de.xares.conference.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link de.xares.conference.domain.Talk} entity, with its abstract, room and timeslot.
+ * <p>
+ * Only returned for a single talk, listings use {@link TalkSummaryDTO}.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TalkDetailDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    @NotNull
+    private String title;
+
+    @NotNull
+    private String speaker;
+
+    private String abstractText;
+
+    @NotNull
+    private RoomDTO room;
+
+    @NotNull
+    private TimeslotDTO timeslot;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSpeaker() {
+        return speaker;
+    }
+
+    public void setSpeaker(String speaker) {
+        this.speaker = speaker;
+    }
+
+    public String getAbstractText() {
+        return abstractText;
+    }
+
+    public void setAbstractText(String abstractText) {
+        this.abstractText = abstractText;
+    }
+
+    public RoomDTO getRoom() {
+        return room;
+    }
+
+    public void setRoom(RoomDTO room) {
+        this.room = room;
+    }
+
+    public TimeslotDTO getTimeslot() {
+        return timeslot;
+    }
+
+    public void setTimeslot(TimeslotDTO timeslot) {
+        this.timeslot = timeslot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TalkDetailDTO)) {
+            return false;
+        }
+
+        TalkDetailDTO talkDetailDTO = (TalkDetailDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, talkDetailDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TalkDetailDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", speaker='" + getSpeaker() + "'" +
+            ", room=" + getRoom() +
+            ", timeslot=" + getTimeslot() +
+            "}";
+    }
+}
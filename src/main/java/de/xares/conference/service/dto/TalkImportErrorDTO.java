@@ -0,0 +1,61 @@
+package de.xares.conference.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing why one row of a talk import was rejected.
+ */
+public class TalkImportErrorDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int row;
+
+    private String field;
+
+    private String message;
+
+    public TalkImportErrorDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public TalkImportErrorDTO(int row, String field, String message) {
+        this.row = row;
+        this.field = field;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TalkImportErrorDTO{" +
+            "row=" + getRow() +
+            ", field='" + getField() + "'" +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
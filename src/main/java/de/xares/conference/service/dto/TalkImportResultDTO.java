@@ -0,0 +1,53 @@
+package de.xares.conference.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a talk import: the identifiers of the imported talks, in row order, and the rows that
+ * were rejected.
+ * <p>
+ * Rows are numbered from 1, not counting the header of a CSV file. Errors that concern the whole file are reported on row 0.
+ */
+public class TalkImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<Long> ids = new ArrayList<>();
+
+    private List<TalkImportErrorDTO> errors = new ArrayList<>();
+
+    public int getImported() {
+        return ids.size();
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<TalkImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TalkImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public void addError(int row, String field, String message) {
+        errors.add(new TalkImportErrorDTO(row, field, message));
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TalkImportResultDTO{" +
+            "imported=" + getImported() +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
@@ -0,0 +1,145 @@
+package de.xares.conference.service.dto;
+
+import de.xares.conference.repository.TalkSummaryProjection;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO representing a talk in listings, with its room and timeslot but without the abstract.
+ */
+public class TalkSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String title;
+
+    private String speaker;
+
+    private Long roomId;
+
+    private String roomName;
+
+    private Long timeslotId;
+
+    private Instant timeslotStart;
+
+    private Instant timeslotEnd;
+
+    public TalkSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public TalkSummaryDTO(TalkSummaryProjection talk) {
+        this.id = talk.getId();
+        this.title = talk.getTitle();
+        this.speaker = talk.getSpeaker();
+        this.roomId = talk.getRoomId();
+        this.roomName = talk.getRoomName();
+        this.timeslotId = talk.getTimeslotId();
+        this.timeslotStart = talk.getTimeslotStart();
+        this.timeslotEnd = talk.getTimeslotEnd();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSpeaker() {
+        return speaker;
+    }
+
+    public void setSpeaker(String speaker) {
+        this.speaker = speaker;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public void setRoomName(String roomName) {
+        this.roomName = roomName;
+    }
+
+    public Long getTimeslotId() {
+        return timeslotId;
+    }
+
+    public void setTimeslotId(Long timeslotId) {
+        this.timeslotId = timeslotId;
+    }
+
+    public Instant getTimeslotStart() {
+        return timeslotStart;
+    }
+
+    public void setTimeslotStart(Instant timeslotStart) {
+        this.timeslotStart = timeslotStart;
+    }
+
+    public Instant getTimeslotEnd() {
+        return timeslotEnd;
+    }
+
+    public void setTimeslotEnd(Instant timeslotEnd) {
+        this.timeslotEnd = timeslotEnd;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TalkSummaryDTO)) {
+            return false;
+        }
+
+        TalkSummaryDTO talkSummaryDTO = (TalkSummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, talkSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TalkSummaryDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", speaker='" + getSpeaker() + "'" +
+            ", roomId=" + getRoomId() +
+            ", roomName='" + getRoomName() + "'" +
+            ", timeslotId=" + getTimeslotId() +
+            ", timeslotStart='" + getTimeslotStart() + "'" +
+            ", timeslotEnd='" + getTimeslotEnd() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,78 @@
+package de.xares.conference.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link de.xares.conference.domain.Timeslot} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TimeslotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    @NotNull
+    private Instant start;
+
+    @NotNull
+    private Instant end;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public void setEnd(Instant end) {
+        this.end = end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeslotDTO)) {
+            return false;
+        }
+
+        TimeslotDTO timeslotDTO = (TimeslotDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, timeslotDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TimeslotDTO{" +
+            "id=" + getId() +
+            ", start='" + getStart() + "'" +
+            ", end='" + getEnd() + "'" +
+            "}";
+    }
+}
@@ -3,9 +3,15 @@ package de.xares.conference.service.impl;
 import de.xares.conference.domain.Room;
 import de.xares.conference.repository.RoomRepository;
 import de.xares.conference.service.RoomService;
+import de.xares.conference.service.dto.RoomDTO;
+import de.xares.conference.service.mapper.RoomMapper;
+import de.xares.conference.service.ScheduleChangedEvent;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,20 +28,30 @@ public class RoomServiceImpl implements RoomService {
 
     private final RoomRepository roomRepository;
 
-    public RoomServiceImpl(RoomRepository roomRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final RoomMapper roomMapper;
+
+    public RoomServiceImpl(RoomRepository roomRepository, ApplicationEventPublisher eventPublisher, RoomMapper roomMapper) {
         this.roomRepository = roomRepository;
+        this.eventPublisher = eventPublisher;
+        this.roomMapper = roomMapper;
     }
 
     @Override
     public Room save(Room room) {
         LOG.debug("Request to save Room : {}", room);
-        return roomRepository.save(room);
+        Room result = roomRepository.save(room);
+        eventPublisher.publishEvent(ScheduleChangedEvent.saved(Room.class, result.getId()));
+        return result;
     }
 
     @Override
     public Room update(Room room) {
         LOG.debug("Request to update Room : {}", room);
-        return roomRepository.save(room);
+        Room result = roomRepository.save(room);
+        eventPublisher.publishEvent(ScheduleChangedEvent.saved(Room.class, result.getId()));
+        return result;
     }
 
     @Override
@@ -54,26 +70,40 @@ public class RoomServiceImpl implements RoomService {
 
                 return existingRoom;
             })
-            .map(roomRepository::save);
+            .map(roomRepository::save)
+            .map(savedRoom -> {
+                eventPublisher.publishEvent(ScheduleChangedEvent.saved(Room.class, savedRoom.getId()));
+                return savedRoom;
+            });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Room> findAll(Pageable pageable) {
+    public Page<RoomDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Rooms");
-        return roomRepository.findAll(pageable);
+        return roomRepository.findAll(pageable).map(roomMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RoomDTO> findAllAfter(Long after, int limit) {
+        LOG.debug("Request to get Rooms after : {}", after);
+        return roomMapper.toDto(
+            roomRepository.findByIdGreaterThanOrderByIdAsc(after == null ? Long.MIN_VALUE : after, Limit.of(limit))
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<Room> findOne(Long id) {
+    public Optional<RoomDTO> findOne(Long id) {
         LOG.debug("Request to get Room : {}", id);
-        return roomRepository.findById(id);
+        return roomRepository.findById(id).map(roomMapper::toDto);
     }
 
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Room : {}", id);
         roomRepository.deleteById(id);
+        eventPublisher.publishEvent(ScheduleChangedEvent.deleted(Room.class, id));
     }
 }
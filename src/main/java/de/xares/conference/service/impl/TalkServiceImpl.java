@@ -1,11 +1,46 @@
 package de.xares.conference.service.impl;
 
+import de.xares.conference.domain.Attendance;
+import de.xares.conference.domain.Room;
 import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.domain.User;
+import de.xares.conference.repository.AttendanceRepository;
+import de.xares.conference.repository.RoomRepository;
 import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.repository.UserRepository;
+import de.xares.conference.security.SecurityUtils;
+import de.xares.conference.service.ScheduleChangedEvent;
+import de.xares.conference.service.ScheduleConflictService;
+import de.xares.conference.service.TalkMovedEvent;
 import de.xares.conference.service.TalkService;
+import de.xares.conference.service.dto.TalkDetailDTO;
+import de.xares.conference.service.dto.TalkImportResultDTO;
+import de.xares.conference.service.dto.TalkSummaryDTO;
+import de.xares.conference.service.mapper.TalkMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,29 +57,93 @@ public class TalkServiceImpl implements TalkService {
 
     private final TalkRepository talkRepository;
 
-    public TalkServiceImpl(TalkRepository talkRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManager entityManager;
+
+    private final RoomRepository roomRepository;
+
+    private final TimeslotRepository timeslotRepository;
+
+    private final Validator validator;
+
+    private final ScheduleConflictService scheduleConflictService;
+
+    private final TalkMapper talkMapper;
+
+    private final AttendanceRepository attendanceRepository;
+
+    private final UserRepository userRepository;
+
+    public TalkServiceImpl(
+        TalkRepository talkRepository,
+        ApplicationEventPublisher eventPublisher,
+        EntityManager entityManager,
+        RoomRepository roomRepository,
+        TimeslotRepository timeslotRepository,
+        Validator validator,
+        ScheduleConflictService scheduleConflictService,
+        TalkMapper talkMapper,
+        AttendanceRepository attendanceRepository,
+        UserRepository userRepository
+    ) {
         this.talkRepository = talkRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.roomRepository = roomRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.validator = validator;
+        this.scheduleConflictService = scheduleConflictService;
+        this.talkMapper = talkMapper;
+        this.attendanceRepository = attendanceRepository;
+        this.userRepository = userRepository;
     }
 
     @Override
     public Talk save(Talk talk) {
         LOG.debug("Request to save Talk : {}", talk);
-        return talkRepository.save(talk);
+        scheduleConflictService.checkTalk(talk);
+        Talk result = talkRepository.save(talk);
+        eventPublisher.publishEvent(ScheduleChangedEvent.saved(Talk.class, result.getId()));
+        return result;
     }
 
     @Override
     public Talk update(Talk talk) {
         LOG.debug("Request to update Talk : {}", talk);
-        return talkRepository.save(talk);
+        scheduleConflictService.checkTalk(talk);
+        // Where the talk was, read before the merge overwrites it, usually from the second-level cache
+        Optional<Talk> existingTalk = talk.getId() == null ? Optional.empty() : talkRepository.findById(talk.getId());
+        Long previousRoomId = existingTalk.map(Talk::getRoom).map(Room::getId).orElse(null);
+        Long previousTimeslotId = existingTalk.map(Talk::getTimeslot).map(Timeslot::getId).orElse(null);
+        Talk result = talkRepository.save(talk);
+        eventPublisher.publishEvent(ScheduleChangedEvent.saved(Talk.class, result.getId()));
+        if (existingTalk.isPresent()) {
+            publishIfMoved(result, previousRoomId, previousTimeslotId);
+        }
+        return result;
     }
 
     @Override
     public Optional<Talk> partialUpdate(Talk talk) {
         LOG.debug("Request to partially update Talk : {}", talk);
 
+        // The abstract is read along, as the updated talk is returned with it
         return talkRepository
-            .findById(talk.getId())
+            .findOneWithEagerRelationships(talk.getId())
             .map(existingTalk -> {
+                Long previousRoomId = existingTalk.getRoom().getId();
+                Long previousTimeslotId = existingTalk.getTimeslot().getId();
+                // An unknown room or timeslot is left to the foreign key constraint, as with a full update
+                if (talk.getRoom() != null) {
+                    existingTalk.setRoom(roomRepository.findById(talk.getRoom().getId()).orElse(talk.getRoom()));
+                }
+                if (talk.getTimeslot() != null) {
+                    existingTalk.setTimeslot(timeslotRepository.findById(talk.getTimeslot().getId()).orElse(talk.getTimeslot()));
+                }
+                if (talk.getRoom() != null || talk.getTimeslot() != null) {
+                    scheduleConflictService.checkTalk(existingTalk);
+                }
                 if (talk.getTitle() != null) {
                     existingTalk.setTitle(talk.getTitle());
                 }
@@ -55,32 +154,285 @@ public class TalkServiceImpl implements TalkService {
                     existingTalk.setAbstractText(talk.getAbstractText());
                 }
 
-                return existingTalk;
-            })
-            .map(talkRepository::save);
+                Talk savedTalk = talkRepository.save(existingTalk);
+                eventPublisher.publishEvent(ScheduleChangedEvent.saved(Talk.class, savedTalk.getId()));
+                publishIfMoved(savedTalk, previousRoomId, previousTimeslotId);
+                return savedTalk;
+            });
+    }
+
+    private void publishIfMoved(Talk talk, Long previousRoomId, Long previousTimeslotId) {
+        Long roomId = talk.getRoom() == null ? null : talk.getRoom().getId();
+        Long timeslotId = talk.getTimeslot() == null ? null : talk.getTimeslot().getId();
+        if (!Objects.equals(roomId, previousRoomId) || !Objects.equals(timeslotId, previousTimeslotId)) {
+            eventPublisher.publishEvent(new TalkMovedEvent(talk.getId(), previousRoomId, previousTimeslotId));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TalkSummaryDTO> findAllSummaries(Pageable pageable) {
+        LOG.debug("Request to get all Talk summaries");
+        return talkRepository.findAllSummaries(pageable).map(TalkSummaryDTO::new);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Talk> findAll(Pageable pageable) {
-        LOG.debug("Request to get all Talks");
-        return talkRepository.findAll(pageable);
+    public List<TalkSummaryDTO> findAllSummariesAfter(Long after, int limit) {
+        LOG.debug("Request to get Talk summaries after : {}", after);
+        return talkRepository
+            .findAllSummariesAfter(after == null ? Long.MIN_VALUE : after, Limit.of(limit))
+            .stream()
+            .map(TalkSummaryDTO::new)
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Talk> consumer) {
+        LOG.debug("Request to export all Talks");
+        try (Stream<Talk> talks = talkRepository.streamAllWithToOneRelationships()) {
+            Iterator<Talk> iterator = talks.iterator();
+            long count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                // Detach what has been exported so far, so the persistence context does not grow with the export
+                if (++count % TalkRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            LOG.debug("Exported {} Talks", count);
+        }
     }
 
-    public Page<Talk> findAllWithEagerRelationships(Pageable pageable) {
-        return talkRepository.findAllWithEagerRelationships(pageable);
+    @Override
+    public TalkImportResultDTO importAll(List<Talk> talks) {
+        LOG.debug("Request to import {} Talks", talks.size());
+        return importRows(talks, new TalkImportResultDTO());
+    }
+
+    @Override
+    public TalkImportResultDTO importCsv(Reader reader) throws IOException {
+        LOG.debug("Request to import Talks from CSV");
+        TalkImportResultDTO result = new TalkImportResultDTO();
+        BufferedReader csv = new BufferedReader(reader);
+        List<String> header = readCsvRecord(csv);
+        if (header == null) {
+            result.addError(0, null, "no header");
+            return result;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : List.of("title", "speaker", "abstract_text", "room_id", "timeslot_id")) {
+            if (!columns.containsKey(column)) {
+                result.addError(0, column, "missing column");
+            }
+        }
+        if (!result.getErrors().isEmpty()) {
+            return result;
+        }
+
+        // Rows that cannot be converted are reported here and kept as null, so that row numbers stay aligned
+        List<Talk> talks = new ArrayList<>();
+        List<String> record;
+        while ((record = readCsvRecord(csv)) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            int row = talks.size() + 1;
+            int errors = result.getErrors().size();
+            Long roomId = csvId(record, columns.get("room_id"), row, "room_id", result);
+            Long timeslotId = csvId(record, columns.get("timeslot_id"), row, "timeslot_id", result);
+            if (result.getErrors().size() > errors) {
+                talks.add(null);
+                continue;
+            }
+            talks.add(
+                new Talk()
+                    .title(csvValue(record, columns.get("title")))
+                    .speaker(csvValue(record, columns.get("speaker")))
+                    .abstractText(csvValue(record, columns.get("abstract_text")))
+                    .room(roomId == null ? null : new Room().id(roomId))
+                    .timeslot(timeslotId == null ? null : new Timeslot().id(timeslotId))
+            );
+        }
+        return importRows(talks, result);
+    }
+
+    private TalkImportResultDTO importRows(List<Talk> talks, TalkImportResultDTO result) {
+        Set<Long> roomIds = new HashSet<>();
+        Set<Long> timeslotIds = new HashSet<>();
+        for (Talk talk : talks) {
+            if (talk != null && talk.getRoom() != null && talk.getRoom().getId() != null) {
+                roomIds.add(talk.getRoom().getId());
+            }
+            if (talk != null && talk.getTimeslot() != null && talk.getTimeslot().getId() != null) {
+                timeslotIds.add(talk.getTimeslot().getId());
+            }
+        }
+        Set<Long> existingRoomIds = new HashSet<>();
+        roomRepository.findAllById(roomIds).forEach(room -> existingRoomIds.add(room.getId()));
+        Map<Long, Timeslot> existingTimeslots = new HashMap<>();
+        timeslotRepository.findAllById(timeslotIds).forEach(timeslot -> existingTimeslots.put(timeslot.getId(), timeslot));
+        ScheduleConflictService.PendingBookings bookings = new ScheduleConflictService.PendingBookings();
+
+        List<Talk> valid = new ArrayList<>(talks.size());
+        for (int i = 0; i < talks.size(); i++) {
+            Talk talk = talks.get(i);
+            if (talk == null) {
+                continue;
+            }
+            int row = i + 1;
+            int errors = result.getErrors().size();
+            if (talk.getId() != null) {
+                result.addError(row, "id", "a new talk cannot already have an ID");
+            }
+            for (ConstraintViolation<Talk> violation : validator.validate(talk)) {
+                result.addError(row, violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            if (talk.getAbstractText() == null) {
+                result.addError(row, "abstractText", "must not be null");
+            }
+            if (talk.getRoom() != null && !existingRoomIds.contains(talk.getRoom().getId())) {
+                result.addError(row, "room", "no room with ID " + talk.getRoom().getId());
+            }
+            if (talk.getTimeslot() != null && !existingTimeslots.containsKey(talk.getTimeslot().getId())) {
+                result.addError(row, "timeslot", "no timeslot with ID " + talk.getTimeslot().getId());
+            }
+            if (result.getErrors().size() == errors) {
+                Long roomId = talk.getRoom().getId();
+                Timeslot timeslot = existingTimeslots.get(talk.getTimeslot().getId());
+                List<Long> conflicts = scheduleConflictService.findTalkConflicts(null, roomId, timeslot.getStart(), timeslot.getEnd());
+                if (!conflicts.isEmpty()) {
+                    result.addError(row, "room", "room is already booked at that time by talks " + conflicts);
+                } else {
+                    List<Long> earlierRows = bookings.book(row, roomId, timeslot.getStart(), timeslot.getEnd());
+                    if (!earlierRows.isEmpty()) {
+                        result.addError(row, "room", "room is booked at that time by rows " + earlierRows);
+                    }
+                }
+            }
+            if (result.getErrors().size() == errors) {
+                valid.add(talk);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            List<Long> ids = talkRepository.allocateIds(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                valid.get(i).setId(ids.get(i));
+            }
+            talkRepository.insertAll(valid);
+            result.setIds(ids);
+            eventPublisher.publishEvent(ScheduleChangedEvent.saved(Talk.class, null));
+        }
+        LOG.debug("Imported {} Talks, rejected {} rows", valid.size(), talks.size() - valid.size());
+        return result;
+    }
+
+    private static Long csvId(List<String> record, Integer column, int row, String name, TalkImportResultDTO result) {
+        String value = csvValue(record, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            result.addError(row, name, "not a number: " + value);
+            return null;
+        }
+    }
+
+    private static String csvValue(List<String> record, Integer column) {
+        if (column == null || column >= record.size() || record.get(column).isEmpty()) {
+            return null;
+        }
+        return record.get(column);
+    }
+
+    /**
+     * Read one CSV record, as described in RFC 4180.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input.
+     */
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                    field.append('"');
+                } else if (c == -1) {
+                    quoted = false;
+                    continue;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<Talk> findOne(Long id) {
+    public Optional<TalkDetailDTO> findOne(Long id) {
         LOG.debug("Request to get Talk : {}", id);
-        return talkRepository.findOneWithEagerRelationships(id);
+        return talkRepository.findOneWithEagerRelationships(id).map(talkMapper::toDto);
+    }
+
+    @Override
+    public boolean attend(Long id) {
+        LOG.debug("Request to attend Talk : {}", id);
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new IllegalStateException("No current user"));
+        Optional<User> user = userRepository.findOneByLogin(login);
+        Optional<Talk> talk = talkRepository.findById(id);
+        if (user.isEmpty() || talk.isEmpty()) {
+            return false;
+        }
+        if (!attendanceRepository.existsByTalkIdAndUserLogin(id, login)) {
+            attendanceRepository.save(new Attendance().talk(talk.orElseThrow()).user(user.orElseThrow()));
+        }
+        return true;
+    }
+
+    @Override
+    public void leave(Long id) {
+        LOG.debug("Request to leave Talk : {}", id);
+        SecurityUtils.getCurrentUserLogin().ifPresent(login -> attendanceRepository.deleteByTalkIdAndUserLogin(id, login));
     }
 
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Talk : {}", id);
         talkRepository.deleteById(id);
+        eventPublisher.publishEvent(ScheduleChangedEvent.deleted(Talk.class, id));
     }
 }
@@ -2,10 +2,17 @@ package de.xares.conference.service.impl;
 
 import de.xares.conference.domain.Timeslot;
 import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.service.ScheduleChangedEvent;
+import de.xares.conference.service.ScheduleConflictService;
 import de.xares.conference.service.TimeslotService;
+import de.xares.conference.service.dto.TimeslotDTO;
+import de.xares.conference.service.mapper.TimeslotMapper;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,20 +29,40 @@ public class TimeslotServiceImpl implements TimeslotService {
 
     private final TimeslotRepository timeslotRepository;
 
-    public TimeslotServiceImpl(TimeslotRepository timeslotRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ScheduleConflictService scheduleConflictService;
+
+    private final TimeslotMapper timeslotMapper;
+
+    public TimeslotServiceImpl(
+        TimeslotRepository timeslotRepository,
+        ApplicationEventPublisher eventPublisher,
+        ScheduleConflictService scheduleConflictService,
+        TimeslotMapper timeslotMapper
+    ) {
         this.timeslotRepository = timeslotRepository;
+        this.eventPublisher = eventPublisher;
+        this.scheduleConflictService = scheduleConflictService;
+        this.timeslotMapper = timeslotMapper;
     }
 
     @Override
     public Timeslot save(Timeslot timeslot) {
         LOG.debug("Request to save Timeslot : {}", timeslot);
-        return timeslotRepository.save(timeslot);
+        scheduleConflictService.checkTimeslot(timeslot);
+        Timeslot result = timeslotRepository.save(timeslot);
+        eventPublisher.publishEvent(ScheduleChangedEvent.saved(Timeslot.class, result.getId()));
+        return result;
     }
 
     @Override
     public Timeslot update(Timeslot timeslot) {
         LOG.debug("Request to update Timeslot : {}", timeslot);
-        return timeslotRepository.save(timeslot);
+        scheduleConflictService.checkTimeslot(timeslot);
+        Timeslot result = timeslotRepository.save(timeslot);
+        eventPublisher.publishEvent(ScheduleChangedEvent.saved(Timeslot.class, result.getId()));
+        return result;
     }
 
     @Override
@@ -52,28 +79,43 @@ public class TimeslotServiceImpl implements TimeslotService {
                     existingTimeslot.setEnd(timeslot.getEnd());
                 }
 
+                scheduleConflictService.checkTimeslot(existingTimeslot);
                 return existingTimeslot;
             })
-            .map(timeslotRepository::save);
+            .map(timeslotRepository::save)
+            .map(savedTimeslot -> {
+                eventPublisher.publishEvent(ScheduleChangedEvent.saved(Timeslot.class, savedTimeslot.getId()));
+                return savedTimeslot;
+            });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Timeslot> findAll(Pageable pageable) {
+    public Page<TimeslotDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Timeslots");
-        return timeslotRepository.findAll(pageable);
+        return timeslotRepository.findAll(pageable).map(timeslotMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimeslotDTO> findAllAfter(Long after, int limit) {
+        LOG.debug("Request to get Timeslots after : {}", after);
+        return timeslotMapper.toDto(
+            timeslotRepository.findByIdGreaterThanOrderByIdAsc(after == null ? Long.MIN_VALUE : after, Limit.of(limit))
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<Timeslot> findOne(Long id) {
+    public Optional<TimeslotDTO> findOne(Long id) {
         LOG.debug("Request to get Timeslot : {}", id);
-        return timeslotRepository.findById(id);
+        return timeslotRepository.findById(id).map(timeslotMapper::toDto);
     }
 
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Timeslot : {}", id);
         timeslotRepository.deleteById(id);
+        eventPublisher.publishEvent(ScheduleChangedEvent.deleted(Timeslot.class, id));
     }
 }
@@ -0,0 +1,11 @@
+package de.xares.conference.service.mapper;
+
+import de.xares.conference.domain.Room;
+import de.xares.conference.service.dto.RoomDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Room} and its DTO {@link RoomDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface RoomMapper extends EntityMapper<RoomDTO, Room> {}
@@ -0,0 +1,13 @@
+package de.xares.conference.service.mapper;
+
+import de.xares.conference.domain.Talk;
+import de.xares.conference.service.dto.TalkDetailDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Talk} and its DTO {@link TalkDetailDTO}, which embeds the room and the timeslot.
+ * <p>
+ * Listings use {@link de.xares.conference.service.dto.TalkSummaryDTO}, read from a projection instead of the entity.
+ */
+@Mapper(componentModel = "spring", uses = { RoomMapper.class, TimeslotMapper.class })
+public interface TalkMapper extends EntityMapper<TalkDetailDTO, Talk> {}
@@ -0,0 +1,11 @@
+package de.xares.conference.service.mapper;
+
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.service.dto.TimeslotDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Timeslot} and its DTO {@link TimeslotDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface TimeslotMapper extends EntityMapper<TimeslotDTO, Timeslot> {}
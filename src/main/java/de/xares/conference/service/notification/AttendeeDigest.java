@@ -0,0 +1,12 @@
+package de.xares.conference.service.notification;
+
+import de.xares.conference.domain.User;
+import java.util.List;
+
+/**
+ * The moved talks of an attendee, told in one notification.
+ *
+ * @param attendee the attendee.
+ * @param moves the moved talks the attendee attends, ordered by start.
+ */
+public record AttendeeDigest(User attendee, List<TalkMove> moves) {}
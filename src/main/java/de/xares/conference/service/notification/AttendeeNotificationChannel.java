@@ -0,0 +1,15 @@
+package de.xares.conference.service.notification;
+
+import java.util.List;
+
+/**
+ * A way of telling attendees that their talks moved, all the channels found in the context are used.
+ */
+public interface AttendeeNotificationChannel {
+    /**
+     * Send the digests, called once the moves are committed and outside of any transaction.
+     *
+     * @param digests one digest per attendee.
+     */
+    void send(List<AttendeeDigest> digests);
+}
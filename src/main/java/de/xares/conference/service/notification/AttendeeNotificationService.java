@@ -0,0 +1,321 @@
+package de.xares.conference.service.notification;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.Attendance;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.domain.User;
+import de.xares.conference.repository.AttendanceRepository;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.service.TalkMovedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tells the attendees of moved talks where and when their talks are now.
+ * <p>
+ * Moves are collected once their transaction has committed, so the update moving a talk is never held up and rolled back
+ * moves are never told. They are coalesced until no talk has moved for {@code quietPeriod}, or at the latest
+ * {@code maxDelay} after the first move, then each attendee gets a single digest of all their moved talks through every
+ * {@link AttendeeNotificationChannel}. A talk moved several times is told once, from where it was first to where it is
+ * now, and not at all if it is back where it was. Moves not yet told are lost if the application stops abruptly.
+ */
+@Service
+public class AttendeeNotificationService implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttendeeNotificationService.class);
+
+    public static final String MOVES_METER_NAME = "schedule.notification.moves";
+    public static final String DIGESTS_METER_NAME = "schedule.notification.digests";
+
+    /**
+     * Where a talk was before its first move.
+     */
+    private record Placement(Long roomId, Long timeslotId) {}
+
+    private final ApplicationProperties.Notification properties;
+
+    private final TalkRepository talkRepository;
+
+    private final RoomRepository roomRepository;
+
+    private final TimeslotRepository timeslotRepository;
+
+    private final AttendanceRepository attendanceRepository;
+
+    private final List<AttendeeNotificationChannel> channels;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ZoneId timeZone;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    private final Map<Long, Placement> pending = new LinkedHashMap<>();
+
+    private long firstMoveNanos;
+
+    private long lastMoveNanos;
+
+    private volatile boolean running;
+
+    private Thread notifier;
+
+    private final Counter movesCounter;
+
+    private final Counter digestsCounter;
+
+    public AttendeeNotificationService(
+        ApplicationProperties applicationProperties,
+        TalkRepository talkRepository,
+        RoomRepository roomRepository,
+        TimeslotRepository timeslotRepository,
+        AttendanceRepository attendanceRepository,
+        List<AttendeeNotificationChannel> channels,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getNotification();
+        this.talkRepository = talkRepository;
+        this.roomRepository = roomRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.channels = channels;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.timeZone = properties.getTimeZone();
+        this.movesCounter = Counter.builder(MOVES_METER_NAME)
+            .description("Moved talks told to their attendees, after coalescing")
+            .register(meterRegistry);
+        this.digestsCounter = Counter.builder(DIGESTS_METER_NAME)
+            .description("Digests of moved talks sent to attendees, per channel")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            LOG.debug("Attendee notifications disabled, moved talks are only collected");
+            return;
+        }
+        running = true;
+        notifier = new Thread(this::notifyContinuously, "attendee-notification");
+        notifier.setDaemon(true);
+        notifier.start();
+    }
+
+    /**
+     * Tell the pending moves, then stop.
+     */
+    @Override
+    public void destroy() {
+        if (notifier == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            notifier.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTalkMoved(TalkMovedEvent event) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (pending.isEmpty()) {
+                firstMoveNanos = now;
+            }
+            lastMoveNanos = now;
+            pending.putIfAbsent(event.getTalkId(), new Placement(event.getPreviousRoomId(), event.getPreviousTimeslotId()));
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tell the moves collected so far right away.
+     *
+     * @return the number of attendees notified.
+     */
+    public int notifyAttendees() {
+        lock.lock();
+        Map<Long, Placement> moved;
+        try {
+            moved = drain();
+        } finally {
+            lock.unlock();
+        }
+        return notifyAttendees(moved);
+    }
+
+    private int notifyAttendees(Map<Long, Placement> moved) {
+        if (moved.isEmpty()) {
+            return 0;
+        }
+        List<AttendeeDigest> digests = readOnlyTransactionTemplate.execute(status -> collectDigests(moved));
+        if (digests.isEmpty()) {
+            return 0;
+        }
+        for (AttendeeNotificationChannel channel : channels) {
+            try {
+                channel.send(digests);
+                digestsCounter.increment(digests.size());
+            } catch (RuntimeException e) {
+                LOG.warn("Could not notify {} attendees through {}", digests.size(), channel.getClass().getSimpleName(), e);
+            }
+        }
+        LOG.debug("Notified {} attendees of moved talks", digests.size());
+        return digests.size();
+    }
+
+    private List<AttendeeDigest> collectDigests(Map<Long, Placement> moved) {
+        Map<Long, Talk> talks = new LinkedHashMap<>();
+        for (Talk talk : talkRepository.findAllWithToOneRelationshipsByIdIn(moved.keySet())) {
+            Placement previous = moved.get(talk.getId());
+            if (
+                !Objects.equals(talk.getRoom().getId(), previous.roomId()) ||
+                !Objects.equals(talk.getTimeslot().getId(), previous.timeslotId())
+            ) {
+                talks.put(talk.getId(), talk);
+            }
+        }
+        if (talks.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Room> previousRooms = new HashMap<>();
+        Map<Long, Timeslot> previousTimeslots = new HashMap<>();
+        List<Placement> previousPlacements = talks.keySet().stream().map(moved::get).toList();
+        roomRepository
+            .findAllById(previousPlacements.stream().map(Placement::roomId).filter(Objects::nonNull).toList())
+            .forEach(room -> previousRooms.put(room.getId(), room));
+        timeslotRepository
+            .findAllById(previousPlacements.stream().map(Placement::timeslotId).filter(Objects::nonNull).toList())
+            .forEach(timeslot -> previousTimeslots.put(timeslot.getId(), timeslot));
+
+        Map<Long, TalkMove> moves = new HashMap<>();
+        talks.forEach((id, talk) -> {
+            Room previousRoom = previousRooms.get(moved.get(id).roomId());
+            Timeslot previousTimeslot = previousTimeslots.get(moved.get(id).timeslotId());
+            moves.put(
+                id,
+                new TalkMove(
+                    id,
+                    talk.getTitle(),
+                    previousRoom == null ? null : previousRoom.getName(),
+                    previousTimeslot == null ? null : inTimeZone(previousTimeslot.getStart()),
+                    talk.getRoom().getName(),
+                    inTimeZone(talk.getTimeslot().getStart()),
+                    inTimeZone(talk.getTimeslot().getEnd())
+                )
+            );
+        });
+        movesCounter.increment(moves.size());
+
+        Map<Long, List<User>> attendeesByTalk = new HashMap<>();
+        for (Attendance attendance : attendanceRepository.findAllWithUserByTalkIdIn(talks.keySet())) {
+            attendeesByTalk.computeIfAbsent(attendance.getTalk().getId(), talkId -> new ArrayList<>()).add(attendance.getUser());
+        }
+        // Talks were read ordered by start, so are the moves of each attendee
+        Map<Long, AttendeeDigest> digests = new LinkedHashMap<>();
+        for (Long talkId : talks.keySet()) {
+            for (User attendee : attendeesByTalk.getOrDefault(talkId, List.of())) {
+                digests
+                    .computeIfAbsent(attendee.getId(), userId -> new AttendeeDigest(attendee, new ArrayList<>()))
+                    .moves()
+                    .add(moves.get(talkId));
+            }
+        }
+        return new ArrayList<>(digests.values());
+    }
+
+    private ZonedDateTime inTimeZone(Instant instant) {
+        return instant == null ? null : instant.atZone(timeZone);
+    }
+
+    private void notifyContinuously() {
+        while (true) {
+            Map<Long, Placement> moved;
+            lock.lock();
+            try {
+                moved = awaitMoves();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (moved == null) {
+                return;
+            }
+            try {
+                notifyAttendees(moved);
+            } catch (RuntimeException e) {
+                LOG.warn("Could not notify the attendees of {} moved talks", moved.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Wait for the moves to settle, with the lock held.
+     *
+     * @return the moves to tell, or {@code null} once stopped and all moves are told.
+     */
+    private Map<Long, Placement> awaitMoves() throws InterruptedException {
+        long quietPeriodNanos = properties.getQuietPeriod().toNanos();
+        long maxDelayNanos = properties.getMaxDelay().toNanos();
+        while (true) {
+            if (!running) {
+                return pending.isEmpty() ? null : drain();
+            }
+            if (pending.isEmpty()) {
+                changed.await();
+                continue;
+            }
+            long remaining = Math.min(lastMoveNanos + quietPeriodNanos, firstMoveNanos + maxDelayNanos) - System.nanoTime();
+            if (remaining <= 0) {
+                return drain();
+            }
+            changed.awaitNanos(remaining);
+        }
+    }
+
+    private Map<Long, Placement> drain() {
+        Map<Long, Placement> moved = new LinkedHashMap<>(pending);
+        pending.clear();
+        return moved;
+    }
+}
@@ -0,0 +1,32 @@
+package de.xares.conference.service.notification;
+
+import de.xares.conference.service.MailService;
+import de.xares.conference.service.MailTemplate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+
+/**
+ * Emails the digests, queued in the mail outbox at once.
+ */
+@Service
+public class MailNotificationChannel implements AttendeeNotificationChannel {
+
+    private static final String MOVES = "moves";
+
+    private final MailService mailService;
+
+    public MailNotificationChannel(MailService mailService) {
+        this.mailService = mailService;
+    }
+
+    @Override
+    public void send(List<AttendeeDigest> digests) {
+        Map<Long, List<TalkMove>> movesByAttendee = new HashMap<>();
+        digests.forEach(digest -> movesByAttendee.put(digest.attendee().getId(), digest.moves()));
+        mailService.sendBulk(digests.stream().map(AttendeeDigest::attendee).toList(), MailTemplate.SCHEDULE_CHANGED, user ->
+            Map.of(MOVES, movesByAttendee.get(user.getId()))
+        );
+    }
+}
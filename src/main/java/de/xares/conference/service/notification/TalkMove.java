@@ -0,0 +1,24 @@
+package de.xares.conference.service.notification;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A talk moved to another room or timeslot, as told to its attendees.
+ *
+ * @param talkId the id of the talk.
+ * @param title the title of the talk.
+ * @param previousRoom the name of the room the talk was in.
+ * @param previousStart when the talk started before.
+ * @param room the name of the room the talk is in now.
+ * @param start when the talk starts now.
+ * @param end when the talk ends now.
+ */
+public record TalkMove(
+    Long talkId,
+    String title,
+    String previousRoom,
+    ZonedDateTime previousStart,
+    String room,
+    ZonedDateTime start,
+    ZonedDateTime end
+) {}
@@ -0,0 +1,4 @@
+/**
+ * Notification of the attendees of moved talks.
+ */
+package de.xares.conference.service.notification;
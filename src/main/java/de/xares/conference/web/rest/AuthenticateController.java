@@ -4,11 +4,16 @@ import static de.xares.conference.security.SecurityUtils.AUTHORITIES_KEY;
 import static de.xares.conference.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import de.xares.conference.security.LoginRateLimiter;
+import de.xares.conference.security.OffloadingPasswordEncoder;
+import de.xares.conference.web.rest.errors.TooManyLoginAttemptsException;
 import de.xares.conference.web.rest.vm.LoginVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +26,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -47,24 +51,54 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final LoginRateLimiter loginRateLimiter;
+
+    private final OffloadingPasswordEncoder passwordEncoder;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        LoginRateLimiter loginRateLimiter,
+        OffloadingPasswordEncoder passwordEncoder
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.loginRateLimiter = loginRateLimiter;
+        this.passwordEncoder = passwordEncoder;
     }
 
+    /**
+     * {@code POST /authenticate} : authenticate a user and issue a JWT.
+     * <p>
+     * The password is checked on the password hashing threads, the request thread is released meanwhile.
+     *
+     * @param loginVM the credentials.
+     * @param request the request, to rate limit attempts per client IP address, taken from X-Forwarded-For behind a proxy.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the JWT, with status {@code 429 (Too Many Requests)}
+     * if the login or the client IP address had too many recent attempts, or with status {@code 503 (Service Unavailable)} if
+     * too many passwords are being checked.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM, HttpServletRequest request) {
+        long retryAfter = loginRateLimiter.tryAcquire(loginVM.getUsername(), request.getRemoteAddr());
+        if (retryAfter > 0) {
+            LOG.debug("Too many login attempts for {} from {}", loginVM.getUsername(), request.getRemoteAddr());
+            throw new TooManyLoginAttemptsException(retryAfter);
+        }
+
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        return passwordEncoder
+            .supplyAsync(() -> authenticationManagerBuilder.getObject().authenticate(authenticationToken))
+            .thenApply(authentication -> {
+                String jwt = this.createToken(authentication, loginVM.isRememberMe());
+                HttpHeaders httpHeaders = new HttpHeaders();
+                httpHeaders.setBearerAuth(jwt);
+                return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+            });
     }
 
     /**
@@ -2,8 +2,11 @@ package de.xares.conference.web.rest;
 
 import de.xares.conference.domain.Room;
 import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.service.EntityVersionService;
 import de.xares.conference.service.RoomService;
+import de.xares.conference.service.dto.RoomDTO;
 import de.xares.conference.web.rest.errors.BadRequestAlertException;
+import de.xares.conference.web.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -16,9 +19,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +41,11 @@ public class RoomResource {
 
     private static final String ENTITY_NAME = "room";
 
+    /**
+     * Lets clients keep {@code GET} responses, but only use them after a conditional request answered with {@code 304}.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +53,12 @@ public class RoomResource {
 
     private final RoomRepository roomRepository;
 
-    public RoomResource(RoomService roomService, RoomRepository roomRepository) {
+    private final EntityVersionService entityVersionService;
+
+    public RoomResource(RoomService roomService, RoomRepository roomRepository, EntityVersionService entityVersionService) {
         this.roomService = roomService;
         this.roomRepository = roomRepository;
+        this.entityVersionService = entityVersionService;
     }
 
     /**
@@ -137,27 +151,78 @@ public class RoomResource {
      * {@code GET  /rooms} : get all the rooms.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of rooms in body.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of rooms in body,
+     * or with status {@code 304 (Not Modified)} if no room has changed since the given ETag was issued.
      */
     @GetMapping("")
-    public ResponseEntity<List<Room>> getAllRooms(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<RoomDTO>> getAllRooms(@org.springdoc.core.annotations.ParameterObject Pageable pageable, WebRequest request) {
         LOG.debug("REST request to get a page of Rooms");
-        Page<Room> page = roomService.findAll(pageable);
+        String eTag = entityVersionService.getETag(Room.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        Page<RoomDTO> page = roomService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /rooms?after=:cursor} : get the rooms following a cursor, ordered by id.
+     * <p>
+     * Unlike {@code GET  /rooms}, no total count is computed, and deep pages are as cheap as the first one.
+     *
+     * @param after the opaque cursor from the {@code next} link of the previous page, empty to start with the first room.
+     * @param size the page size.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of rooms in body, with the cursor of the next
+     * page in the {@code Link} header, or with status {@code 304 (Not Modified)} if no room has changed since the given ETag
+     * was issued.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<RoomDTO>> getRoomsAfter(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get Rooms after : {}", after);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME);
+        KeysetPaginationUtil.checkSize(size, ENTITY_NAME);
+        String eTag = entityVersionService.getETag(Room.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        // Read one more room than requested to know whether there is a next page
+        List<RoomDTO> rooms = roomService.findAllAfter(afterId, size + 1);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            rooms,
+            size,
+            RoomDTO::getId
+        );
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).headers(headers).body(KeysetPaginationUtil.content(rooms, size));
     }
 
     /**
      * {@code GET  /rooms/:id} : get the "id" room.
      *
      * @param id the id of the room to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the room, or with status {@code 404 (Not Found)}.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the room, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if no room has changed since the given ETag was issued.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Room> getRoom(@PathVariable("id") Long id) {
+    public ResponseEntity<RoomDTO> getRoom(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get Room : {}", id);
-        Optional<Room> room = roomService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(room);
+        String eTag = entityVersionService.getETag(Room.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        Optional<RoomDTO> room = roomService.findOne(id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(REVALIDATE);
+        return ResponseUtil.wrapOrNotFound(room, headers);
     }
 
     /**
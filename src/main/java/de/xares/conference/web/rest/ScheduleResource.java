@@ -0,0 +1,64 @@
+package de.xares.conference.web.rest;
+
+import de.xares.conference.security.SecurityUtils;
+import de.xares.conference.service.ScheduleService;
+import de.xares.conference.service.dto.ScheduleDTO;
+import de.xares.conference.web.sse.SseBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for reading the whole program at once.
+ */
+@RestController
+@RequestMapping("/api/schedule")
+public class ScheduleResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduleResource.class);
+
+    private final ScheduleService scheduleService;
+
+    private final SseBroadcaster broadcaster;
+
+    public ScheduleResource(ScheduleService scheduleService, SseBroadcaster broadcaster) {
+        this.scheduleService = scheduleService;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * {@code GET  /schedule} : get every talk by room and timeslot.
+     * <p>
+     * The schedule is served from an in-memory snapshot and never reads the database.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the schedule in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<ScheduleDTO> getSchedule() {
+        LOG.debug("REST request to get the Schedule");
+        return ResponseEntity.ok(scheduleService.getSchedule());
+    }
+
+    /**
+     * {@code GET  /schedule/stream} : stream the changes of the schedule as Server-Sent Events.
+     * <p>
+     * Pushes a {@code talk}, {@code room} or {@code timeslot} event once a write of that entity has committed, see
+     * {@link de.xares.conference.web.sse.ScheduleChangePublisher}, and a {@code talk-moved} event when talks the current
+     * user attends have moved. Clients too slow to keep up are disconnected, and should reload once reconnected.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the stream of events in body.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSchedule() {
+        LOG.debug("REST request to stream the Schedule");
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            // Keeps nginx from buffering the events
+            .header("X-Accel-Buffering", "no")
+            .body(broadcaster.connect(SecurityUtils.getCurrentUserLogin().orElse(null)));
+    }
+}
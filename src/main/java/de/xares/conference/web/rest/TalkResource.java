@@ -1,13 +1,34 @@
 package de.xares.conference.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.xares.conference.domain.Room;
 import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
 import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.service.EntityVersionService;
 import de.xares.conference.service.TalkService;
+import de.xares.conference.service.dto.TalkDetailDTO;
+import de.xares.conference.service.dto.TalkImportResultDTO;
+import de.xares.conference.service.dto.TalkSummaryDTO;
 import de.xares.conference.web.rest.errors.BadRequestAlertException;
+import de.xares.conference.web.util.KeysetPaginationUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -16,9 +37,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +61,13 @@ public class TalkResource {
 
     private static final String ENTITY_NAME = "talk";
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Lets clients keep {@code GET} responses, but only use them after a conditional request answered with {@code 304}.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +75,20 @@ public class TalkResource {
 
     private final TalkRepository talkRepository;
 
-    public TalkResource(TalkService talkService, TalkRepository talkRepository) {
+    private final EntityVersionService entityVersionService;
+
+    private final ObjectWriter exportWriter;
+
+    public TalkResource(
+        TalkService talkService,
+        TalkRepository talkRepository,
+        EntityVersionService entityVersionService,
+        ObjectMapper objectMapper
+    ) {
         this.talkService = talkService;
         this.talkRepository = talkRepository;
+        this.entityVersionService = entityVersionService;
+        this.exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -66,6 +110,49 @@ public class TalkResource {
             .body(talk);
     }
 
+    /**
+     * {@code POST  /talks/bulk} : Import new talks.
+     *
+     * @param talks the talks to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the identifiers of the imported talks
+     * and the errors of the rejected rows.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TalkImportResultDTO> importTalks(@RequestBody List<Talk> talks) {
+        LOG.debug("REST request to import {} Talks", talks.size());
+        return ResponseEntity.ok(talkService.importAll(talks));
+    }
+
+    /**
+     * {@code POST  /talks/bulk} : Import new talks from a CSV request body.
+     *
+     * @param csv the CSV content, with a header naming the columns.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the identifiers of the imported talks
+     * and the errors of the rejected rows.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<TalkImportResultDTO> importTalksFromCsv(InputStream csv) throws IOException {
+        LOG.debug("REST request to import Talks from CSV");
+        return ResponseEntity.ok(talkService.importCsv(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@code POST  /talks/bulk} : Import new talks from an uploaded CSV file.
+     *
+     * @param file the CSV file, with a header naming the columns.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the identifiers of the imported talks
+     * and the errors of the rejected rows.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TalkImportResultDTO> importTalksFromCsvFile(@RequestParam("file") MultipartFile file) throws IOException {
+        LOG.debug("REST request to import Talks from CSV file {}", file.getOriginalFilename());
+        try (Reader csv = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(talkService.importCsv(csv));
+        }
+    }
+
     /**
      * {@code PUT  /talks/:id} : Updates an existing talk.
      *
@@ -134,39 +221,192 @@ public class TalkResource {
     }
 
     /**
-     * {@code GET  /talks} : get all the talks.
+     * {@code GET  /talks} : get all the talks as summaries.
+     * <p>
+     * Room and timeslot are loaded in the same statement and the abstract is left out, it is only returned by
+     * {@code GET  /talks/:id}.
      *
      * @param pageable the pagination information.
-     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of talks in body.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of talk summaries in body,
+     * or with status {@code 304 (Not Modified)} if no talk, room or timeslot has changed since the given ETag was issued.
      */
     @GetMapping("")
-    public ResponseEntity<List<Talk>> getAllTalks(
+    public ResponseEntity<List<TalkSummaryDTO>> getAllTalks(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        WebRequest request
     ) {
         LOG.debug("REST request to get a page of Talks");
-        Page<Talk> page;
-        if (eagerload) {
-            page = talkService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = talkService.findAll(pageable);
+        return getAllTalkSummaries(pageable, request);
+    }
+
+    /**
+     * {@code GET  /talks/summaries} : get all the talks as summaries.
+     * <p>
+     * Room and timeslot are loaded in the same statement and the abstract is left out.
+     *
+     * @param pageable the pagination information.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of talk summaries in body,
+     * or with status {@code 304 (Not Modified)} if no talk, room or timeslot has changed since the given ETag was issued.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<TalkSummaryDTO>> getAllTalkSummaries(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get a page of Talk summaries");
+        String eTag = entityVersionService.getETag(Talk.class, Room.class, Timeslot.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
         }
+        Page<TalkSummaryDTO> page = talkService.findAllSummaries(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).headers(headers).body(page.getContent());
     }
 
     /**
-     * {@code GET  /talks/:id} : get the "id" talk.
+     * {@code GET  /talks?after=:cursor} : get the talks as summaries following a cursor, ordered by id.
+     * <p>
+     * Unlike {@code GET  /talks}, no total count is computed, and deep pages are as cheap as the first one.
+     *
+     * @param after the opaque cursor from the {@code next} link of the previous page, empty to start with the first talk.
+     * @param size the page size.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of talk summaries in body, with the cursor of the next
+     * page in the {@code Link} header, or with status {@code 304 (Not Modified)} if no talk, room or timeslot has changed since the
+     * given ETag was issued.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<TalkSummaryDTO>> getTalksAfter(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get Talks after : {}", after);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME);
+        KeysetPaginationUtil.checkSize(size, ENTITY_NAME);
+        String eTag = entityVersionService.getETag(Talk.class, Room.class, Timeslot.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        // Read one more talk than requested to know whether there is a next page
+        List<TalkSummaryDTO> talks = talkService.findAllSummariesAfter(afterId, size + 1);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            talks,
+            size,
+            TalkSummaryDTO::getId
+        );
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).headers(headers).body(KeysetPaginationUtil.content(talks, size));
+    }
+
+    /**
+     * {@code GET  /talks/export} : export all the talks with their room and timeslot, ordered by id.
+     * <p>
+     * Talks are written to the response while they are read from the database, so the export runs in constant memory.
+     *
+     * @param format {@code ndjson} for one JSON talk per line, or {@code csv}.
+     * @param response the response the talks are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/export")
+    public void exportTalks(@RequestParam(name = "format", defaultValue = "ndjson") String format, HttpServletResponse response)
+        throws IOException {
+        LOG.debug("REST request to export Talks as {}", format);
+        switch (format) {
+            case "ndjson" -> {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                OutputStream out = response.getOutputStream();
+                exportTalks(talk -> {
+                    exportWriter.writeValue(out, talk);
+                    out.write('\n');
+                });
+                out.flush();
+            }
+            case "csv" -> {
+                response.setContentType(TEXT_CSV_VALUE + ";charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"talks.csv\"");
+                Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+                out.write("id,title,speaker,abstract_text,room_id,room_name,timeslot_id,timeslot_start,timeslot_end\r\n");
+                exportTalks(talk -> {
+                    out.write(String.valueOf(talk.getId()));
+                    out.write(',');
+                    out.write(csvField(talk.getTitle()));
+                    out.write(',');
+                    out.write(csvField(talk.getSpeaker()));
+                    out.write(',');
+                    out.write(csvField(talk.getAbstractText()));
+                    out.write(',');
+                    out.write(String.valueOf(talk.getRoom().getId()));
+                    out.write(',');
+                    out.write(csvField(talk.getRoom().getName()));
+                    out.write(',');
+                    out.write(String.valueOf(talk.getTimeslot().getId()));
+                    out.write(',');
+                    out.write(String.valueOf(talk.getTimeslot().getStart()));
+                    out.write(',');
+                    out.write(String.valueOf(talk.getTimeslot().getEnd()));
+                    out.write("\r\n");
+                });
+                out.flush();
+            }
+            default -> throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+    }
+
+    private void exportTalks(TalkExporter exporter) throws IOException {
+        try {
+            talkService.exportAll(talk -> {
+                try {
+                    exporter.export(talk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Quote a CSV field as described in RFC 4180 when it needs it.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface TalkExporter {
+        void export(Talk talk) throws IOException;
+    }
+
+    /**
+     * {@code GET  /talks/:id} : get the "id" talk, with its abstract, room and timeslot.
      *
      * @param id the id of the talk to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the talk, or with status {@code 404 (Not Found)}.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the talk, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if no talk, room or timeslot has changed since the given ETag was issued.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Talk> getTalk(@PathVariable("id") Long id) {
+    public ResponseEntity<TalkDetailDTO> getTalk(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get Talk : {}", id);
-        Optional<Talk> talk = talkService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(talk);
+        String eTag = entityVersionService.getETag(Talk.class, Room.class, Timeslot.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        Optional<TalkDetailDTO> talk = talkService.findOne(id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(REVALIDATE);
+        return ResponseUtil.wrapOrNotFound(talk, headers);
     }
 
     /**
@@ -183,4 +423,33 @@ public class TalkResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code PUT  /talks/:id/attendance} : attend the "id" talk as the current user, who is then notified when it moves.
+     *
+     * @param id the id of the talk to attend.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)} if the talk
+     * or the current user does not exist.
+     */
+    @PutMapping("/{id}/attendance")
+    public ResponseEntity<Void> attendTalk(@PathVariable("id") Long id) {
+        LOG.debug("REST request to attend Talk : {}", id);
+        if (!talkService.attend(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code DELETE  /talks/:id/attendance} : stop attending the "id" talk as the current user.
+     *
+     * @param id the id of the talk to leave.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/{id}/attendance")
+    public ResponseEntity<Void> leaveTalk(@PathVariable("id") Long id) {
+        LOG.debug("REST request to leave Talk : {}", id);
+        talkService.leave(id);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -2,8 +2,11 @@ package de.xares.conference.web.rest;
 
 import de.xares.conference.domain.Timeslot;
 import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.service.EntityVersionService;
 import de.xares.conference.service.TimeslotService;
+import de.xares.conference.service.dto.TimeslotDTO;
 import de.xares.conference.web.rest.errors.BadRequestAlertException;
+import de.xares.conference.web.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -16,9 +19,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +41,11 @@ public class TimeslotResource {
 
     private static final String ENTITY_NAME = "timeslot";
 
+    /**
+     * Lets clients keep {@code GET} responses, but only use them after a conditional request answered with {@code 304}.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +53,16 @@ public class TimeslotResource {
 
     private final TimeslotRepository timeslotRepository;
 
-    public TimeslotResource(TimeslotService timeslotService, TimeslotRepository timeslotRepository) {
+    private final EntityVersionService entityVersionService;
+
+    public TimeslotResource(
+        TimeslotService timeslotService,
+        TimeslotRepository timeslotRepository,
+        EntityVersionService entityVersionService
+    ) {
         this.timeslotService = timeslotService;
         this.timeslotRepository = timeslotRepository;
+        this.entityVersionService = entityVersionService;
     }
 
     /**
@@ -139,27 +157,81 @@ public class TimeslotResource {
      * {@code GET  /timeslots} : get all the timeslots.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of timeslots in body.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of timeslots in body,
+     * or with status {@code 304 (Not Modified)} if no timeslot has changed since the given ETag was issued.
      */
     @GetMapping("")
-    public ResponseEntity<List<Timeslot>> getAllTimeslots(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<TimeslotDTO>> getAllTimeslots(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        WebRequest request
+    ) {
         LOG.debug("REST request to get a page of Timeslots");
-        Page<Timeslot> page = timeslotService.findAll(pageable);
+        String eTag = entityVersionService.getETag(Timeslot.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        Page<TimeslotDTO> page = timeslotService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /timeslots?after=:cursor} : get the timeslots following a cursor, ordered by id.
+     * <p>
+     * Unlike {@code GET  /timeslots}, no total count is computed, and deep pages are as cheap as the first one.
+     *
+     * @param after the opaque cursor from the {@code next} link of the previous page, empty to start with the first timeslot.
+     * @param size the page size.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of timeslots in body, with the cursor of the next
+     * page in the {@code Link} header, or with status {@code 304 (Not Modified)} if no timeslot has changed since the given ETag
+     * was issued.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<TimeslotDTO>> getTimeslotsAfter(
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get Timeslots after : {}", after);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME);
+        KeysetPaginationUtil.checkSize(size, ENTITY_NAME);
+        String eTag = entityVersionService.getETag(Timeslot.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        // Read one more timeslot than requested to know whether there is a next page
+        List<TimeslotDTO> timeslots = timeslotService.findAllAfter(afterId, size + 1);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            timeslots,
+            size,
+            TimeslotDTO::getId
+        );
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).headers(headers).body(KeysetPaginationUtil.content(timeslots, size));
     }
 
     /**
      * {@code GET  /timeslots/:id} : get the "id" timeslot.
      *
      * @param id the id of the timeslot to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the timeslot, or with status {@code 404 (Not Found)}.
+     * @param request the current request, checked for a matching {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the timeslot, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if no timeslot has changed since the given ETag was issued.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Timeslot> getTimeslot(@PathVariable("id") Long id) {
+    public ResponseEntity<TimeslotDTO> getTimeslot(@PathVariable("id") Long id, WebRequest request) {
         LOG.debug("REST request to get Timeslot : {}", id);
-        Optional<Timeslot> timeslot = timeslotService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(timeslot);
+        String eTag = entityVersionService.getETag(Timeslot.class);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        Optional<TimeslotDTO> timeslot = timeslotService.findOne(id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(REVALIDATE);
+        return ResponseUtil.wrapOrNotFound(timeslot, headers);
     }
 
     /**
@@ -0,0 +1,27 @@
+package de.xares.conference.web.rest.errors;
+
+import de.xares.conference.service.ScheduleConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class ScheduleConflictAlertException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ScheduleConflictAlertException(ScheduleConflictException conflict) {
+        super(
+            HttpStatus.CONFLICT,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.CONFLICT.value())
+                .withType(ErrorConstants.SCHEDULE_CONFLICT_TYPE)
+                .withTitle(conflict.getMessage())
+                .withProperty("message", "error.scheduleconflict")
+                .withProperty("params", conflict.getEntityName())
+                .withProperty("conflicts", conflict.getConflictingIds())
+                .build(),
+            conflict
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package de.xares.conference.web.sse;
+
+import de.xares.conference.service.ScheduleChangedEvent;
+import java.util.Locale;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes the committed writes of talks, rooms and timeslots to all the clients, including those of the other instances.
+ * <p>
+ * Events are named after the entity type, {@code talk}, {@code room} or {@code timeslot}, and carry a
+ * {@link ScheduleChange}. Clients fetch what they show of the entity again, or reload it all when the id is {@code null}.
+ */
+@Component
+public class ScheduleChangePublisher {
+
+    /**
+     * A write of an entity, the id is {@code null} when several entities of the type were written at once.
+     */
+    public record ScheduleChange(Long id, ScheduleChangedEvent.Action action) {}
+
+    private final SseBroadcaster broadcaster;
+
+    public ScheduleChangePublisher(SseBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        broadcaster.broadcast(
+            event.getEntityType().getSimpleName().toLowerCase(Locale.ROOT),
+            new ScheduleChange(event.getEntityId(), event.getAction())
+        );
+    }
+}
@@ -0,0 +1,380 @@
+package de.xares.conference.web.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.xares.conference.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes events to the clients connected through Server-Sent Events.
+ * <p>
+ * An event is serialized once, then offered to the buffer of every client without waiting on any of them. Buffers are
+ * written to the connections by a pool of {@code writerThreads}, one writer per client at a time. A client more than
+ * {@code bufferSize} events behind is too slow to keep up and is disconnected, it then reconnects and reloads what it shows.
+ * <p>
+ * Writes block, and a client that stopped reading blocks them until the socket write timeout of the server. A client
+ * blocking a write for more than {@code writeTimeout} is disconnected as well, and a spare writer is added to the pool
+ * until the blocked write fails, so that stalled clients never hold up the others. Disconnected clients are completed
+ * without flushing their response, which would block on them too.
+ * <p>
+ * A comment is sent to every client each {@code heartbeatInterval}, so that closed connections are noticed and idle ones
+ * are not closed by proxies.
+ */
+@Component
+public class SseBroadcaster implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    public static final String CLIENTS_METER_NAME = "sse.clients";
+    public static final String EVENTS_METER_NAME = "sse.events";
+    public static final String EVICTIONS_METER_NAME = "sse.evictions";
+
+    /**
+     * Sent on connection, so that the response starts before the first event.
+     */
+    private static final Set<DataWithMediaType> CONNECTED = SseEmitter.event().comment("connected").build();
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    /**
+     * Ends the response of a disconnected client, which Spring MVC does without writing anything more.
+     */
+    private static final AsyncRequestNotUsableException DISCONNECTED = new AsyncRequestNotUsableException("Disconnected");
+
+    /**
+     * A connected client and the events not written to it yet.
+     */
+    private final class Client {
+
+        private final SseEmitter emitter;
+
+        private final String login;
+
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        /**
+         * Whether a spare writer was added for the write in progress.
+         */
+        private final AtomicBoolean stalled = new AtomicBoolean();
+
+        /**
+         * The {@link System#nanoTime()} at which the write in progress started, zero when not writing.
+         */
+        private volatile long writeStarted;
+
+        private volatile boolean closed;
+
+        private Client(SseEmitter emitter, String login) {
+            this.emitter = emitter;
+            this.login = login;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(Set<DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                evict(this);
+                return;
+            }
+            if (writing.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::write);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    writing.set(false);
+                }
+            }
+        }
+
+        private void write() {
+            do {
+                Set<DataWithMediaType> event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    writeStarted = System.nanoTime();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        LOG.debug("Disconnecting client {}: {}", login, e.getMessage());
+                        remove(this);
+                        return;
+                    } finally {
+                        writeStarted = 0;
+                        if (stalled.compareAndSet(true, false)) {
+                            resizeWriters(-1);
+                        }
+                    }
+                }
+                writing.set(false);
+                // An event offered after the buffer was found empty, but before writing was reset, is written now
+            } while (!closed && !buffer.isEmpty() && writing.compareAndSet(false, true));
+        }
+
+        private boolean isStalled(long now) {
+            long started = writeStarted;
+            return started != 0 && now - started > writeTimeoutNanos;
+        }
+
+        /**
+         * Replace the writer blocked on this client, which is disconnected.
+         */
+        private void stall() {
+            if (!stalled.compareAndSet(false, true)) {
+                return;
+            }
+            resizeWriters(1);
+            // The write may have ended before the spare writer was added
+            if (writeStarted == 0 && stalled.compareAndSet(true, false)) {
+                resizeWriters(-1);
+            }
+            if (remove(this)) {
+                evictionsCounter.increment();
+                LOG.debug("Disconnected client {}, blocking a write for more than {} ms", login, writeTimeoutNanos / 1_000_000);
+                emitter.completeWithError(DISCONNECTED);
+            }
+        }
+    }
+
+    private final int bufferSize;
+
+    private final int writerThreads;
+
+    private final long writeTimeoutNanos;
+
+    private final long timeoutMillis;
+
+    private final long heartbeatIntervalMillis;
+
+    private final ObjectWriter objectWriter;
+
+    private final ThreadPoolExecutor writers;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    private final Counter eventsCounter;
+
+    private final Counter evictionsCounter;
+
+    private int stalledWrites;
+
+    private volatile boolean running;
+
+    private Thread heartbeat;
+
+    public SseBroadcaster(ApplicationProperties applicationProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        ApplicationProperties.Stream properties = applicationProperties.getStream();
+        this.bufferSize = Math.max(1, properties.getBufferSize());
+        this.writeTimeoutNanos = properties.getWriteTimeout().toNanos();
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.heartbeatIntervalMillis = properties.getHeartbeatInterval().toMillis();
+        // An event is written on a single data line
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sse-writer-");
+        threadFactory.setDaemon(true);
+        this.writerThreads = Math.max(1, properties.getWriterThreads());
+        // At most one task per client is queued
+        this.writers = new ThreadPoolExecutor(
+            writerThreads,
+            writerThreads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory
+        );
+        Gauge.builder(CLIENTS_METER_NAME, clients, Set::size)
+            .description("Clients connected through Server-Sent Events")
+            .register(meterRegistry);
+        this.eventsCounter = Counter.builder(EVENTS_METER_NAME)
+            .description("Events pushed through Server-Sent Events, per event and not per client")
+            .register(meterRegistry);
+        this.evictionsCounter = Counter.builder(EVICTIONS_METER_NAME)
+            .description("Clients disconnected for falling too far behind")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        heartbeat = new Thread(this::watch, "sse-heartbeat");
+        heartbeat.setDaemon(true);
+        heartbeat.start();
+    }
+
+    /**
+     * Disconnect all the clients, so that they reconnect to another instance.
+     */
+    @Override
+    public void destroy() {
+        running = false;
+        heartbeat.interrupt();
+        for (Client client : clients) {
+            if (remove(client)) {
+                complete(client);
+            }
+        }
+        writers.shutdown();
+    }
+
+    /**
+     * Connect a client.
+     *
+     * @param login the login of the user, or {@code null} for an anonymous client.
+     * @return the emitter to return from the request handler.
+     */
+    public SseEmitter connect(String login) {
+        return connect(login, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter connect(String login, SseEmitter emitter) {
+        Client client = new Client(emitter, login);
+        emitter.onCompletion(() -> remove(client));
+        emitter.onError(error -> remove(client));
+        clients.add(client);
+        client.offer(CONNECTED);
+        LOG.debug("Connected client {}, {} clients", login, clients.size());
+        return emitter;
+    }
+
+    /**
+     * Push an event to all the clients.
+     *
+     * @param name the name of the event.
+     * @param data the data of the event, serialized to JSON.
+     */
+    public void broadcast(String name, Object data) {
+        Set<DataWithMediaType> event = serialize(name, data);
+        if (event == null) {
+            return;
+        }
+        for (Client client : clients) {
+            client.offer(event);
+        }
+        eventsCounter.increment();
+    }
+
+    /**
+     * Push an event to the clients of some users, with data of each user.
+     *
+     * @param name the name of the event.
+     * @param dataByLogin the data of the event, serialized to JSON, by login of the users.
+     */
+    public void send(String name, Map<String, ?> dataByLogin) {
+        Map<String, Set<DataWithMediaType>> events = new HashMap<>();
+        for (Client client : clients) {
+            if (client.login != null && dataByLogin.containsKey(client.login)) {
+                Set<DataWithMediaType> event = events.computeIfAbsent(client.login, login -> serialize(name, dataByLogin.get(login)));
+                if (event != null) {
+                    client.offer(event);
+                }
+            }
+        }
+        eventsCounter.increment(events.size());
+    }
+
+    /**
+     * @return the number of connected clients.
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    private Set<DataWithMediaType> serialize(String name, Object data) {
+        try {
+            return SseEmitter.event().name(name).data(objectWriter.writeValueAsString(data)).build();
+        } catch (JsonProcessingException e) {
+            LOG.warn("Could not serialize the {} event: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void evict(Client client) {
+        if (remove(client)) {
+            evictionsCounter.increment();
+            LOG.debug("Disconnected client {}, more than {} events behind", client.login, bufferSize);
+            client.emitter.completeWithError(DISCONNECTED);
+        }
+    }
+
+    private void complete(Client client) {
+        if (client.writeStarted == 0) {
+            client.emitter.complete();
+        } else {
+            // Completing flushes the response, which would wait for the write in progress
+            client.emitter.completeWithError(DISCONNECTED);
+        }
+    }
+
+    private boolean remove(Client client) {
+        client.closed = true;
+        client.buffer.clear();
+        return clients.remove(client);
+    }
+
+    private synchronized void resizeWriters(int delta) {
+        stalledWrites += delta;
+        int size = writerThreads + Math.max(0, stalledWrites);
+        if (size > writers.getMaximumPoolSize()) {
+            writers.setMaximumPoolSize(size);
+            writers.setCorePoolSize(size);
+        } else {
+            writers.setCorePoolSize(size);
+            writers.setMaximumPoolSize(size);
+        }
+    }
+
+    /**
+     * Disconnect the clients blocking a write, and send the heartbeats.
+     */
+    private void watch() {
+        long checkIntervalMillis = Math.max(1, Math.min(heartbeatIntervalMillis, writeTimeoutNanos / 2_000_000));
+        long nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        while (running) {
+            try {
+                Thread.sleep(checkIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.nanoTime();
+            boolean beat = now - nextHeartbeat >= 0;
+            if (beat) {
+                nextHeartbeat = now + TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+            }
+            for (Client client : clients) {
+                if (client.isStalled(now)) {
+                    client.stall();
+                } else if (beat) {
+                    client.offer(HEARTBEAT);
+                }
+            }
+        }
+    }
+}
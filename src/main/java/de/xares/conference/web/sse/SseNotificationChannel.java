@@ -0,0 +1,31 @@
+package de.xares.conference.web.sse;
+
+import de.xares.conference.service.notification.AttendeeDigest;
+import de.xares.conference.service.notification.AttendeeNotificationChannel;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes the digests to the connected clients of their attendees, as {@code talk-moved} events carrying the moves.
+ * Attendees who are not connected only get the other channels.
+ */
+@Component
+public class SseNotificationChannel implements AttendeeNotificationChannel {
+
+    public static final String EVENT_NAME = "talk-moved";
+
+    private final SseBroadcaster broadcaster;
+
+    public SseNotificationChannel(SseBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public void send(List<AttendeeDigest> digests) {
+        Map<String, Object> movesByLogin = new HashMap<>();
+        digests.forEach(digest -> movesByLogin.put(digest.attendee().getLogin(), digest.moves()));
+        broadcaster.send(EVENT_NAME, movesByLogin);
+    }
+}
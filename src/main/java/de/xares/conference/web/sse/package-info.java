@@ -0,0 +1,4 @@
+/**
+ * Server-Sent Events pushed to the clients.
+ */
+package de.xares.conference.web.sse;
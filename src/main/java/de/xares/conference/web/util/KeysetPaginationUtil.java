@@ -0,0 +1,111 @@
+package de.xares.conference.web.util;
+
+import de.xares.conference.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset (seek) pagination.
+ * <p>
+ * Clients pass an opaque {@code after} cursor instead of a page number. A page is read by seeking past the last id of the
+ * previous one, so deep pages cost as much as the first and no {@code count(*)} query is needed. The next cursor is
+ * returned in a {@code Link} header, like the links of {@link tech.jhipster.web.util.PaginationUtil}.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 2000;
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode a cursor received from a client.
+     *
+     * @param cursor the cursor, empty to start with the first entity.
+     * @param entityName the name of the paginated entity, used in the error.
+     * @return the id to seek past, or {@code null} to start with the first entity.
+     * @throws BadRequestAlertException if the cursor was not issued by {@link #encodeCursor(Long)}.
+     */
+    public static Long decodeCursor(String cursor, String entityName) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Check the requested page size.
+     *
+     * @param size the requested size.
+     * @param entityName the name of the paginated entity, used in the error.
+     * @return the size.
+     * @throws BadRequestAlertException if the size is not between 1 and {@link #MAX_SIZE}.
+     */
+    public static int checkSize(int size, String entityName) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestAlertException("Invalid page size", entityName, "sizeinvalid");
+        }
+        return size;
+    }
+
+    /**
+     * Trim a page read with one extra entity and generate its {@code Link} header.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param entities up to {@code size + 1} entities, ordered by id; the extra one only tells that there is a next page.
+     * @param size the page size.
+     * @param idExtractor gives the id of an entity.
+     * @param <T> the type of the entities.
+     * @return the headers, with a {@code next} link if there are more entities.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        List<T> entities,
+        int size,
+        Function<T, Long> idExtractor
+    ) {
+        StringBuilder link = new StringBuilder();
+        if (entities.size() > size) {
+            String next = uriBuilder
+                .replaceQueryParam(AFTER_PARAMETER, encodeCursor(idExtractor.apply(entities.get(size - 1))))
+                .replaceQueryParam("size", size)
+                .toUriString();
+            link.append(String.format(HEADER_LINK_FORMAT, next, "next")).append(",");
+        }
+        String first = uriBuilder.replaceQueryParam(AFTER_PARAMETER, "").replaceQueryParam("size", size).toUriString();
+        link.append(String.format(HEADER_LINK_FORMAT, first, "first"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Get the entities of a page read with one extra entity.
+     *
+     * @param entities up to {@code size + 1} entities.
+     * @param size the page size.
+     * @param <T> the type of the entities.
+     * @return at most {@code size} entities.
+     */
+    public static <T> List<T> content(List<T> entities, int size) {
+        return entities.size() > size ? entities.subList(0, size) : entities;
+    }
+}
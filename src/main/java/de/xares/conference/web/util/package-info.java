@@ -0,0 +1,4 @@
+/**
+ * Utility classes for REST responses.
+ */
+package de.xares.conference.web.util;
@@ -21,7 +21,7 @@ const apiUrl = 'api/rooms';
 export const getEntities = createAsyncThunk(
   'room/fetch_entity_list',
   async ({ page, size, sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+    const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
     return axios.get<IRoom[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -38,9 +38,8 @@ export const getEntity = createAsyncThunk(
 
 export const createEntity = createAsyncThunk(
   'room/create_entity',
-  async (entity: IRoom, thunkAPI) => {
+  async (entity: IRoom) => {
     const result = await axios.post<IRoom>(apiUrl, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -48,9 +47,8 @@ export const createEntity = createAsyncThunk(
 
 export const updateEntity = createAsyncThunk(
   'room/update_entity',
-  async (entity: IRoom, thunkAPI) => {
+  async (entity: IRoom) => {
     const result = await axios.put<IRoom>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -58,9 +56,8 @@ export const updateEntity = createAsyncThunk(
 
 export const partialUpdateEntity = createAsyncThunk(
   'room/partial_update_entity',
-  async (entity: IRoom, thunkAPI) => {
+  async (entity: IRoom) => {
     const result = await axios.patch<IRoom>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -68,15 +65,24 @@ export const partialUpdateEntity = createAsyncThunk(
 
 export const deleteEntity = createAsyncThunk(
   'room/delete_entity',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}`;
     const result = await axios.delete<IRoom>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
 );
 
+// Refreshes an entity of the list, once the schedule stream told it changed
+export const refreshListedEntity = createAsyncThunk(
+  'room/refresh_listed_entity',
+  async (id: string | number) => {
+    const requestUrl = `${apiUrl}/${id}`;
+    return axios.get<IRoom>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
 // slice
 
 export const RoomSlice = createEntitySlice({
@@ -88,6 +94,10 @@ export const RoomSlice = createEntitySlice({
         state.loading = false;
         state.entity = action.payload.data;
       })
+      .addCase(refreshListedEntity.fulfilled, (state, action) => {
+        const refreshed = action.payload.data;
+        state.entities = state.entities.map(listed => (listed.id === refreshed.id ? refreshed : listed));
+      })
       .addCase(deleteEntity.fulfilled, state => {
         state.updating = false;
         state.updateSuccess = true;
@@ -7,8 +7,9 @@ import { faSort, faSortDown, faSortUp } from '@fortawesome/free-solid-svg-icons'
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
 import { overridePaginationStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
+import { useScheduleStream } from 'app/shared/util/schedule-stream';
 
-import { getEntities } from './room.reducer';
+import { getEntities, refreshListedEntity } from './room.reducer';
 
 export const Room = () => {
   const dispatch = useAppDispatch();
@@ -34,6 +35,18 @@ export const Room = () => {
     );
   };
 
+  // Listed rooms are refreshed in place, the page is reloaded when rooms are added or deleted
+  useScheduleStream(({ entity, id, action }) => {
+    if (entity !== 'room') {
+      return;
+    }
+    if (action === 'SAVED' && id !== null && roomList.some(room => room.id === id)) {
+      dispatch(refreshListedEntity(id));
+    } else {
+      getAllEntities();
+    }
+  });
+
   const sortEntities = () => {
     getAllEntities();
     const endURL = `?page=${paginationState.activePage}&sort=${paginationState.sort},${paginationState.order}`;
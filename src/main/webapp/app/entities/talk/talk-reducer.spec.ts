@@ -4,8 +4,17 @@ import { configureStore } from '@reduxjs/toolkit';
 import sinon from 'sinon';
 
 import { EntityState } from 'app/shared/reducers/reducer.utils';
-import { ITalk, defaultValue } from 'app/shared/model/talk.model';
-import reducer, { createEntity, deleteEntity, getEntities, getEntity, partialUpdateEntity, reset, updateEntity } from './talk.reducer';
+import { ITalk, ITalkSummary, defaultValue } from 'app/shared/model/talk.model';
+import reducer, {
+  createEntity,
+  deleteEntity,
+  getEntities,
+  getEntity,
+  partialUpdateEntity,
+  refreshListedEntity,
+  reset,
+  updateEntity,
+} from './talk.reducer';
 
 describe('Entities reducer tests', () => {
   function isEmpty(element): boolean {
@@ -152,6 +161,52 @@ describe('Entities reducer tests', () => {
       });
     });
 
+    it('should merge a refreshed talk into the listed talks', () => {
+      const listed: ITalkSummary[] = [
+        { id: 1, title: 'Talk 1', speaker: 'Speaker 1', roomId: 1, roomName: 'Room 1' },
+        { id: 2, title: 'Talk 2', speaker: 'Speaker 2', roomId: 1, roomName: 'Room 1' },
+      ];
+      const payload = {
+        data: {
+          id: 2,
+          title: 'Talk 2 moved',
+          speaker: 'Speaker 2',
+          room: { id: 3, name: 'Room 3' },
+          timeslot: { id: 4, start: '2026-10-17T09:00:00Z', end: '2026-10-17T09:45:00Z' },
+        },
+      };
+      const state = { ...initialState, entities: listed, totalItems: 2 };
+
+      const toTest = reducer(state, { type: refreshListedEntity.fulfilled.type, payload });
+
+      expect(toTest).toEqual({
+        ...state,
+        entities: [
+          listed[0],
+          {
+            id: 2,
+            title: 'Talk 2 moved',
+            speaker: 'Speaker 2',
+            roomId: 3,
+            roomName: 'Room 3',
+            timeslotId: 4,
+            timeslotStart: '2026-10-17T09:00:00Z',
+            timeslotEnd: '2026-10-17T09:45:00Z',
+          },
+        ],
+      });
+      expect(toTest.entities[0]).toBe(listed[0]);
+    });
+
+    it('should not list a refreshed talk that was not listed', () => {
+      const listed: ITalkSummary[] = [{ id: 1, title: 'Talk 1', speaker: 'Speaker 1' }];
+      const state = { ...initialState, entities: listed, totalItems: 1 };
+
+      const toTest = reducer(state, { type: refreshListedEntity.fulfilled.type, payload: { data: { id: 2, title: 'Talk 2' } } });
+
+      expect(toTest.entities).toEqual(listed);
+    });
+
     it('should delete entity', () => {
       const payload = 'fake payload';
       const toTest = reducer(undefined, {
@@ -203,6 +258,16 @@ describe('Entities reducer tests', () => {
       expect(getEntity.fulfilled.match(result)).toBe(true);
     });
 
+    it('dispatches REFRESH_LISTED_TALK actions', async () => {
+      const arg = 42666;
+
+      const result = await refreshListedEntity(arg)(dispatch, getState, extra);
+
+      const pendingAction = dispatch.mock.calls[0][0];
+      expect(pendingAction.meta.requestStatus).toBe('pending');
+      expect(refreshListedEntity.fulfilled.match(result)).toBe(true);
+    });
+
     it('dispatches CREATE_TALK actions', async () => {
       const arg = { id: 14477 };
 
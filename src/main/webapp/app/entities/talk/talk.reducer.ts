@@ -2,7 +2,7 @@ import axios from 'axios';
 import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
-import { ITalk, defaultValue } from 'app/shared/model/talk.model';
+import { ITalk, ITalkSummary, defaultValue } from 'app/shared/model/talk.model';
 
 const initialState: EntityState<ITalk> = {
   loading: false,
@@ -21,8 +21,8 @@ const apiUrl = 'api/talks';
 export const getEntities = createAsyncThunk(
   'talk/fetch_entity_list',
   async ({ page, size, sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
-    return axios.get<ITalk[]>(requestUrl);
+    const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+    return axios.get<ITalkSummary[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
@@ -38,9 +38,8 @@ export const getEntity = createAsyncThunk(
 
 export const createEntity = createAsyncThunk(
   'talk/create_entity',
-  async (entity: ITalk, thunkAPI) => {
+  async (entity: ITalk) => {
     const result = await axios.post<ITalk>(apiUrl, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -48,9 +47,8 @@ export const createEntity = createAsyncThunk(
 
 export const updateEntity = createAsyncThunk(
   'talk/update_entity',
-  async (entity: ITalk, thunkAPI) => {
+  async (entity: ITalk) => {
     const result = await axios.put<ITalk>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -58,9 +56,8 @@ export const updateEntity = createAsyncThunk(
 
 export const partialUpdateEntity = createAsyncThunk(
   'talk/partial_update_entity',
-  async (entity: ITalk, thunkAPI) => {
+  async (entity: ITalk) => {
     const result = await axios.patch<ITalk>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -68,15 +65,35 @@ export const partialUpdateEntity = createAsyncThunk(
 
 export const deleteEntity = createAsyncThunk(
   'talk/delete_entity',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}`;
     const result = await axios.delete<ITalk>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
 );
 
+// Refreshes an entity of the list, once the schedule stream told it changed
+export const refreshListedEntity = createAsyncThunk(
+  'talk/refresh_listed_entity',
+  async (id: string | number) => {
+    const requestUrl = `${apiUrl}/${id}`;
+    return axios.get<ITalk>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
+const toSummary = ({ id, title, speaker, room, timeslot }: ITalk): ITalkSummary => ({
+  id,
+  title,
+  speaker,
+  roomId: room?.id,
+  roomName: room?.name,
+  timeslotId: timeslot?.id,
+  timeslotStart: timeslot?.start,
+  timeslotEnd: timeslot?.end,
+});
+
 // slice
 
 export const TalkSlice = createEntitySlice({
@@ -88,6 +105,10 @@ export const TalkSlice = createEntitySlice({
         state.loading = false;
         state.entity = action.payload.data;
       })
+      .addCase(refreshListedEntity.fulfilled, (state, action) => {
+        const refreshed = toSummary(action.payload.data);
+        state.entities = state.entities.map(listed => (listed.id === refreshed.id ? refreshed : listed));
+      })
       .addCase(deleteEntity.fulfilled, state => {
         state.updating = false;
         state.updateSuccess = true;
@@ -7,8 +7,10 @@ import { faSort, faSortDown, faSortUp, faInfoCircle } from '@fortawesome/free-so
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
 import { overridePaginationStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
+import { ITalkSummary } from 'app/shared/model/talk.model';
+import { useScheduleStream } from 'app/shared/util/schedule-stream';
 
-import { getEntities } from './talk.reducer';
+import { getEntities, refreshListedEntity } from './talk.reducer';
 
 export const Talk = () => {
   const dispatch = useAppDispatch();
@@ -20,7 +22,7 @@ export const Talk = () => {
     overridePaginationStateWithQueryParams(getPaginationState(pageLocation, ITEMS_PER_PAGE, 'id'), pageLocation.search),
   );
 
-  const talkList = useAppSelector(state => state.talk.entities);
+  const talkList: ReadonlyArray<ITalkSummary> = useAppSelector(state => state.talk.entities);
   const loading = useAppSelector(state => state.talk.loading);
   const totalItems = useAppSelector(state => state.talk.totalItems);
 
@@ -34,6 +36,15 @@ export const Talk = () => {
     );
   };
 
+  // Listed talks are refreshed in place, the page is reloaded when talks are added or deleted, or their rooms or timeslots change
+  useScheduleStream(({ entity, id, action }) => {
+    if (entity === 'talk' && action === 'SAVED' && id !== null && talkList.some(talk => talk.id === id)) {
+      dispatch(refreshListedEntity(id));
+    } else if (entity === 'talk' || id === null || talkList.some(talk => (entity === 'room' ? talk.roomId : talk.timeslotId) === id)) {
+      getAllEntities();
+    }
+  });
+
   const sortEntities = () => {
     getAllEntities();
     const endURL = `?page=${paginationState.activePage}&sort=${paginationState.sort},${paginationState.order}`;
@@ -144,24 +155,17 @@ export const Talk = () => {
                     <div className="mb-2">
                       <strong>Speaker:</strong> {talk.speaker}
                     </div>
-                    {talk.abstractText && (
-                      <div className="mb-2">
-                        <p className="card-text text-truncate" title={talk.abstractText}>
-                          {talk.abstractText}
-                        </p>
-                      </div>
-                    )}
                     <div className="mb-2">
-                      <strong>Room:</strong> {talk.room ? <Link to={`/room/${talk.room.id}`}>{talk.room.name}</Link> : 'Not assigned'}
+                      <strong>Room:</strong> {talk.roomId ? <Link to={`/room/${talk.roomId}`}>{talk.roomName}</Link> : 'Not assigned'}
                     </div>
                     <div className="mb-3">
                       <strong>Time:</strong>{' '}
-                      {talk.timeslot ? (
-                        <Link to={`/timeslot/${talk.timeslot.id}`}>
-                          {`${new Date(talk.timeslot.start).toLocaleDateString('de-DE', { day: '2-digit', month: '2-digit' })} ${new Date(
-                            talk.timeslot.start,
+                      {talk.timeslotId ? (
+                        <Link to={`/timeslot/${talk.timeslotId}`}>
+                          {`${new Date(talk.timeslotStart).toLocaleDateString('de-DE', { day: '2-digit', month: '2-digit' })} ${new Date(
+                            talk.timeslotStart,
                           ).toLocaleTimeString('de-DE', { hour: '2-digit', minute: '2-digit' })} - ${new Date(
-                            talk.timeslot.end,
+                            talk.timeslotEnd,
                           ).toLocaleTimeString('de-DE', { hour: '2-digit', minute: '2-digit' })}`}
                         </Link>
                       ) : (
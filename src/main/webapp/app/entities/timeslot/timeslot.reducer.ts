@@ -21,7 +21,7 @@ const apiUrl = 'api/timeslots';
 export const getEntities = createAsyncThunk(
   'timeslot/fetch_entity_list',
   async ({ page, size, sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+    const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
     return axios.get<ITimeslot[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -38,9 +38,8 @@ export const getEntity = createAsyncThunk(
 
 export const createEntity = createAsyncThunk(
   'timeslot/create_entity',
-  async (entity: ITimeslot, thunkAPI) => {
+  async (entity: ITimeslot) => {
     const result = await axios.post<ITimeslot>(apiUrl, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -48,9 +47,8 @@ export const createEntity = createAsyncThunk(
 
 export const updateEntity = createAsyncThunk(
   'timeslot/update_entity',
-  async (entity: ITimeslot, thunkAPI) => {
+  async (entity: ITimeslot) => {
     const result = await axios.put<ITimeslot>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -58,9 +56,8 @@ export const updateEntity = createAsyncThunk(
 
 export const partialUpdateEntity = createAsyncThunk(
   'timeslot/partial_update_entity',
-  async (entity: ITimeslot, thunkAPI) => {
+  async (entity: ITimeslot) => {
     const result = await axios.patch<ITimeslot>(`${apiUrl}/${entity.id}`, cleanEntity(entity));
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
@@ -68,15 +65,24 @@ export const partialUpdateEntity = createAsyncThunk(
 
 export const deleteEntity = createAsyncThunk(
   'timeslot/delete_entity',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}`;
     const result = await axios.delete<ITimeslot>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
     return result;
   },
   { serializeError: serializeAxiosError },
 );
 
+// Refreshes an entity of the list, once the schedule stream told it changed
+export const refreshListedEntity = createAsyncThunk(
+  'timeslot/refresh_listed_entity',
+  async (id: string | number) => {
+    const requestUrl = `${apiUrl}/${id}`;
+    return axios.get<ITimeslot>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
 // slice
 
 export const TimeslotSlice = createEntitySlice({
@@ -88,6 +94,10 @@ export const TimeslotSlice = createEntitySlice({
         state.loading = false;
         state.entity = action.payload.data;
       })
+      .addCase(refreshListedEntity.fulfilled, (state, action) => {
+        const refreshed = action.payload.data;
+        state.entities = state.entities.map(listed => (listed.id === refreshed.id ? refreshed : listed));
+      })
       .addCase(deleteEntity.fulfilled, state => {
         state.updating = false;
         state.updateSuccess = true;
@@ -8,8 +8,9 @@ import { APP_DATE_FORMAT } from 'app/config/constants';
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
 import { overridePaginationStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
+import { useScheduleStream } from 'app/shared/util/schedule-stream';
 
-import { getEntities } from './timeslot.reducer';
+import { getEntities, refreshListedEntity } from './timeslot.reducer';
 
 export const Timeslot = () => {
   const dispatch = useAppDispatch();
@@ -35,6 +36,18 @@ export const Timeslot = () => {
     );
   };
 
+  // Listed timeslots are refreshed in place, the page is reloaded when timeslots are added or deleted
+  useScheduleStream(({ entity, id, action }) => {
+    if (entity !== 'timeslot') {
+      return;
+    }
+    if (action === 'SAVED' && id !== null && timeslotList.some(timeslot => timeslot.id === id)) {
+      dispatch(refreshListedEntity(id));
+    } else {
+      getAllEntities();
+    }
+  });
+
   const sortEntities = () => {
     getAllEntities();
     const endURL = `?page=${paginationState.activePage}&sort=${paginationState.sort},${paginationState.order}`;
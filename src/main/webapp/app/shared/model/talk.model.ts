@@ -1,3 +1,4 @@
+import dayjs from 'dayjs';
 import { IRoom } from 'app/shared/model/room.model';
 import { ITimeslot } from 'app/shared/model/timeslot.model';
 
@@ -10,4 +11,18 @@ export interface ITalk {
   timeslot?: ITimeslot;
 }
 
+/**
+ * A talk as listed by `GET api/talks`, without its abstract and with the room and timeslot flattened.
+ */
+export interface ITalkSummary {
+  id?: number;
+  title?: string;
+  speaker?: string;
+  roomId?: number;
+  roomName?: string;
+  timeslotId?: number;
+  timeslotStart?: dayjs.Dayjs;
+  timeslotEnd?: dayjs.Dayjs;
+}
+
 export const defaultValue: Readonly<ITalk> = {};
@@ -0,0 +1,196 @@
+import { Storage } from 'react-jhipster';
+
+import { IScheduleChange, subscribeToSchedule } from './schedule-stream';
+
+describe('Schedule stream', () => {
+  const encoder = new TextEncoder();
+
+  /**
+   * A response to `fetch` whose body is written by the test, failing once the request is aborted.
+   */
+  const openStream = (signal: AbortSignal) => {
+    let controller: ReadableStreamDefaultController<Uint8Array>;
+    const body = new ReadableStream<Uint8Array>({
+      start(streamController) {
+        controller = streamController;
+      },
+    });
+    signal.addEventListener('abort', () => controller.error(new Error('aborted')), { once: true });
+    return {
+      response: new Response(body, { status: 200, headers: { 'Content-Type': 'text/event-stream' } }),
+      write: (text: string) => controller.enqueue(encoder.encode(text)),
+      close: () => controller.close(),
+    };
+  };
+
+  let streams: ReturnType<typeof openStream>[];
+  let fetchTimes: number[];
+  let respond: (init: RequestInit) => Promise<Response>;
+  let changes: IScheduleChange[];
+  let unsubscribe: () => void;
+
+  const respondWith = (response: (init: RequestInit) => Promise<Response>) => {
+    respond = response;
+  };
+
+  const subscribe = () => {
+    unsubscribe = subscribeToSchedule(change => changes.push(change));
+  };
+
+  beforeEach(() => {
+    jest.useFakeTimers({ doNotFake: ['nextTick', 'queueMicrotask', 'setImmediate'] });
+    streams = [];
+    fetchTimes = [];
+    changes = [];
+    unsubscribe = null;
+    respondWith(init => {
+      const stream = openStream(init.signal);
+      streams.push(stream);
+      return Promise.resolve(stream.response);
+    });
+    global.fetch = jest.fn((input: RequestInfo, init: RequestInit) => {
+      fetchTimes.push(Date.now());
+      return respond(init);
+    });
+  });
+
+  afterEach(() => {
+    unsubscribe?.();
+    Storage.session.remove('jhi-authenticationToken');
+    jest.useRealTimers();
+  });
+
+  describe('Events', () => {
+    it('should notify the changes of the schedule', async () => {
+      subscribe();
+      await jest.advanceTimersByTimeAsync(0);
+
+      streams[0].write(':connected\n\n');
+      streams[0].write('event: talk\ndata: {"id":1,"action":"SAVED"}\n\nevent: room\ndata: {"id":2,"action":"DELETED"}\n\n');
+      await jest.advanceTimersByTimeAsync(0);
+
+      expect(changes).toEqual([
+        { entity: 'talk', id: 1, action: 'SAVED' },
+        { entity: 'room', id: 2, action: 'DELETED' },
+      ]);
+    });
+
+    it('should notify events split across chunks once complete', async () => {
+      subscribe();
+      await jest.advanceTimersByTimeAsync(0);
+
+      streams[0].write('event: timesl');
+      streams[0].write('ot\ndata: {"id":null,');
+      await jest.advanceTimersByTimeAsync(0);
+      expect(changes).toEqual([]);
+
+      streams[0].write('"action":"SAVED"}\n\n');
+      await jest.advanceTimersByTimeAsync(0);
+      expect(changes).toEqual([{ entity: 'timeslot', id: null, action: 'SAVED' }]);
+    });
+
+    it('should ignore the events of other entities', async () => {
+      subscribe();
+      await jest.advanceTimersByTimeAsync(0);
+
+      streams[0].write('event: speaker\ndata: {"id":1,"action":"SAVED"}\n\ndata: {"id":2,"action":"SAVED"}\n\n');
+      await jest.advanceTimersByTimeAsync(0);
+
+      expect(changes).toEqual([]);
+    });
+
+    it('should send the token of the user', async () => {
+      Storage.session.set('jhi-authenticationToken', 'token');
+
+      subscribe();
+      await jest.advanceTimersByTimeAsync(0);
+
+      expect(global.fetch).toHaveBeenCalledWith(
+        'api/schedule/stream',
+        expect.objectContaining({ headers: { Accept: 'text/event-stream', Authorization: 'Bearer token' } }),
+      );
+    });
+
+    it('should share the connection and close it once nobody listens', async () => {
+      subscribe();
+      const other: IScheduleChange[] = [];
+      const unsubscribeOther = subscribeToSchedule(change => other.push(change));
+      await jest.advanceTimersByTimeAsync(0);
+
+      streams[0].write('event: talk\ndata: {"id":1,"action":"SAVED"}\n\n');
+      await jest.advanceTimersByTimeAsync(0);
+      unsubscribe();
+      unsubscribe = null;
+      unsubscribeOther();
+      await jest.advanceTimersByTimeAsync(60 * 1000);
+
+      expect(global.fetch).toHaveBeenCalledTimes(1);
+      expect(changes).toEqual([{ entity: 'talk', id: 1, action: 'SAVED' }]);
+      expect(other).toEqual(changes);
+    });
+  });
+
+  describe('Reconnection', () => {
+    it('should reconnect with a delay doubling up to 30 seconds', async () => {
+      respondWith(() => Promise.reject(new Error('offline')));
+
+      subscribe();
+      await jest.advanceTimersByTimeAsync(2 * 60 * 1000);
+
+      const delays = fetchTimes.slice(1).map((time, i) => time - fetchTimes[i]);
+      expect(delays.slice(0, 7)).toEqual([1000, 2000, 4000, 8000, 16000, 30000, 30000]);
+      expect(changes).toEqual([]);
+    });
+
+    it('should reconnect when the server answers with an error', async () => {
+      respondWith(() => Promise.resolve(new Response(null, { status: 503 })));
+
+      subscribe();
+      await jest.advanceTimersByTimeAsync(3000);
+
+      expect(global.fetch).toHaveBeenCalledTimes(3);
+    });
+
+    it('should reset the delay once connected', async () => {
+      let failures = 3;
+      respondWith(init => {
+        if (failures-- > 0) {
+          return Promise.reject(new Error('offline'));
+        }
+        const stream = openStream(init.signal);
+        streams.push(stream);
+        stream.close();
+        return Promise.resolve(stream.response);
+      });
+
+      subscribe();
+      await jest.advanceTimersByTimeAsync(1000 + 2000 + 4000 + 1000);
+
+      const delays = fetchTimes.slice(1).map((time, i) => time - fetchTimes[i]);
+      expect(delays).toEqual([1000, 2000, 4000, 1000]);
+    });
+
+    it('should tell every entity changed once reconnected', async () => {
+      subscribe();
+      await jest.advanceTimersByTimeAsync(0);
+
+      streams[0].write('event: talk\ndata: {"id":1,"action":"SAVED"}\n\n');
+      streams[0].close();
+      await jest.advanceTimersByTimeAsync(0);
+      expect(changes).toEqual([{ entity: 'talk', id: 1, action: 'SAVED' }]);
+
+      await jest.advanceTimersByTimeAsync(1000);
+      expect(global.fetch).toHaveBeenCalledTimes(2);
+      streams[1].write('event: room\ndata: {"id":2,"action":"SAVED"}\n\n');
+      await jest.advanceTimersByTimeAsync(0);
+
+      expect(changes).toEqual([
+        { entity: 'talk', id: 1, action: 'SAVED' },
+        { entity: 'talk', id: null, action: 'SAVED' },
+        { entity: 'room', id: null, action: 'SAVED' },
+        { entity: 'timeslot', id: null, action: 'SAVED' },
+        { entity: 'room', id: 2, action: 'SAVED' },
+      ]);
+    });
+  });
+});
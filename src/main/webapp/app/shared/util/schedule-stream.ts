@@ -0,0 +1,141 @@
+import { useEffect, useRef } from 'react';
+import { Storage } from 'react-jhipster';
+
+export type ScheduleEntity = 'talk' | 'room' | 'timeslot';
+
+/**
+ * A committed write pushed by `GET api/schedule/stream`, the id is null when several entities were written at once.
+ */
+export interface IScheduleChange {
+  entity: ScheduleEntity;
+  id: number | null;
+  action: 'SAVED' | 'DELETED';
+}
+
+type ScheduleListener = (change: IScheduleChange) => void;
+
+const streamUrl = 'api/schedule/stream';
+
+const ENTITIES: ReadonlyArray<ScheduleEntity> = ['talk', 'room', 'timeslot'];
+
+const INITIAL_RECONNECT_DELAY = 1000;
+const MAX_RECONNECT_DELAY = 30 * 1000;
+
+const listeners = new Set<ScheduleListener>();
+
+let connection: AbortController | null = null;
+
+const notify = (change: IScheduleChange) => listeners.forEach(listener => listener(change));
+
+const handleEvent = (block: string) => {
+  let name = 'message';
+  let data = '';
+  block.split('\n').forEach(line => {
+    if (line.startsWith('event:')) {
+      name = line.substring('event:'.length).trim();
+    } else if (line.startsWith('data:')) {
+      data += line.substring('data:'.length).trim();
+    }
+  });
+  const entity = ENTITIES.find(candidate => candidate === name);
+  if (entity && data) {
+    const { id, action } = JSON.parse(data);
+    notify({ entity, id, action });
+  }
+};
+
+/**
+ * Read the stream until it ends. EventSource cannot send the token, so the stream is read with fetch.
+ */
+const readStream = async (signal: AbortSignal, onOpen: () => void) => {
+  const token = Storage.local.get('jhi-authenticationToken') || Storage.session.get('jhi-authenticationToken');
+  const response = await fetch(`${SERVER_API_URL}${streamUrl}`, {
+    headers: token ? { Accept: 'text/event-stream', Authorization: `Bearer ${token}` } : { Accept: 'text/event-stream' },
+    signal,
+  });
+  if (!response.ok || !response.body) {
+    throw new Error(`Schedule stream answered ${response.status}`);
+  }
+  onOpen();
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += value;
+    let end = buffer.indexOf('\n\n');
+    while (end >= 0) {
+      handleEvent(buffer.substring(0, end));
+      buffer = buffer.substring(end + 2);
+      end = buffer.indexOf('\n\n');
+    }
+  }
+};
+
+const wait = (delay: number, signal: AbortSignal) =>
+  new Promise<void>(resolve => {
+    const timeout = setTimeout(resolve, delay);
+    signal.addEventListener(
+      'abort',
+      () => {
+        clearTimeout(timeout);
+        resolve();
+      },
+      { once: true },
+    );
+  });
+
+/**
+ * Keep the stream open, reconnecting with a growing delay. Changes missed while disconnected, or because the server
+ * disconnected a client too slow to keep up, are made up for by telling the listeners that everything changed.
+ */
+const keepStreaming = async (signal: AbortSignal) => {
+  let delay = INITIAL_RECONNECT_DELAY;
+  let reconnecting = false;
+  while (!signal.aborted) {
+    try {
+      await readStream(signal, () => {
+        delay = INITIAL_RECONNECT_DELAY;
+        if (reconnecting) {
+          ENTITIES.forEach(entity => notify({ entity, id: null, action: 'SAVED' }));
+        }
+      });
+    } catch {
+      // Reconnected below, unless aborted
+    }
+    reconnecting = true;
+    await wait(delay, signal);
+    delay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
+  }
+};
+
+/**
+ * Listen to the changes of the schedule, over a single connection shared by all the listeners.
+ *
+ * @return a function to stop listening, the connection is closed once nobody listens.
+ */
+export const subscribeToSchedule = (listener: ScheduleListener) => {
+  listeners.add(listener);
+  if (!connection) {
+    connection = new AbortController();
+    keepStreaming(connection.signal);
+  }
+  return () => {
+    listeners.delete(listener);
+    if (listeners.size === 0 && connection) {
+      connection.abort();
+      connection = null;
+    }
+  };
+};
+
+/**
+ * Listen to the changes of the schedule while the component is mounted, always calling the latest listener.
+ */
+export const useScheduleStream = (listener: ScheduleListener) => {
+  const latestListener = useRef(listener);
+  latestListener.current = listener;
+  useEffect(() => subscribeToSchedule(change => latestListener.current(change)), []);
+};
@@ -0,0 +1,81 @@
+package de.xares.conference.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void assertThatCacheTiersAreConfiguredPerCache() {
+        ResourcePools talkPools = resourcePools(Talk.class.getName());
+        assertThat(talkPools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(talkPools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(talkPools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(8L * 1024 * 1024);
+        assertThat(talkPools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(talkPools.getPoolForResource(ResourceType.Core.DISK)).isNull();
+
+        ResourcePools roomPools = resourcePools(Room.class.getName());
+        assertThat(roomPools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+    }
+
+    @Test
+    void assertThatEntriesBeyondTheHeapAreKeptOffHeapAndCounted() {
+        Cache<Object, Object> cache = cacheManager.getCache(Talk.class.getName());
+        double hits = talkCacheGets("hit");
+        double misses = talkCacheGets("miss");
+        try {
+            for (long id = 1; id <= 100; id++) {
+                cache.put(id, new Talk().id(id).title("Talk " + id));
+            }
+            for (long id = 1; id <= 100; id++) {
+                assertThat(cache.get(id)).isInstanceOf(Talk.class).extracting("title").isEqualTo("Talk " + id);
+            }
+            assertThat(cache.get(0L)).isNull();
+
+            assertThat(talkCacheGets("hit")).isEqualTo(hits + 100);
+            assertThat(talkCacheGets("miss")).isEqualTo(misses + 1);
+            assertThat(meterRegistry.find("cache.evictions").tag("cache", Talk.class.getName()).functionCounter()).isNotNull();
+        } finally {
+            cache.clear();
+        }
+    }
+
+    private ResourcePools resourcePools(String cacheName) {
+        Eh107Configuration<?, ?> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+    }
+
+    private double talkCacheGets(String result) {
+        FunctionCounter counter = meterRegistry
+            .find("cache.gets")
+            .tags("cache", Talk.class.getName(), "result", result)
+            .functionCounter();
+        assertThat(counter).isNotNull();
+        return counter.count();
+    }
+}
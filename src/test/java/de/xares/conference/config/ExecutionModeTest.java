@@ -0,0 +1,98 @@
+package de.xares.conference.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Test class for the threads set up by {@link AsyncConfiguration} and {@link UndertowConfiguration} in each
+ * {@link ApplicationProperties.Execution.Mode}.
+ */
+class ExecutionModeTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner().withUserConfiguration(
+        UndertowConfiguration.class,
+        AsyncConfiguration.class,
+        PropertiesConfiguration.class
+    );
+
+    @Test
+    void platformModeUsesPools() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed().doesNotHaveBean(UndertowConfiguration.class).doesNotHaveBean("taskScheduler");
+            assertThat(context.getBeansOfType(WebServerFactoryCustomizer.class)).isEmpty();
+
+            Executor taskExecutor = context.getBean("taskExecutor", Executor.class);
+            assertThat(ReflectionTestUtils.getField(taskExecutor, "executor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(runsOnVirtualThread(taskExecutor)).isFalse();
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualModeUsesVirtualThreads() {
+        contextRunner
+            .withPropertyValues("application.execution.mode=virtual")
+            .run(context -> {
+                assertThat(context).hasNotFailed().getBean("taskScheduler").isInstanceOf(SimpleAsyncTaskScheduler.class);
+
+                Executor taskExecutor = context.getBean("taskExecutor", Executor.class);
+                assertThat(ReflectionTestUtils.getField(taskExecutor, "executor")).isInstanceOf(SimpleAsyncTaskExecutor.class);
+                assertThat(runsOnVirtualThread(taskExecutor)).isTrue();
+
+                UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory();
+                @SuppressWarnings("unchecked")
+                WebServerFactoryCustomizer<UndertowServletWebServerFactory> customizer = context.getBean(
+                    "virtualThreadUndertowCustomizer",
+                    WebServerFactoryCustomizer.class
+                );
+                customizer.customize(factory);
+                DeploymentInfo deploymentInfo = new DeploymentInfo();
+                factory.getDeploymentInfoCustomizers().forEach(infoCustomizer -> infoCustomizer.customize(deploymentInfo));
+                assertThat(deploymentInfo.getExecutor()).isInstanceOf(VirtualThreadTaskExecutor.class);
+                assertThat(deploymentInfo.getAsyncExecutor()).isSameAs(deploymentInfo.getExecutor());
+                assertThat(runsOnVirtualThread(deploymentInfo.getExecutor())).isTrue();
+            });
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void virtualModeRequiresJava21() {
+        contextRunner
+            .withPropertyValues("application.execution.mode=virtual")
+            .run(context -> {
+                assertThat(context).hasFailed();
+                assertThat(ExceptionUtils.getRootCause(context.getStartupFailure())).hasMessageContaining("requires Java 21");
+            });
+    }
+
+    private static boolean runsOnVirtualThread(Executor executor) throws Exception {
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        executor.execute(() -> thread.complete(Thread.currentThread()));
+        // Thread.isVirtual() is not part of the Java 17 API the build targets
+        return "java.lang.VirtualThread".equals(thread.get(5, TimeUnit.SECONDS).getClass().getName());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties({ ApplicationProperties.class, TaskExecutionProperties.class, TaskSchedulingProperties.class })
+    static class PropertiesConfiguration {}
+}
@@ -0,0 +1,201 @@
+package de.xares.conference.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link TalkRepository} queries and the indexes they rely on.
+ * <p>
+ * Plans are checked with {@code EXPLAIN} of the SQL Hibernate generates for the queries, on the database the tests run
+ * against: H2 by default, PostgreSQL in a container with the {@code prod} profile. Test tables are tiny, so sequential scans
+ * are disabled on PostgreSQL to see which indexes the planner can use.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "de.xares.conference.repository.TalkRepositoryIT$RecordingStatementInspector"
+)
+class TalkRepositoryIT {
+
+    private static final Instant NINE = Instant.parse("2025-03-01T09:00:00Z");
+    private static final Instant TEN = Instant.parse("2025-03-01T10:00:00Z");
+    private static final Instant ELEVEN = Instant.parse("2025-03-01T11:00:00Z");
+
+    @Autowired
+    private TalkRepository talkRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Room firstRoom;
+
+    private Room secondRoom;
+
+    private Talk firstTalk;
+
+    private Talk secondTalk;
+
+    private Talk otherRoomTalk;
+
+    @BeforeEach
+    public void initTest() {
+        firstRoom = new Room().name("first");
+        secondRoom = new Room().name("second");
+        em.persist(firstRoom);
+        em.persist(secondRoom);
+        Timeslot nine = new Timeslot().start(NINE).end(TEN);
+        Timeslot ten = new Timeslot().start(TEN).end(ELEVEN);
+        em.persist(nine);
+        em.persist(ten);
+        secondTalk = createTalk(firstRoom, ten);
+        firstTalk = createTalk(firstRoom, nine);
+        otherRoomTalk = createTalk(secondRoom, ten);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findByRoomId() {
+        List<Talk> talks = talkRepository.findByRoomId(firstRoom.getId());
+
+        assertThat(talks).extracting(Talk::getId).containsExactly(firstTalk.getId(), secondTalk.getId());
+        assertThat(talks.get(0).getTimeslot().getStart()).isEqualTo(NINE);
+    }
+
+    @Test
+    void findByTimeslotStartBetween() {
+        List<Talk> talks = talkRepository.findByTimeslotStartBetween(TEN, ELEVEN);
+
+        assertThat(talks).extracting(Talk::getId).containsExactlyInAnyOrder(secondTalk.getId(), otherRoomTalk.getId());
+        assertThat(talks).extracting(talk -> talk.getRoom().getName()).containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    void abstractIsOnlyReadWhenAccessed() {
+        Statistics statistics = startStatistics();
+        try {
+            List<Talk> talks = talkRepository.findByRoomId(firstRoom.getId());
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(talks.get(0).getAbstractText()).isEqualTo("abstract");
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void findOneWithEagerRelationshipsReadsTheAbstract() {
+        Statistics statistics = startStatistics();
+        try {
+            Talk talk = talkRepository.findOneWithEagerRelationships(firstTalk.getId()).orElseThrow();
+
+            assertThat(talk.getAbstractText()).isEqualTo("abstract");
+            assertThat(talk.getRoom().getName()).isEqualTo("first");
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void findByRoomIdReadsThroughAnIndex() {
+        String plan = explainGenerated(() -> talkRepository.findByRoomId(firstRoom.getId()), firstRoom.getId());
+
+        assertIndexScan(plan, "ux_talk__room_id__timeslot_id", "fk_talk__room_id_index");
+    }
+
+    @Test
+    void findByTimeslotStartBetweenReadsThroughIndexes() {
+        String plan = explainGenerated(
+            () -> talkRepository.findByTimeslotStartBetween(TEN, ELEVEN),
+            Timestamp.from(TEN),
+            Timestamp.from(ELEVEN)
+        );
+
+        assertThat(plan).contains("idx_timeslot__start");
+        assertIndexScan(plan, "idx_talk__timeslot_id__room_id", "fk_talk__timeslot_id_index");
+    }
+
+    private Talk createTalk(Room room, Timeslot timeslot) {
+        Talk talk = new Talk().title("title").speaker("speaker").abstractText("abstract").room(room).timeslot(timeslot);
+        em.persist(talk);
+        return talk;
+    }
+
+    private Statistics startStatistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private boolean isPostgreSql() {
+        return jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>) connection -> connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")
+        );
+    }
+
+    /**
+     * Run a query and explain the SQL statement it sent, with the given parameters.
+     */
+    private String explainGenerated(Runnable query, Object... parameters) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+        assertThat(statements).hasSize(1);
+        if (isPostgreSql()) {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+        }
+        return String.join("\n", jdbcTemplate.queryForList("explain " + statements.get(0), String.class, parameters)).toLowerCase(
+            Locale.ROOT
+        );
+    }
+
+    /**
+     * Check that a plan reads no table in full, and reads the talks through the expected index. H2 indexes foreign keys
+     * itself and prefers those narrower indexes to the ones of the changelog, which are there for PostgreSQL.
+     */
+    private void assertIndexScan(String plan, String postgreSqlIndexName, String h2IndexName) {
+        assertThat(plan).doesNotContain("seq scan", "tablescan");
+        assertThat(plan).contains(isPostgreSql() ? postgreSqlIndexName : h2IndexName);
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate, as they are sent to the database.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
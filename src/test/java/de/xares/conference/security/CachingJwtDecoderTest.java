@@ -0,0 +1,184 @@
+package de.xares.conference.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private Instant now;
+
+    private Clock clock;
+
+    /**
+     * Decodes tokens of the form {@code subject:expiry-in-seconds}, or fails for {@code invalid}.
+     */
+    private final JwtDecoder delegate = token -> {
+        delegateCalls.incrementAndGet();
+        if ("invalid".equals(token)) {
+            throw new BadJwtException("Invalid signature");
+        }
+        String[] parts = token.split(":");
+        Jwt.Builder jwt = Jwt.withTokenValue(token).header("alg", "HS512").subject(parts[0]).issuedAt(NOW);
+        if (parts.length > 1) {
+            jwt.expiresAt(NOW.plusSeconds(Long.parseLong(parts[1])));
+        }
+        return jwt.build();
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        now = NOW;
+        clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    void testSameTokenIsVerifiedOnce() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+
+        Jwt first = decoder.decode("admin:60");
+        Jwt second = decoder.decode("admin:60");
+
+        assertThat(second.getTokenValue()).isEqualTo("admin:60");
+        assertThat(second.getClaims()).isEqualTo(first.getClaims());
+        assertThat(second.getHeaders()).isEqualTo(first.getHeaders());
+        assertThat(second.getExpiresAt()).isEqualTo(first.getExpiresAt());
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(meterRegistry.get("security.authentication.token-cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.authentication.token-cache").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTokensAreNotKeptInMemory() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+
+        decoder.decode("admin:60");
+
+        Map<?, Jwt> cache = (Map<?, Jwt>) ReflectionTestUtils.getField(decoder, "cache");
+        assertThat(cache.values()).singleElement().extracting(Jwt::getTokenValue).isNotEqualTo("admin:60");
+    }
+
+    @Test
+    void testTokensDifferingInNonAsciiCharactersAreVerifiedSeparately() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+
+        Jwt first = decoder.decode("\u00e4dmin:60");
+        Jwt second = decoder.decode("\u00f6dmin:60");
+
+        assertThat(second.getSubject()).isEqualTo("\u00f6dmin").isNotEqualTo(first.getSubject());
+        assertThat(delegateCalls).hasValue(2);
+        assertThat(decoder.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testCachedTokenIsNotReturnedAfterItsExpiry() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+        decoder.decode("admin:60");
+
+        now = NOW.plusSeconds(60);
+        decoder.decode("admin:60");
+
+        assertThat(delegateCalls).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void testTokensWithoutExpiryAreNotCached() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+
+        decoder.decode("admin");
+        decoder.decode("admin");
+
+        assertThat(delegateCalls).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void testRejectedTokensAreNotCached() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("invalid"));
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("invalid"));
+
+        assertThat(delegateCalls).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, metersService, clock);
+
+        for (int i = 0; i < 100; i++) {
+            decoder.decode("user-" + i + ":60");
+            assertThat(decoder.size()).isLessThanOrEqualTo(10);
+        }
+        assertThat(meterRegistry.get("security.authentication.token-cache.size").gauge().value()).isEqualTo(decoder.size());
+    }
+
+    @Test
+    void testExpiredTokensAreEvictedFirst() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 2, metersService, clock);
+        decoder.decode("short:10");
+        decoder.decode("long:60");
+
+        now = NOW.plusSeconds(10);
+        decoder.decode("other:60");
+        decoder.decode("long:60");
+
+        assertThat(delegateCalls).hasValue(3);
+    }
+
+    @Test
+    void testZeroMaximumSizeDisablesCache() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 0, metersService, clock);
+
+        decoder.decode("admin:60");
+        decoder.decode("admin:60");
+
+        assertThat(delegateCalls).hasValue(2);
+    }
+}
@@ -7,8 +7,12 @@ import de.xares.conference.IntegrationTest;
 import de.xares.conference.domain.User;
 import de.xares.conference.repository.UserRepository;
 import de.xares.conference.service.UserService;
+import de.xares.conference.service.dto.AdminUserDTO;
+import jakarta.persistence.EntityManager;
 import java.util.Locale;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -42,6 +47,12 @@ class DomainUserDetailsServiceIT {
     @Qualifier("userDetailsService")
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private UnknownUserCache unknownUserCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
     public User getUserOne() {
         User userOne = new User();
         userOne.setLogin(USER_ONE_LOGIN);
@@ -133,4 +144,44 @@ class DomainUserDetailsServiceIT {
             domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatUnknownUserIsNotLookedUpAgain() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+                domainUserDetailsService.loadUserByUsername("test-user-unknown")
+            );
+            long statements = statistics.getPrepareStatementCount();
+            assertThat(statements).isPositive();
+
+            assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+                domainUserDetailsService.loadUserByUsername("Test-User-Unknown")
+            );
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+            unknownUserCache.evict("test-user-unknown");
+        }
+    }
+
+    @Test
+    void assertThatCreatedUserIsNoLongerUnknown() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername("test-user-created@localhost")
+        );
+
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("test-user-created");
+        userDTO.setEmail("test-user-created@localhost");
+        userDTO.setActivated(true);
+        userDTO.setLangKey("en");
+        userService.createUser(userDTO);
+
+        assertThat(domainUserDetailsService.loadUserByUsername("test-user-created@localhost").getUsername()).isEqualTo(
+            "test-user-created"
+        );
+    }
 }
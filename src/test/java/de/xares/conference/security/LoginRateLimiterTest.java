@@ -0,0 +1,175 @@
+package de.xares.conference.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LoginRateLimiter}.
+ */
+class LoginRateLimiterTest {
+
+    private static final Instant START = Instant.parse("2026-10-17T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.Security.LoginRateLimit properties;
+
+    private Instant now;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties.Security.LoginRateLimit();
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setAttemptsPerLogin(3);
+        properties.setAttemptsPerIp(5);
+        now = START;
+        clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    void testAttemptsAreLimitedPerLogin() {
+        LoginRateLimiter limiter = limiter();
+
+        assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("Admin", "10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire("ADMIN", "10.0.0.3")).isZero();
+
+        // The three attempts must first move to the previous window, then a third of it must slide out
+        assertThat(limiter.tryAcquire("admin", "10.0.0.4")).isEqualTo(80);
+        assertThat(limiter.tryAcquire("user", "10.0.0.4")).isZero();
+        assertThat(meterRegistry.get("security.authentication.rate-limited").tag("key", "login").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAttemptsAreLimitedPerIp() {
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user-" + i, "10.0.0.1")).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("user-5", "10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("user-5", "10.0.0.2")).isZero();
+        assertThat(meterRegistry.get("security.authentication.rate-limited").tag("key", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAttemptsRejectedForOneKeyDoNotCountAgainstTheOther() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user-" + i, "10.0.0.1");
+        }
+
+        // Rejected for the IP address, the targeted login keeps its attempts
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isPositive();
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("admin", "10.0.0.2")).isZero();
+        }
+
+        // Rejected for the login, the IP address keeps its attempts
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("admin", "10.0.0.3")).isPositive();
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user-" + i, "10.0.0.3")).isZero();
+        }
+    }
+
+    @Test
+    void testWindowSlides() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("admin", "10.0.0.1");
+        }
+
+        // Half of the previous window is still covered, so 1.5 attempts are counted
+        now = START.plusSeconds(90);
+        assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isZero();
+        long retryAfter = limiter.tryAcquire("admin", "10.0.0.1");
+        assertThat(retryAfter).isEqualTo(10);
+
+        now = now.plusSeconds(retryAfter);
+        assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isZero();
+
+        now = START.plusSeconds(300);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("admin", "10.0.0.1")).isZero();
+        }
+    }
+
+    @Test
+    void testTrackedKeysAreBounded() {
+        properties.setMaximumKeys(100);
+        properties.setAttemptsPerIp(10_000);
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("user-" + i, "10.0.0.1");
+        }
+
+        assertThat(meterRegistry.get("security.authentication.rate-limiter.size").gauge().value()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void testConcurrentAttemptsDoNotExceedLimit() throws Exception {
+        properties.setAttemptsPerLogin(100);
+        properties.setAttemptsPerIp(10_000);
+        LoginRateLimiter limiter = limiter();
+        AtomicInteger acquired = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 1_000; i++) {
+                executor.execute(() -> {
+                    if (limiter.tryAcquire("admin", "10.0.0.1") == 0) {
+                        acquired.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(acquired).hasValue(100);
+    }
+
+    private LoginRateLimiter limiter() {
+        return new LoginRateLimiter(properties, new SecurityMetersService(meterRegistry), clock);
+    }
+}
@@ -0,0 +1,121 @@
+package de.xares.conference.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link OffloadingPasswordEncoder}.
+ */
+class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private MeterRegistry meterRegistry;
+
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    /**
+     * Prefixes passwords with {@code hash:}, waiting for {@link #release} when asked to hash {@code slow}.
+     */
+    private final PasswordEncoder delegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if ("slow".contentEquals(rawPassword)) {
+                hashing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hash:" + rawPassword + ":" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.startsWith("hash:" + rawPassword + ":");
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return !encodedPassword.startsWith("hash:");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new OffloadingPasswordEncoder(delegate, 1, 1, new SecurityMetersService(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testHashingRunsOnDedicatedThreads() {
+        String hash = passwordEncoder.encode("secret");
+
+        assertThat(hash).startsWith("hash:secret:password-hashing-");
+        assertThat(passwordEncoder.matches("secret", hash)).isTrue();
+        assertThat(passwordEncoder.matches("other", hash)).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("legacy")).isTrue();
+        assertThat(meterRegistry.get("executor").tag("name", "password-hashing").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testHashingIsRejectedWhenThreadsAndQueueAreBusy() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("slow"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatExceptionOfType(PasswordHashingUnavailableException.class).isThrownBy(() -> passwordEncoder.encode("rejected"));
+        assertThat(meterRegistry.get("security.password-hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("hash:slow:");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("hash:queued:");
+    }
+
+    @Test
+    void testTasksHashInlineOnDedicatedThreads() throws Exception {
+        // With a single thread, hashing on another thread of the pool would wait for the task forever
+        CompletableFuture<String> hash = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("secret"));
+
+        assertThat(hash.get(10, TimeUnit.SECONDS)).startsWith("hash:secret:password-hashing-");
+    }
+
+    @Test
+    void testTasksAreRejectedWithoutWaitingWhenThreadsAndQueueAreBusy() throws Exception {
+        CompletableFuture<String> running = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("slow"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("queued"));
+
+        assertThatExceptionOfType(PasswordHashingUnavailableException.class).isThrownBy(() ->
+            passwordEncoder.supplyAsync(() -> passwordEncoder.encode("rejected"))
+        );
+        assertThat(meterRegistry.get("security.password-hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("hash:slow:");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("hash:queued:");
+    }
+}
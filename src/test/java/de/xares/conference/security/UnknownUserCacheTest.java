@@ -0,0 +1,118 @@
+package de.xares.conference.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link UnknownUserCache}.
+ */
+class UnknownUserCacheTest {
+
+    private static final Instant START = Instant.parse("2026-10-17T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.Security.UnknownUserCache properties;
+
+    private Instant now;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties.Security.UnknownUserCache();
+        properties.setTimeToLive(Duration.ofMinutes(1));
+        properties.setMaximumSize(10);
+        now = START;
+        clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+
+    private UnknownUserCache unknownUserCache() {
+        return new UnknownUserCache(properties, new SecurityMetersService(meterRegistry), clock);
+    }
+
+    @Test
+    void testUnknownLoginIsRememberedIgnoringCase() {
+        UnknownUserCache cache = unknownUserCache();
+        assertThat(cache.isUnknown("john")).isFalse();
+
+        cache.putUnknown("John");
+
+        assertThat(cache.isUnknown("JOHN")).isTrue();
+        assertThat(cache.isUnknown("jane")).isFalse();
+        assertThat(meterRegistry.get(SecurityMetersService.UNKNOWN_USER_CACHE_HITS_METER_NAME).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SecurityMetersService.UNKNOWN_USER_CACHE_SIZE_METER_NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownLoginExpires() {
+        UnknownUserCache cache = unknownUserCache();
+        cache.putUnknown("john");
+
+        now = START.plusSeconds(59);
+        assertThat(cache.isUnknown("john")).isTrue();
+
+        now = START.plusSeconds(60);
+        assertThat(cache.isUnknown("john")).isFalse();
+        assertThat(meterRegistry.get(SecurityMetersService.UNKNOWN_USER_CACHE_SIZE_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testEvictedLoginIsNoLongerUnknown() {
+        UnknownUserCache cache = unknownUserCache();
+        cache.putUnknown("john@localhost");
+
+        cache.evict("John@Localhost");
+        cache.evict(null);
+
+        assertThat(cache.isUnknown("john@localhost")).isFalse();
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        UnknownUserCache cache = unknownUserCache();
+        for (int i = 0; i < 100; i++) {
+            cache.putUnknown("user-" + i);
+        }
+
+        assertThat(meterRegistry.get(SecurityMetersService.UNKNOWN_USER_CACHE_SIZE_METER_NAME).gauge().value()).isLessThanOrEqualTo(10);
+        assertThat(cache.isUnknown("user-99")).isTrue();
+    }
+
+    @Test
+    void testZeroMaximumSizeDisablesCache() {
+        properties.setMaximumSize(0);
+        UnknownUserCache cache = unknownUserCache();
+
+        cache.putUnknown("john");
+
+        assertThat(cache.isUnknown("john")).isFalse();
+    }
+}
@@ -0,0 +1,142 @@
+package de.xares.conference.security;
+
+import static de.xares.conference.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import de.xares.conference.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Test class for the {@link VerifyingJwtDecoder}.
+ */
+class VerifyingJwtDecoderTest {
+
+    private static final SecretKey KEY = key("a-secret-of-at-least-sixty-four-bytes-used-to-sign-the-test-tokens");
+
+    private static final SecretKey OTHER_KEY = key("another-secret-of-at-least-sixty-four-bytes-used-to-sign-the-tokens");
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+
+    private MeterRegistry meterRegistry;
+
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(JWT_ALGORITHM).build();
+        JwtDecoder delegate = token -> {
+            delegateCalls.incrementAndGet();
+            return nimbusJwtDecoder.decode(token);
+        };
+        decoder = new VerifyingJwtDecoder(delegate, JWT_ALGORITHM, new SecurityMetersService(meterRegistry));
+    }
+
+    @Test
+    void testValidTokenIsDecoded() {
+        Jwt jwt = decoder.decode(token(KEY, JWT_ALGORITHM, Instant.now().plusSeconds(60)));
+
+        assertThat(jwt.getSubject()).isEqualTo("admin");
+        assertThat(invalidTokens()).isZero();
+    }
+
+    @Test
+    void testTokenWithoutThreeSegmentsIsRejectedBeforeVerification() {
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("header.payload"));
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("header.payload."));
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("he@der.payload.signature"));
+
+        assertThat(invalidTokens("malformed")).isEqualTo(3);
+        assertThat(delegateCalls).hasValue(0);
+    }
+
+    @Test
+    void testTokenWithUnreadableHeaderIsRejectedBeforeVerification() {
+        String token = token(KEY, JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token.substring(1)));
+
+        assertThat(invalidTokens("malformed")).isEqualTo(1);
+        assertThat(delegateCalls).hasValue(0);
+    }
+
+    @Test
+    void testTokenWithOtherAlgorithmIsRejectedBeforeVerification() {
+        String token = token(KEY, MacAlgorithm.HS256, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token));
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("a.b.c.d.e"));
+
+        assertThat(invalidTokens("unsupported")).isEqualTo(2);
+        assertThat(delegateCalls).hasValue(0);
+    }
+
+    @Test
+    void testExpiredTokenIsRejectedBeforeVerification() {
+        String token = token(OTHER_KEY, JWT_ALGORITHM, Instant.now().minusSeconds(600));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token)).withMessageStartingWith("Jwt expired at");
+
+        assertThat(invalidTokens("expired")).isEqualTo(1);
+        assertThat(delegateCalls).hasValue(0);
+    }
+
+    @Test
+    void testTokenExpiredWithinClockSkewIsVerified() {
+        decoder.decode(token(KEY, JWT_ALGORITHM, Instant.now().minusSeconds(30)));
+
+        assertThat(invalidTokens()).isZero();
+        assertThat(delegateCalls).hasValue(1);
+    }
+
+    @Test
+    void testTokenWithInvalidSignatureIsCountedByType() {
+        String token = token(OTHER_KEY, JWT_ALGORITHM, Instant.now().plusSeconds(60));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token));
+
+        assertThat(invalidTokens("invalid-signature")).isEqualTo(1);
+        assertThat(invalidTokens()).isEqualTo(1);
+        assertThat(delegateCalls).hasValue(1);
+    }
+
+    private double invalidTokens() {
+        return meterRegistry.get("security.authentication.invalid-tokens").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get("security.authentication.invalid-tokens").tag("cause", cause).counter().count();
+    }
+
+    private static String token(SecretKey key, MacAlgorithm algorithm, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder().issuedAt(expiresAt.minusSeconds(60)).expiresAt(expiresAt).subject("admin").build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims))
+            .getTokenValue();
+    }
+
+    private static SecretKey key(String secret) {
+        byte[] keyBytes = Base64.getEncoder().encode(secret.getBytes(StandardCharsets.UTF_8));
+        return new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+    }
+}
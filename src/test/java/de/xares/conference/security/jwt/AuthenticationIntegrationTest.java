@@ -1,9 +1,11 @@
 package de.xares.conference.security.jwt;
 
+import de.xares.conference.config.ApplicationProperties;
 import de.xares.conference.config.SecurityConfiguration;
 import de.xares.conference.config.SecurityJwtConfiguration;
 import de.xares.conference.config.WebConfigurer;
 import de.xares.conference.management.SecurityMetersService;
+import de.xares.conference.security.LoginRateLimiter;
 import de.xares.conference.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -21,11 +23,13 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
         AuthenticateController.class,
+        LoginRateLimiter.class,
         JwtAuthenticationTestUtils.class,
     }
 )
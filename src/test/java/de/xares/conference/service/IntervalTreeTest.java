@@ -0,0 +1,83 @@
+package de.xares.conference.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IntervalTree}.
+ */
+class IntervalTreeTest {
+
+    private static final Instant NINE = Instant.parse("2025-03-01T09:00:00Z");
+    private static final Instant TEN = Instant.parse("2025-03-01T10:00:00Z");
+    private static final Instant ELEVEN = Instant.parse("2025-03-01T11:00:00Z");
+
+    @Test
+    void testAdjacentIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, NINE, TEN);
+
+        assertThat(tree.findOverlapping(TEN, ELEVEN, null)).isEmpty();
+        assertThat(tree.findOverlapping(NINE.plusSeconds(1), ELEVEN, null)).containsExactly(1L);
+    }
+
+    @Test
+    void testIdenticalEmptyIntervalsOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, TEN, TEN);
+
+        assertThat(tree.findOverlapping(TEN, TEN, null)).containsExactly(1L);
+        assertThat(tree.findOverlapping(TEN, TEN, 1L)).isEmpty();
+        assertThat(tree.findOverlapping(NINE, TEN, null)).isEmpty();
+        assertThat(tree.findOverlapping(NINE, ELEVEN, null)).containsExactly(1L);
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, NINE, TEN);
+        tree.put(1L, TEN, ELEVEN);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.findOverlapping(NINE, TEN, null)).isEmpty();
+        assertThat(tree.remove(1L)).isTrue();
+        assertThat(tree.remove(1L)).isFalse();
+        assertThat(tree.findOverlapping(TEN, ELEVEN, null)).isEmpty();
+    }
+
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, Instant[]> intervals = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                assertThat(tree.remove(id)).isEqualTo(intervals.remove(id) != null);
+            } else {
+                Instant start = NINE.plusSeconds(60L * random.nextInt(1000));
+                Instant end = start.plusSeconds(60L * random.nextInt(120));
+                tree.put(id, start, end);
+                intervals.put(id, new Instant[] { start, end });
+            }
+
+            Instant start = NINE.plusSeconds(60L * random.nextInt(1000));
+            Instant end = start.plusSeconds(60L * random.nextInt(120));
+            List<Long> expected = new ArrayList<>();
+            intervals.forEach((key, interval) -> {
+                if (IntervalTree.overlaps(interval[0], interval[1], start, end)) {
+                    expected.add(key);
+                }
+            });
+            assertThat(tree.findOverlapping(start, end, null)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+    }
+}
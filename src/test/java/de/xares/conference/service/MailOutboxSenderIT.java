@@ -0,0 +1,174 @@
+package de.xares.conference.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.MailOutbox;
+import de.xares.conference.domain.enumeration.MailOutboxStatus;
+import de.xares.conference.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link MailOutboxSender}, sending to a {@link SmtpServerStandIn}.
+ */
+@IntegrationTest
+class MailOutboxSenderIT {
+
+    private static final SmtpServerStandIn SMTP_SERVER = startSmtpServer();
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxSender mailOutboxSender;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", SMTP_SERVER::getPort);
+    }
+
+    private static SmtpServerStandIn startSmtpServer() {
+        try {
+            return new SmtpServerStandIn();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @BeforeEach
+    void initTest() throws IOException {
+        mailOutboxRepository.deleteAll();
+        SMTP_SERVER.reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void queuedEmailsAreSentInOneBatchOverOneConnection() {
+        double sent = count(MailOutboxSender.SENT_METER_NAME);
+        for (int i = 0; i < 3; i++) {
+            mailService.sendEmail("attendee" + i + "@example.com", "Schedule changed", "Content " + i, false, false);
+        }
+
+        assertThat(mailOutboxSender.sendPending()).isEqualTo(3);
+
+        assertThat(SMTP_SERVER.getMessages())
+            .extracting(SmtpServerStandIn.ReceivedMessage::recipients)
+            .containsExactly(
+                List.of("attendee0@example.com"),
+                List.of("attendee1@example.com"),
+                List.of("attendee2@example.com")
+            );
+        assertThat(SMTP_SERVER.getMessages().get(0).data()).contains("Subject: Schedule changed", "Content 0");
+        assertThat(SMTP_SERVER.getConnections()).isEqualTo(1);
+        assertThat(mailOutboxRepository.count()).isZero();
+        assertThat(count(MailOutboxSender.SENT_METER_NAME) - sent).isEqualTo(3);
+        assertThat(meterRegistry.get(MailOutboxSender.PENDING_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void connectionIsReusedAcrossBatches() {
+        mailService.sendEmail("first@example.com", "First", "First", false, false);
+        mailOutboxSender.sendPending();
+        mailService.sendEmail("second@example.com", "Second", "Second", false, true);
+        mailOutboxSender.sendPending();
+
+        assertThat(SMTP_SERVER.getMessages()).hasSize(2);
+        assertThat(SMTP_SERVER.getConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedEmailIsRetriedWithBackoff() {
+        double failed = count(MailOutboxSender.FAILED_METER_NAME);
+        mailService.sendEmail("first@example.com", "Subject", "Content", false, false);
+        mailService.sendEmail("reject@example.com", "Subject", "Content", false, false);
+        mailService.sendEmail("last@example.com", "Subject", "Content", false, false);
+
+        assertThat(mailOutboxSender.sendPending()).isEqualTo(3);
+
+        assertThat(SMTP_SERVER.getMessages()).hasSize(2);
+        MailOutbox rejected = mailOutboxRepository.findAll().get(0);
+        assertThat(rejected.getRecipient()).isEqualTo("reject@example.com");
+        assertThat(rejected.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getLastError()).isNotBlank();
+        assertThat(rejected.getClaimedBy()).isNull();
+        assertThat(rejected.getNextAttemptAt()).isAfter(
+            Instant.now().plus(applicationProperties.getMail().getOutbox().getInitialBackoff()).minus(1, ChronoUnit.MINUTES)
+        );
+        assertThat(count(MailOutboxSender.FAILED_METER_NAME) - failed).isEqualTo(1);
+        assertThat(meterRegistry.get(MailOutboxSender.PENDING_METER_NAME).gauge().value()).isEqualTo(1);
+
+        // Not due yet
+        assertThat(mailOutboxSender.sendPending()).isZero();
+    }
+
+    @Test
+    void emailIsGivenUpAfterMaxAttempts() {
+        int maxAttempts = applicationProperties.getMail().getOutbox().getMaxAttempts();
+        mailService.sendEmail("reject@example.com", "Subject", "Content", false, false);
+        MailOutbox mail = mailOutboxRepository.findAll().get(0);
+        mail.setAttempts(maxAttempts - 1);
+        mailOutboxRepository.save(mail);
+
+        assertThat(mailOutboxSender.sendPending()).isEqualTo(1);
+
+        MailOutbox abandoned = mailOutboxRepository.findById(mail.getId()).orElseThrow();
+        assertThat(abandoned.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+        assertThat(abandoned.getAttempts()).isEqualTo(maxAttempts);
+        assertThat(mailOutboxSender.sendPending()).isZero();
+    }
+
+    @Test
+    void emailQueuedInARolledBackTransactionIsNotSent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            mailService.sendEmail("attendee@example.com", "Subject", "Content", false, false);
+            status.setRollbackOnly();
+        });
+
+        assertThat(mailOutboxSender.sendPending()).isZero();
+        assertThat(SMTP_SERVER.getMessages()).isEmpty();
+    }
+
+    @Test
+    void backoffIsDoubledUpToTheMaximum() {
+        ApplicationProperties.Mail.Outbox properties = applicationProperties.getMail().getOutbox();
+
+        assertThat(mailOutboxSender.backoff(1)).isEqualTo(properties.getInitialBackoff());
+        assertThat(mailOutboxSender.backoff(2)).isEqualTo(properties.getInitialBackoff().multipliedBy(2));
+        assertThat(mailOutboxSender.backoff(40)).isEqualTo(properties.getMaxBackoff());
+    }
+
+    private double count(String meterName) {
+        return meterRegistry.get(meterName).counter().count();
+    }
+}
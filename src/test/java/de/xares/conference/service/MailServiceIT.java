@@ -6,7 +6,10 @@ import static org.mockito.Mockito.*;
 
 import de.xares.conference.IntegrationTest;
 import de.xares.conference.config.Constants;
+import de.xares.conference.domain.MailOutbox;
 import de.xares.conference.domain.User;
+import de.xares.conference.domain.enumeration.MailOutboxStatus;
+import de.xares.conference.repository.MailOutboxRepository;
 import jakarta.mail.Multipart;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeBodyPart;
@@ -18,6 +21,10 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -26,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -55,8 +63,15 @@ class MailServiceIT {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private MailOutboxSender mailOutboxSender;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
     @BeforeEach
     public void setup() {
+        mailOutboxRepository.deleteAll();
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
         when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
     }
@@ -64,6 +79,7 @@ class MailServiceIT {
     @Test
     void testSendEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getSubject()).isEqualTo("testSubject");
@@ -77,6 +93,7 @@ class MailServiceIT {
     @Test
     void testSendHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getSubject()).isEqualTo("testSubject");
@@ -90,6 +107,7 @@ class MailServiceIT {
     @Test
     void testSendMultipartEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         MimeMultipart mp = (MimeMultipart) message.getContent();
@@ -107,6 +125,7 @@ class MailServiceIT {
     @Test
     void testSendMultipartHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         MimeMultipart mp = (MimeMultipart) message.getContent();
@@ -128,6 +147,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getSubject()).isEqualTo("test title");
@@ -144,6 +164,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendActivationEmail(user);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
@@ -159,6 +180,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendCreationEmail(user);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
@@ -174,6 +196,7 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendPasswordResetMail(user);
+        mailOutboxSender.sendPending();
         verify(javaMailSender).send(messageCaptor.capture());
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
@@ -182,14 +205,50 @@ class MailServiceIT {
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
+    @Test
+    void testSendBulk() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            User user = new User();
+            user.setLangKey(Constants.DEFAULT_LANGUAGE);
+            user.setLogin("attendee" + i);
+            user.setEmail("attendee" + i + "@example.com");
+            users.add(user);
+        }
+        User withoutEmail = new User();
+        withoutEmail.setLangKey(Constants.DEFAULT_LANGUAGE);
+        withoutEmail.setLogin("no-email");
+        users.add(60, withoutEmail);
+
+        mailService.sendBulk(users, new MailTemplate("mail/testEmail", "email.test.title"));
+
+        List<MailOutbox> mails = mailOutboxRepository.findAll(Sort.by("id"));
+        assertThat(mails)
+            .extracting(MailOutbox::getRecipient)
+            .containsExactlyElementsOf(users.stream().map(User::getEmail).filter(Objects::nonNull).toList());
+        assertThat(mails).allSatisfy(mail -> assertThat(mail.getSubject()).isEqualTo("test title"));
+        assertThat(mails.get(119).getContent()).isEqualToNormalizingNewlines(
+            "<html>test title, http://127.0.0.1:8080, attendee119</html>\n"
+        );
+
+        mailOutboxSender.sendPending();
+        verify(javaMailSender, times(50)).send(any(MimeMessage.class));
+    }
+
     @Test
     void testSendEmailWithException() {
         doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
         try {
             mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+            mailOutboxSender.sendPending();
         } catch (Exception e) {
             fail("Exception shouldn't have been thrown");
         }
+        assertThat(mailOutboxRepository.findAll()).singleElement().satisfies(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+            assertThat(mail.getAttempts()).isEqualTo(1);
+            assertThat(mail.getNextAttemptAt()).isAfter(Instant.now());
+        });
     }
 
     @Test
@@ -200,6 +259,7 @@ class MailServiceIT {
         for (String langKey : languages) {
             user.setLangKey(langKey);
             mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
+            mailOutboxSender.sendPending();
             verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
             MimeMessage message = messageCaptor.getValue();
 
@@ -0,0 +1,65 @@
+package de.xares.conference.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TalkSummaryProjection;
+import de.xares.conference.repository.TimeslotRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ScheduleConflictService}.
+ */
+class ScheduleConflictServiceTest {
+
+    private static final Instant NINE = Instant.parse("2026-10-17T09:00:00Z");
+
+    private static final Instant TEN = NINE.plusSeconds(3600);
+
+    private static final Long ROOM_ID = 1L;
+
+    private static final Long TALK_ID = 2L;
+
+    private TalkRepository talkRepository;
+
+    private ScheduleConflictService scheduleConflictService;
+
+    @BeforeEach
+    void setUp() {
+        talkRepository = mock(TalkRepository.class);
+        scheduleConflictService = new ScheduleConflictService(talkRepository, mock(TimeslotRepository.class));
+        Talk talk = new Talk().id(TALK_ID).room(new Room().id(ROOM_ID)).timeslot(new Timeslot().id(3L).start(NINE).end(TEN));
+        when(talkRepository.findById(TALK_ID)).thenReturn(Optional.of(talk));
+    }
+
+    @Test
+    void talkSavedDuringRebuildIsKept() {
+        TalkSummaryProjection summary = mock(TalkSummaryProjection.class);
+        when(summary.getId()).thenReturn(TALK_ID);
+        when(summary.getRoomId()).thenReturn(ROOM_ID);
+        when(summary.getTimeslotStart()).thenReturn(NINE);
+        when(summary.getTimeslotEnd()).thenReturn(TEN);
+        when(talkRepository.findAllSummaries())
+            .thenReturn(List.of())
+            .thenAnswer(invocation -> {
+                // Committed once the talks were read, without the saved talk
+                scheduleConflictService.onScheduleChanged(ScheduleChangedEvent.saved(Talk.class, TALK_ID));
+                return List.of();
+            })
+            .thenReturn(List.of(summary));
+        scheduleConflictService.rebuild();
+
+        scheduleConflictService.rebuild();
+
+        assertThat(scheduleConflictService.findTalkConflicts(null, ROOM_ID, NINE, TEN)).containsExactly(TALK_ID);
+        verify(talkRepository, times(3)).findAllSummaries();
+    }
+}
@@ -0,0 +1,162 @@
+package de.xares.conference.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.client.MockMvcClientHttpRequestFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Integration tests for {@link WarmupService}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "application.warmup.requests[0]=/api/rooms?page=0&size=20",
+        "application.warmup.requests[1]=/api/account",
+        "application.warmup.iterations=3",
+    }
+)
+class WarmupServiceIT {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TimeslotRepository timeslotRepository;
+
+    @Autowired
+    private TalkRepository talkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestClient.Builder restClientBuilder;
+
+    @Autowired
+    private ClientHttpRequestFactoryBuilder<?> requestFactoryBuilder;
+
+    private Room room;
+
+    private Timeslot timeslot;
+
+    private Talk talk;
+
+    @AfterEach
+    void cleanup() {
+        if (talk != null) {
+            talkRepository.delete(talk);
+            roomRepository.delete(room);
+            timeslotRepository.delete(timeslot);
+        }
+    }
+
+    @Test
+    void assertThatCurrentTalksAndAdministratorsAreLoadedIntoTheirCaches() {
+        Instant start = Instant.now().plus(1, ChronoUnit.HOURS);
+        room = roomRepository.saveAndFlush(new Room().name("Warmup").capacity(10));
+        timeslot = timeslotRepository.saveAndFlush(new Timeslot().start(start).end(start.plus(Duration.ofHours(1))));
+        talk = talkRepository.saveAndFlush(
+            new Talk().title("Warmup").speaker("Speaker").abstractText("Abstract").room(room).timeslot(timeslot)
+        );
+        Cache secondLevelCache = entityManagerFactory.getCache();
+        secondLevelCache.evictAll();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+
+        warmupService.loadCaches();
+
+        assertThat(secondLevelCache.contains(Talk.class, talk.getId())).isTrue();
+        assertThat(secondLevelCache.contains(Room.class, room.getId())).isTrue();
+        assertThat(secondLevelCache.contains(Timeslot.class, timeslot.getId())).isTrue();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("admin")).isNotNull();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("user")).isNull();
+    }
+
+    @Test
+    void assertThatRequestsAreReplayedAsUser() {
+        WarmupService mockMvcWarmupService = new WarmupService(
+            applicationProperties,
+            roomRepository,
+            timeslotRepository,
+            talkRepository,
+            userRepository,
+            jwtEncoder,
+            RestClient.builder(),
+            settings -> new MockMvcClientHttpRequestFactory(mockMvc)
+        );
+
+        // The rooms are readable by any user, no account exists for the warmup subject
+        assertThat(mockMvcWarmupService.replayRequests("http://localhost")).isEqualTo(3);
+    }
+
+    @Test
+    void assertThatUnansweredRequestsAreGivenUp() throws IOException {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getWarmup().getRequests().add("/api/rooms");
+        properties.getWarmup().setIterations(2);
+        properties.getWarmup().setRequestTimeout(Duration.ofMillis(200));
+        WarmupService hungWarmupService = new WarmupService(
+            properties,
+            roomRepository,
+            timeslotRepository,
+            talkRepository,
+            userRepository,
+            jwtEncoder,
+            restClientBuilder,
+            requestFactoryBuilder
+        );
+
+        // Connections are accepted into the backlog but never answered
+        try (ServerSocket serverSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress())) {
+            long start = System.nanoTime();
+            assertThat(hungWarmupService.replayRequests("http://localhost:" + serverSocket.getLocalPort())).isZero();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package de.xares.conference.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.xares.conference.config.ApplicationProperties;
+import de.xares.conference.service.cache.CacheInvalidation.Kind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CacheInvalidationBus}.
+ */
+class CacheInvalidationBusTest {
+
+    private static final String ROOM = "de.xares.conference.domain.Room";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ApplicationProperties.Cache.Invalidation properties;
+
+    private InMemoryTransport transport;
+
+    private MeterRegistry meterRegistry;
+
+    private RecordingHandler senderHandler;
+
+    private RecordingHandler receiverHandler;
+
+    private CacheInvalidationBus sender;
+
+    private CacheInvalidationBus receiver;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties.Cache.Invalidation();
+        properties.setRegionThreshold(3);
+        properties.setBatchSize(100);
+        properties.setReconnectDelay(Duration.ofMillis(10));
+        transport = new InMemoryTransport(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        senderHandler = new RecordingHandler();
+        receiverHandler = new RecordingHandler();
+        sender = new CacheInvalidationBus(properties, transport, objectMapper, senderHandler, meterRegistry);
+        receiver = new CacheInvalidationBus(properties, transport, objectMapper, receiverHandler, new SimpleMeterRegistry());
+        transport.listeners.add(sender);
+        transport.listeners.add(receiver);
+    }
+
+    @Test
+    void testDuplicatesAreSentOnce() {
+        sender.publish(List.of(entity("1"), entity("2")));
+        sender.publish(List.of(entity("1"), CacheInvalidation.of(Kind.QUERY_SPACE, "room", null)));
+        sender.publish(List.of(CacheInvalidation.of(Kind.QUERY_SPACE, "room", null)));
+
+        assertThat(sender.send(sender.drain())).isTrue();
+
+        assertThat(transport.payloads).hasSize(1);
+        assertThat(receiverHandler.invalidations).containsExactly(
+            new CacheInvalidation(Kind.ENTITY, ROOM, List.of("1", "2")),
+            new CacheInvalidation(Kind.QUERY_SPACE, "room", List.of())
+        );
+        assertThat(senderHandler.invalidations).isEmpty();
+        assertThat(meterRegistry.get(CacheInvalidationBus.PUBLISHED_METER_NAME).counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get(CacheInvalidationBus.SENT_METER_NAME).counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(CacheInvalidationBus.MESSAGES_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCacheIsInvalidatedAsAWholeAboveRegionThreshold() {
+        IntStream.rangeClosed(1, 4).forEach(id -> sender.publish(List.of(entity(Integer.toString(id)))));
+        sender.publish(List.of(entity("5")));
+
+        assertThat(sender.drain()).containsExactly(new CacheInvalidation(Kind.ENTITY, ROOM, List.of()));
+    }
+
+    @Test
+    void testLargeBatchesAreSplitToFitThePayload() {
+        properties.setRegionThreshold(1000);
+        transport.maxPayloadSize = 200;
+        CacheInvalidationBus bus = new CacheInvalidationBus(properties, transport, objectMapper, senderHandler, meterRegistry);
+        List<String> ids = IntStream.rangeClosed(1, 100).mapToObj(Integer::toString).toList();
+        bus.publish(List.of(new CacheInvalidation(Kind.ENTITY, ROOM, ids)));
+
+        assertThat(bus.send(bus.drain())).isTrue();
+
+        assertThat(transport.payloads).hasSizeGreaterThan(1);
+        assertThat(transport.payloads).allSatisfy(payload ->
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(200)
+        );
+        assertThat(receiverHandler.invalidations.stream().flatMap(invalidation -> invalidation.keys().stream())).containsExactlyElementsOf(
+            ids
+        );
+    }
+
+    @Test
+    void testUnsentInvalidationsAreRetried() throws Exception {
+        transport.failures.set(1);
+        sender.start();
+        try {
+            sender.publish(List.of(entity("1")));
+
+            assertThat(receiverHandler.received.poll(10, TimeUnit.SECONDS)).containsExactly(
+                new CacheInvalidation(Kind.ENTITY, ROOM, List.of("1"))
+            );
+            assertThat(transport.failures.get()).isZero();
+        } finally {
+            sender.stop();
+        }
+    }
+
+    @Test
+    void testLostMessagesInvalidateAllCaches() {
+        receiver.onMessagesLost();
+
+        assertThat(receiverHandler.invalidatedAll).isEqualTo(1);
+    }
+
+    @Test
+    void testMalformedMessagesAreIgnored() {
+        receiver.onMessage("{not json");
+
+        assertThat(receiverHandler.invalidations).isEmpty();
+        assertThat(receiverHandler.invalidatedAll).isZero();
+    }
+
+    private static CacheInvalidation entity(String id) {
+        return CacheInvalidation.of(Kind.ENTITY, ROOM, id);
+    }
+
+    /**
+     * Delivers the payloads to all the listeners synchronously, after failing the number of sends in {@link #failures}.
+     */
+    private static class InMemoryTransport implements CacheInvalidationTransport {
+
+        private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+        private final List<String> payloads = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private int maxPayloadSize;
+
+        InMemoryTransport(int maxPayloadSize) {
+            this.maxPayloadSize = maxPayloadSize;
+        }
+
+        @Override
+        public void start(Listener listener) {}
+
+        @Override
+        public void stop() {}
+
+        @Override
+        public void send(String payload) {
+            if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                throw new CacheInvalidationException("Unavailable", null);
+            }
+            payloads.add(payload);
+            listeners.forEach(listener -> listener.onMessage(payload));
+        }
+
+        @Override
+        public int getMaxPayloadSize() {
+            return maxPayloadSize;
+        }
+    }
+
+    private static class RecordingHandler implements CacheInvalidationBus.Handler {
+
+        private final List<CacheInvalidation> invalidations = new ArrayList<>();
+
+        private final BlockingQueue<List<CacheInvalidation>> received = new LinkedBlockingQueue<>();
+
+        private int invalidatedAll;
+
+        @Override
+        public void invalidate(List<CacheInvalidation> invalidations) {
+            this.invalidations.addAll(invalidations);
+            received.add(invalidations);
+        }
+
+        @Override
+        public void invalidateAll() {
+            invalidatedAll++;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package de.xares.conference.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.User;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.UserRepository;
+import de.xares.conference.security.DomainUserDetailsService;
+import de.xares.conference.security.UnknownUserCache;
+import de.xares.conference.service.RoomService;
+import de.xares.conference.service.UserService;
+import de.xares.conference.service.cache.CacheInvalidation.Kind;
+import de.xares.conference.service.dto.AdminUserDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationService}, with a transport recording the messages sent.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Import(CacheInvalidationServiceIT.RecordingTransportConfiguration.class)
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    }
+)
+class CacheInvalidationServiceIT {
+
+    private static final String ROOM = Room.class.getName();
+
+    private static final String USER_LOGIN = "cache-invalidation";
+
+    @Autowired
+    private RecordingTransport transport;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DomainUserDetailsService userDetailsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UnknownUserCache unknownUserCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restScheduleMockMvc;
+
+    private Room room;
+
+    @BeforeEach
+    void initTest() {
+        room = roomRepository.saveAndFlush(new Room().name("Invalidated").capacity(10));
+    }
+
+    @AfterEach
+    void cleanup() {
+        roomRepository.deleteById(room.getId());
+        userService.deleteUser(USER_LOGIN);
+    }
+
+    @Test
+    void updateIsBroadcastOnceCommitted() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            Room updated = roomRepository.findById(room.getId()).orElseThrow();
+            updated.setName("Committed");
+            roomRepository.flush();
+            updated.setCapacity(20);
+        });
+
+        assertThat(awaitInvalidation(new CacheInvalidation(Kind.ENTITY, ROOM, List.of(room.getId().toString())))).contains(
+            new CacheInvalidation(Kind.QUERY_SPACE, "room", List.of())
+        );
+    }
+
+    @Test
+    void rolledBackUpdateIsNotBroadcast() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            roomRepository.findById(room.getId()).orElseThrow().setName("Rolled back");
+            roomRepository.flush();
+            status.setRollbackOnly();
+        });
+        Room other = roomRepository.saveAndFlush(new Room().name("Other").capacity(10));
+        roomRepository.deleteById(other.getId());
+
+        List<CacheInvalidation> invalidations = awaitInvalidation(
+            new CacheInvalidation(Kind.ENTITY, ROOM, List.of(other.getId().toString()))
+        );
+
+        assertThat(invalidations).doesNotContain(new CacheInvalidation(Kind.ENTITY, ROOM, List.of(room.getId().toString())));
+    }
+
+    @Test
+    void createdUserIsEvictedOnOtherInstances() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(USER_LOGIN);
+        user.setEmail(USER_LOGIN + "@localhost");
+        userService.createUser(user);
+
+        assertThat(
+            awaitInvalidation(new CacheInvalidation(Kind.CACHE, UserRepository.USERS_BY_LOGIN_CACHE, List.of(USER_LOGIN)))
+        ).contains(new CacheInvalidation(Kind.CACHE, UserRepository.USERS_BY_EMAIL_CACHE, List.of(USER_LOGIN + "@localhost")));
+    }
+
+    @Test
+    void rehashedUserIsEvictedOnOtherInstances() throws Exception {
+        User user = new User();
+        user.setLogin(USER_LOGIN);
+        user.setEmail(USER_LOGIN + "@localhost");
+        user.setPassword("$2a$04$" + "a".repeat(53));
+        user.setActivated(true);
+        userRepository.saveAndFlush(user);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(USER_LOGIN);
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put(USER_LOGIN, "stale");
+
+        userDetailsService.updatePassword(userDetails, "{bcrypt}" + "$2a$10$" + "b".repeat(53));
+
+        assertThat(
+            awaitInvalidation(new CacheInvalidation(Kind.CACHE, UserRepository.USERS_BY_LOGIN_CACHE, List.of(USER_LOGIN)))
+        ).contains(new CacheInvalidation(Kind.CACHE, UserRepository.USERS_BY_EMAIL_CACHE, List.of(USER_LOGIN + "@localhost")));
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(USER_LOGIN)).isNull();
+    }
+
+    @Test
+    void receivedInvalidationsAreApplied() {
+        roomRepository.findById(room.getId());
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isTrue();
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("ghost", "stale");
+        unknownUserCache.putUnknown("ghost");
+
+        transport.receive(
+            "{\"node\":\"other\",\"invalidations\":[" +
+            "{\"kind\":\"ENTITY\",\"region\":\"" +
+            ROOM +
+            "\",\"keys\":[\"" +
+            room.getId() +
+            "\"]}," +
+            "{\"kind\":\"CACHE\",\"region\":\"" +
+            UserRepository.USERS_BY_LOGIN_CACHE +
+            "\",\"keys\":[\"ghost\"]}]}"
+        );
+
+        assertThat(entityManagerFactory.getCache().contains(Room.class, room.getId())).isFalse();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("ghost")).isNull();
+        assertThat(unknownUserCache.isUnknown("ghost")).isFalse();
+    }
+
+    @Test
+    void scheduleChangeIsBroadcastOnceCommitted() throws Exception {
+        Room changed = roomService.save(new Room().name("Changed").capacity(10));
+
+        assertThat(awaitInvalidation(new CacheInvalidation(Kind.SCHEDULE, ROOM, List.of()))).isNotEmpty();
+        roomRepository.deleteById(changed.getId());
+    }
+
+    @Test
+    void receivedScheduleChangeRebuildsTheSchedule() throws Exception {
+        // Saved without any event, as by another instance
+        restScheduleMockMvc
+            .perform(get("/api/schedule"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rooms[*].id").value(not(hasItem(room.getId().intValue()))));
+
+        receiveRoomScheduleChange();
+
+        restScheduleMockMvc
+            .perform(get("/api/schedule"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rooms[*].id").value(hasItem(room.getId().intValue())));
+    }
+
+    @Test
+    void receivedScheduleChangeBumpsTheVersion() throws Exception {
+        String eTag = restScheduleMockMvc
+            .perform(get("/api/rooms"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restScheduleMockMvc.perform(get("/api/rooms").header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        receiveRoomScheduleChange();
+
+        restScheduleMockMvc
+            .perform(get("/api/rooms").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    private void receiveRoomScheduleChange() {
+        transport.receive("{\"node\":\"other\",\"invalidations\":[{\"kind\":\"SCHEDULE\",\"region\":\"" + ROOM + "\"}]}");
+    }
+
+    /**
+     * Wait for an invalidation to be sent.
+     *
+     * @return the invalidations sent until then, including those of earlier messages, with one key each.
+     */
+    private List<CacheInvalidation> awaitInvalidation(CacheInvalidation expected) throws Exception {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        while (!invalidations.contains(expected)) {
+            String payload = transport.payloads.poll(10, TimeUnit.SECONDS);
+            assertThat(payload).as("message containing %s", expected).isNotNull();
+            for (JsonNode node : objectMapper.readTree(payload).get("invalidations")) {
+                CacheInvalidation invalidation = objectMapper.treeToValue(node, CacheInvalidation.class);
+                if (invalidation.isWholeRegion()) {
+                    invalidations.add(invalidation);
+                }
+                for (String key : invalidation.keys()) {
+                    invalidations.add(CacheInvalidation.of(invalidation.kind(), invalidation.region(), key));
+                }
+            }
+        }
+        return invalidations;
+    }
+
+    @TestConfiguration
+    static class RecordingTransportConfiguration {
+
+        @Bean
+        @Primary
+        RecordingTransport recordingTransport() {
+            return new RecordingTransport();
+        }
+    }
+
+    static class RecordingTransport implements CacheInvalidationTransport {
+
+        private final BlockingQueue<String> payloads = new LinkedBlockingQueue<>();
+
+        private Listener listener;
+
+        @Override
+        public void start(Listener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void stop() {
+            listener = null;
+        }
+
+        @Override
+        public void send(String payload) {
+            payloads.add(payload);
+        }
+
+        @Override
+        public int getMaxPayloadSize() {
+            return 7999;
+        }
+
+        void receive(String payload) {
+            listener.onMessage(payload);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package de.xares.conference.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Integration tests for {@link PostgresCacheInvalidationTransport}, run against the PostgreSQL container of the
+ * {@code testprod} profile.
+ */
+@IntegrationTest
+@EnabledIf("isPostgresDriverPresent")
+class PostgresCacheInvalidationTransportIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private PostgresCacheInvalidationTransport sender;
+
+    private PostgresCacheInvalidationTransport receiver;
+
+    private final RecordingListener senderListener = new RecordingListener();
+
+    private final RecordingListener receiverListener = new RecordingListener();
+
+    static boolean isPostgresDriverPresent() {
+        return ClassUtils.isPresent(PostgresCacheInvalidationTransport.PG_CONNECTION_CLASS_NAME, null);
+    }
+
+    @BeforeEach
+    void initTest() throws Exception {
+        ApplicationProperties.Cache.Invalidation properties = new ApplicationProperties.Cache.Invalidation();
+        properties.setChannel("cache_invalidation_it");
+        properties.setReconnectDelay(Duration.ofMillis(100));
+        sender = createTransport(properties);
+        receiver = createTransport(properties);
+        sender.start(senderListener);
+        receiver.start(receiverListener);
+        // Wait for both to listen, a notification sent before would be missed
+        do {
+            sender.send("ready");
+        } while (receiverListener.payloads.poll(200, TimeUnit.MILLISECONDS) == null);
+        while (senderListener.payloads.poll(200, TimeUnit.MILLISECONDS) != null) {
+            // Drain the readiness notifications
+        }
+        receiverListener.payloads.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        sender.stop();
+        receiver.stop();
+    }
+
+    @Test
+    void notificationsAreDeliveredToAllInstances() throws Exception {
+        String payload = "{\"node\":\"sender\",\"invalidations\":[]}";
+
+        sender.send(payload);
+
+        assertThat(receiverListener.payloads.poll(10, TimeUnit.SECONDS)).isEqualTo(payload);
+        assertThat(senderListener.payloads.poll(10, TimeUnit.SECONDS)).isEqualTo(payload);
+    }
+
+    @Test
+    void largestPayloadIsAccepted() throws Exception {
+        String payload = "x".repeat(sender.getMaxPayloadSize());
+
+        sender.send(payload);
+
+        assertThat(receiverListener.payloads.poll(10, TimeUnit.SECONDS)).isEqualTo(payload);
+    }
+
+    private PostgresCacheInvalidationTransport createTransport(ApplicationProperties.Cache.Invalidation properties) {
+        return new PostgresCacheInvalidationTransport(
+            dataSource,
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword(),
+            properties
+        );
+    }
+
+    private static class RecordingListener implements CacheInvalidationTransport.Listener {
+
+        private final BlockingQueue<String> payloads = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onMessage(String payload) {
+            payloads.add(payload);
+        }
+
+        @Override
+        public void onMessagesLost() {}
+    }
+}
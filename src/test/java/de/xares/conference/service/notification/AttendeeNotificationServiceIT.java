@@ -0,0 +1,176 @@
+package de.xares.conference.service.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.domain.Attendance;
+import de.xares.conference.domain.MailOutbox;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.domain.User;
+import de.xares.conference.repository.AttendanceRepository;
+import de.xares.conference.repository.MailOutboxRepository;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.repository.UserRepository;
+import de.xares.conference.service.TalkService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link AttendeeNotificationService}, notifying by email.
+ */
+@IntegrationTest
+class AttendeeNotificationServiceIT {
+
+    private static final Instant NINE = Instant.parse("2026-10-17T09:00:00Z");
+
+    @Autowired
+    private AttendeeNotificationService attendeeNotificationService;
+
+    @Autowired
+    private TalkService talkService;
+
+    @Autowired
+    private TalkRepository talkRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TimeslotRepository timeslotRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Room> rooms = new ArrayList<>();
+
+    private final List<Timeslot> timeslots = new ArrayList<>();
+
+    private final List<Talk> talks = new ArrayList<>();
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        // Moves left over by other tests
+        attendeeNotificationService.notifyAttendees();
+        mailOutboxRepository.deleteAll();
+        for (int i = 0; i < 4; i++) {
+            rooms.add(roomRepository.save(new Room().name("Room " + i)));
+            Instant start = NINE.plusSeconds(3600L * i);
+            timeslots.add(timeslotRepository.save(new Timeslot().start(start).end(start.plusSeconds(2700))));
+        }
+        for (int i = 0; i < 2; i++) {
+            talks.add(talkRepository.save(new Talk().title("Talk " + i).speaker("Speaker").room(rooms.get(i)).timeslot(timeslots.get(i))));
+            users.add(userRepository.save(createUser("attendee" + i)));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        attendanceRepository.deleteAll();
+        talkRepository.deleteAll(talks);
+        roomRepository.deleteAll(rooms);
+        timeslotRepository.deleteAll(timeslots);
+        userRepository.deleteAll(users);
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void movesAreToldInOneDigestPerAttendee() {
+        attend(users.get(0), talks.get(0), talks.get(1));
+        attend(users.get(1), talks.get(1));
+
+        move(talks.get(1), rooms.get(3), timeslots.get(2));
+        move(talks.get(0), rooms.get(2), timeslots.get(3));
+
+        assertThat(attendeeNotificationService.notifyAttendees()).isEqualTo(2);
+
+        List<MailOutbox> mails = mailOutboxRepository.findAll(Sort.by("id"));
+        assertThat(mails).extracting(MailOutbox::getRecipient).containsExactly(users.get(0).getEmail(), users.get(1).getEmail());
+        assertThat(mails).allSatisfy(mail -> assertThat(mail.getSubject()).isEqualTo("conference schedule change"));
+        String content = mails.get(0).getContent();
+        assertThat(content).contains(
+            "Dear " + users.get(0).getLogin(),
+            "now in Room 3 from 2026-10-17 11:00 to 11:45",
+            "(previously in Room 1 at 2026-10-17 10:00)",
+            "now in Room 2 from 2026-10-17 12:00 to 12:45",
+            "(previously in Room 0 at 2026-10-17 09:00)"
+        );
+        // In the order of the new starts
+        assertThat(content.indexOf("Talk 1")).isLessThan(content.indexOf("Talk 0"));
+        assertThat(mails.get(1).getContent()).contains("Talk 1").doesNotContain("Talk 0");
+    }
+
+    @Test
+    void talkMovedBackIsNotTold() {
+        attend(users.get(0), talks.get(0));
+
+        move(talks.get(0), rooms.get(2), timeslots.get(2));
+        move(talks.get(0), rooms.get(0), timeslots.get(0));
+
+        assertThat(attendeeNotificationService.notifyAttendees()).isZero();
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void rolledBackMoveIsNotTold() {
+        attend(users.get(0), talks.get(0));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            move(talks.get(0), rooms.get(2), timeslots.get(2));
+            status.setRollbackOnly();
+        });
+
+        assertThat(attendeeNotificationService.notifyAttendees()).isZero();
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void talkWithoutAttendeesIsNotTold() {
+        move(talks.get(0), rooms.get(2), timeslots.get(2));
+
+        assertThat(attendeeNotificationService.notifyAttendees()).isZero();
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    private void attend(User user, Talk... attended) {
+        for (Talk talk : attended) {
+            attendanceRepository.save(new Attendance().talk(talk).user(user));
+        }
+    }
+
+    private void move(Talk talk, Room room, Timeslot timeslot) {
+        talkService.partialUpdate(new Talk().id(talk.getId()).room(room).timeslot(timeslot));
+    }
+
+    private static User createUser(String login) {
+        User user = new User();
+        user.setLogin(login + RandomStringUtils.insecure().nextAlphabetic(5).toLowerCase());
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@example.com");
+        user.setLangKey("en");
+        return user;
+    }
+}
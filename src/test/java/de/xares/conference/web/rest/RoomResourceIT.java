@@ -3,7 +3,10 @@ package de.xares.conference.web.rest;
 import static de.xares.conference.domain.RoomAsserts.*;
 import static de.xares.conference.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -11,14 +14,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.xares.conference.IntegrationTest;
 import de.xares.conference.domain.Room;
 import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.service.EntityVersionService;
+import de.xares.conference.web.util.KeysetPaginationUtil;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -50,6 +58,9 @@ class RoomResourceIT {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private EntityVersionService entityVersionService;
+
     @Autowired
     private EntityManager em;
 
@@ -180,6 +191,108 @@ class RoomResourceIT {
             .andExpect(jsonPath("$.capacity").value(DEFAULT_CAPACITY));
     }
 
+    @Test
+    @Transactional
+    void getRoomsAfterCursor() throws Exception {
+        // Initialize the database
+        Room first = roomRepository.saveAndFlush(createEntity());
+        Room second = roomRepository.saveAndFlush(createEntity());
+        Room third = roomRepository.saveAndFlush(createEntity());
+        String cursor = KeysetPaginationUtil.encodeCursor(first.getId() - 1);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        String link;
+        try {
+            link = restRoomMockMvc
+                .perform(get(ENTITY_API_URL + "?after={cursor}&size=2", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LINK);
+
+            // No count query
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restRoomMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @Transactional
+    void getRoomsAfterInvalidCursor() throws Exception {
+        restRoomMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+        restRoomMockMvc.perform(get(ENTITY_API_URL + "?after=&size=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithMatchingETagIsNotModified() throws Exception {
+        // Initialize the database
+        insertedRoom = roomRepository.saveAndFlush(room);
+
+        String eTag = restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restRoomMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+            restRoomMockMvc
+                .perform(get(ENTITY_API_URL_ID, room.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+            // The rooms are not loaded at all
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllRoomsWithStaleETagIsReturned() throws Exception {
+        // Initialize the database
+        insertedRoom = roomRepository.saveAndFlush(room);
+
+        String eTag = restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // A committed room write bumps the version
+        entityVersionService.increment(Room.class);
+
+        restRoomMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(room.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getNonExistingRoom() throws Exception {
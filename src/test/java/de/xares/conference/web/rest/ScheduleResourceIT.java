@@ -0,0 +1,196 @@
+package de.xares.conference.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.domain.User;
+import de.xares.conference.service.RoomService;
+import de.xares.conference.service.ScheduleService;
+import de.xares.conference.service.notification.AttendeeDigest;
+import de.xares.conference.service.notification.TalkMove;
+import de.xares.conference.web.sse.SseNotificationChannel;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ScheduleResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ScheduleResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/schedule";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private SseNotificationChannel sseNotificationChannel;
+
+    @Autowired
+    private MockMvc restScheduleMockMvc;
+
+    @Test
+    @Transactional
+    void getSchedule() throws Exception {
+        // Initialize the database with two rooms, two timeslots and a talk in the second room during the second timeslot
+        Room firstRoom = RoomResourceIT.createEntity();
+        Room secondRoom = RoomResourceIT.createUpdatedEntity();
+        em.persist(firstRoom);
+        em.persist(secondRoom);
+        Timeslot firstTimeslot = new Timeslot().start(Instant.parse("2025-03-01T09:00:00Z")).end(Instant.parse("2025-03-01T10:00:00Z"));
+        Timeslot secondTimeslot = new Timeslot().start(Instant.parse("2025-03-01T10:00:00Z")).end(Instant.parse("2025-03-01T11:00:00Z"));
+        em.persist(firstTimeslot);
+        em.persist(secondTimeslot);
+        Talk talk = TalkResourceIT.createEntity(em).room(secondRoom).timeslot(secondTimeslot);
+        em.persist(talk);
+        em.flush();
+        scheduleService.refresh();
+
+        JsonNode schedule = om.readTree(
+            restScheduleMockMvc
+                .perform(get(ENTITY_API_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+
+        int firstRoomIndex = indexOf(schedule.get("rooms"), firstRoom.getId());
+        int secondRoomIndex = indexOf(schedule.get("rooms"), secondRoom.getId());
+        int firstTimeslotIndex = indexOf(schedule.get("timeslots"), firstTimeslot.getId());
+        int secondTimeslotIndex = indexOf(schedule.get("timeslots"), secondTimeslot.getId());
+        assertThat(firstTimeslotIndex).isLessThan(secondTimeslotIndex);
+
+        JsonNode talks = schedule.get("talks");
+        assertThat(talks.get(secondTimeslotIndex).get(secondRoomIndex).get("id").asLong()).isEqualTo(talk.getId());
+        assertThat(talks.get(secondTimeslotIndex).get(secondRoomIndex).has("abstractText")).isFalse();
+        assertThat(talks.get(secondTimeslotIndex).get(firstRoomIndex).isNull()).isTrue();
+        assertThat(talks.get(firstTimeslotIndex).get(secondRoomIndex).isNull()).isTrue();
+
+        // The snapshot is shared by all the readers
+        assertThatThrownBy(() -> scheduleService.getSchedule().getTalks().get(secondTimeslotIndex).set(secondRoomIndex, null)).isInstanceOf(
+            UnsupportedOperationException.class
+        );
+    }
+
+    @Test
+    @Transactional
+    void getScheduleDoesNotQueryTheDatabase() throws Exception {
+        scheduleService.refresh();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restScheduleMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isOk());
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void scheduleIsRebuiltAfterCommit() throws Exception {
+        Room room = roomService.save(RoomResourceIT.createEntity());
+        try {
+            restScheduleMockMvc
+                .perform(get(ENTITY_API_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rooms[?(@.id == " + room.getId() + ")]").exists());
+        } finally {
+            roomService.delete(room.getId());
+        }
+
+        restScheduleMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rooms[?(@.id == " + room.getId() + ")]").doesNotExist());
+    }
+
+    @Test
+    void streamPushesCommittedChanges() throws Exception {
+        MvcResult stream = restScheduleMockMvc
+            .perform(get(ENTITY_API_URL + "/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        Room room = roomService.save(RoomResourceIT.createEntity());
+        roomService.delete(room.getId());
+
+        awaitContent(stream, "event:room\ndata:{\"id\":" + room.getId() + ",\"action\":\"DELETED\"}\n\n");
+
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getResponse().getContentAsString()).contains(
+            ":connected\n\n",
+            "event:room\ndata:{\"id\":" + room.getId() + ",\"action\":\"SAVED\"}\n\n"
+        );
+    }
+
+    @Test
+    void streamPushesMovedTalksToTheirAttendees() throws Exception {
+        MvcResult stream = restScheduleMockMvc
+            .perform(get(ENTITY_API_URL + "/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        User attendee = new User();
+        attendee.setLogin("user");
+        User other = new User();
+        other.setLogin("other");
+        TalkMove move = new TalkMove(1L, "Moved", "Room 1", null, "Room 2", null, null);
+        TalkMove otherMove = new TalkMove(2L, "Not for user", "Room 1", null, "Room 2", null, null);
+
+        sseNotificationChannel.send(List.of(new AttendeeDigest(attendee, List.of(move)), new AttendeeDigest(other, List.of(otherMove))));
+
+        awaitContent(stream, "event:talk-moved\ndata:[{\"talkId\":1,\"title\":\"Moved\"");
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("Not for user");
+    }
+
+    private static void awaitContent(MvcResult stream, String content) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!stream.getResponse().getContentAsString().contains(content)) {
+            assertThat(System.nanoTime()).as("Waiting for %s in the stream", content).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static int indexOf(JsonNode entities, Long id) {
+        for (int i = 0; i < entities.size(); i++) {
+            if (entities.get(i).get("id").asLong() == id) {
+                return i;
+            }
+        }
+        throw new AssertionError("No entity with id " + id + " in " + entities);
+    }
+}
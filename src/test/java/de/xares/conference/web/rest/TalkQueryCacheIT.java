@@ -0,0 +1,185 @@
+package de.xares.conference.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import de.xares.conference.IntegrationTest;
+import de.xares.conference.domain.Room;
+import de.xares.conference.domain.Talk;
+import de.xares.conference.domain.TalkAbstract;
+import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.RoomRepository;
+import de.xares.conference.repository.TalkRepository;
+import de.xares.conference.repository.TimeslotRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the query cache of the talk, room and timeslot lists.
+ * <p>
+ * Not transactional, as query results are only cached once the writes they depend on have committed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    }
+)
+class TalkQueryCacheIT {
+
+    private static final String TALKS_PAGE_URL = "/api/talks?page=0&size=5&sort=id,desc";
+
+    @Autowired
+    private TalkRepository talkRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TimeslotRepository timeslotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc restTalkMockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Room room;
+
+    private final List<Timeslot> timeslots = new ArrayList<>();
+
+    private Talk talk;
+
+    @BeforeEach
+    void initTest() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        room = roomRepository.saveAndFlush(new Room().name("Query cache").capacity(50));
+        // A room holds one talk per timeslot, the last timeslot is left for an imported talk
+        for (int i = 0; i < 4; i++) {
+            Instant start = Instant.ofEpochSecond(i * 3600L);
+            timeslots.add(timeslotRepository.saveAndFlush(new Timeslot().start(start).end(start.plusSeconds(3600))));
+        }
+        for (int i = 0; i < 3; i++) {
+            talk = talkRepository.saveAndFlush(
+                new Talk().title("Cached " + i).speaker("Speaker").abstractText("Abstract").room(room).timeslot(timeslots.get(i))
+            );
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        talkRepository.deleteAll(talkRepository.findByRoomId(room.getId()));
+        roomRepository.delete(room);
+        timeslotRepository.deleteAll(timeslots);
+    }
+
+    @Test
+    void secondIdenticalPageIssuesNoStatement() throws Exception {
+        String firstPage = getContent(TALKS_PAGE_URL);
+        statistics.clear();
+
+        String secondPage = getContent(TALKS_PAGE_URL);
+
+        assertThat(secondPage).isEqualTo(firstPage);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void secondIdenticalSummaryPageIssuesNoStatement() throws Exception {
+        getContent("/api/talks/summaries?page=0&size=5&sort=id,desc");
+        statistics.clear();
+
+        getContent("/api/talks/summaries?page=0&size=5&sort=id,desc");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void secondIdenticalRoomPageIssuesNoStatement() throws Exception {
+        getContent("/api/rooms?page=0&size=5&sort=id,desc");
+        statistics.clear();
+
+        getContent("/api/rooms?page=0&size=5&sort=id,desc");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void cachedTalkLeavesOutTheAbstract() {
+        talkRepository.findById(talk.getId());
+        statistics.clear();
+
+        String abstractText = transactionTemplate.execute(status -> {
+            Talk cached = talkRepository.findById(talk.getId()).orElseThrow();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+            return cached.getAbstractText();
+        });
+
+        assertThat(abstractText).isEqualTo("Abstract");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(TalkAbstract.class, talk.getId())).isFalse();
+    }
+
+    @Test
+    void updatedTalkInvalidatesCachedPage() throws Exception {
+        getContent(TALKS_PAGE_URL);
+
+        talk.setTitle("Updated");
+        talkRepository.saveAndFlush(talk);
+        statistics.clear();
+
+        assertThat(getContent(TALKS_PAGE_URL)).contains("\"title\":\"Updated\"");
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    @Test
+    void importedTalkInvalidatesCachedPage() throws Exception {
+        getContent(TALKS_PAGE_URL);
+
+        String csv =
+            "title,speaker,abstract_text,room_id,timeslot_id\r\n" +
+            "Imported,Speaker,Abstract," +
+            room.getId() +
+            "," +
+            timeslots.get(3).getId() +
+            "\r\n";
+        restTalkMockMvc.perform(post("/api/talks/bulk").contentType("text/csv").content(csv)).andExpect(status().isOk());
+
+        assertThat(getContent(TALKS_PAGE_URL)).contains("\"title\":\"Imported\"");
+    }
+
+    private String getContent(String url) throws Exception {
+        return restTalkMockMvc
+            .perform(get(url).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    }
+}
@@ -3,8 +3,8 @@ package de.xares.conference.web.rest;
 import static de.xares.conference.domain.TalkAsserts.*;
 import static de.xares.conference.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.hamcrest.Matchers.hasItem;
-import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -13,24 +13,31 @@ import de.xares.conference.IntegrationTest;
 import de.xares.conference.domain.Room;
 import de.xares.conference.domain.Talk;
 import de.xares.conference.domain.Timeslot;
+import de.xares.conference.repository.AttendanceRepository;
 import de.xares.conference.repository.TalkRepository;
-import de.xares.conference.service.TalkService;
+import de.xares.conference.service.EntityVersionService;
+import de.xares.conference.service.ScheduleConflictService;
+import de.xares.conference.service.dto.TalkImportErrorDTO;
+import de.xares.conference.service.dto.TalkImportResultDTO;
+import de.xares.conference.web.rest.errors.ErrorConstants;
+import de.xares.conference.web.util.KeysetPaginationUtil;
 import jakarta.persistence.EntityManager;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,7 +45,6 @@ import org.springframework.transaction.annotation.Transactional;
  * Integration tests for the {@link TalkResource} REST controller.
  */
 @IntegrationTest
-@ExtendWith(MockitoExtension.class)
 @AutoConfigureMockMvc
 @WithMockUser
 class TalkResourceIT {
@@ -64,11 +70,14 @@ class TalkResourceIT {
     @Autowired
     private TalkRepository talkRepository;
 
-    @Mock
-    private TalkRepository talkRepositoryMock;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
 
-    @Mock
-    private TalkService talkServiceMock;
+    @Autowired
+    private EntityVersionService entityVersionService;
+
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
 
     @Autowired
     private EntityManager em;
@@ -155,6 +164,12 @@ class TalkResourceIT {
         }
     }
 
+    @AfterTransaction
+    public void resetScheduleConflicts() {
+        // Drop what the test indexed from its rolled back transaction
+        scheduleConflictService.rebuild();
+    }
+
     @Test
     @Transactional
     void createTalk() throws Exception {
@@ -177,6 +192,148 @@ class TalkResourceIT {
         insertedTalk = returnedTalk;
     }
 
+    @Test
+    @Transactional
+    void importTalks() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+        // More talks than a JDBC batch and than a block of the sequence, each in its own room
+        Timeslot timeslot = talk.getTimeslot();
+        List<Talk> talks = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Room room = RoomResourceIT.createEntity();
+            em.persist(room);
+            talks.add(
+                new Talk().title(DEFAULT_TITLE + i).speaker(DEFAULT_SPEAKER).abstractText(DEFAULT_ABSTRACT_TEXT).room(room).timeslot(timeslot)
+            );
+        }
+        em.flush();
+        talks.add(createEntity(em).title(null));
+        talks.add(createEntity(em).room(new Room().id(Long.MAX_VALUE)));
+        talks.add(createEntity(em).room(talks.get(0).getRoom()));
+
+        TalkImportResultDTO result = om.readValue(
+            restTalkMockMvc
+                .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(talks)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            TalkImportResultDTO.class
+        );
+
+        assertThat(result.getIds()).hasSize(60).doesNotHaveDuplicates();
+        assertThat(result.getErrors()).extracting(TalkImportErrorDTO::getRow, TalkImportErrorDTO::getField).containsExactly(
+            tuple(61, "title"),
+            tuple(62, "room"),
+            tuple(63, "room")
+        );
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 60);
+        Talk imported = talkRepository.findById(result.getIds().get(59)).orElseThrow();
+        assertThat(imported.getTitle()).isEqualTo(DEFAULT_TITLE + 59);
+        assertThat(imported.getAbstractText()).isEqualTo(DEFAULT_ABSTRACT_TEXT);
+    }
+
+    @Test
+    @Transactional
+    void importTalksBookingARoomInOverlappingTimeslots() throws Exception {
+        Room room = talk.getRoom();
+        Instant nine = Instant.parse("2026-10-17T09:00:00Z");
+        Timeslot first = new Timeslot().start(nine).end(nine.plusSeconds(3600));
+        // A legacy timeslot ending before it starts, overlapping the first one
+        Timeslot overlapping = new Timeslot().start(nine.plusSeconds(5400)).end(nine.plusSeconds(1800));
+        Timeslot next = new Timeslot().start(nine.plusSeconds(3600)).end(nine.plusSeconds(7200));
+        em.persist(first);
+        em.persist(overlapping);
+        em.persist(next);
+        em.flush();
+        List<Talk> talks = new ArrayList<>();
+        for (Timeslot timeslot : List.of(first, overlapping, next)) {
+            talks.add(
+                new Talk().title(DEFAULT_TITLE).speaker(DEFAULT_SPEAKER).abstractText(DEFAULT_ABSTRACT_TEXT).room(room).timeslot(timeslot)
+            );
+        }
+
+        TalkImportResultDTO result = om.readValue(
+            restTalkMockMvc
+                .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(talks)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            TalkImportResultDTO.class
+        );
+
+        // The rejected row does not book the room, so the last one only follows the first
+        assertThat(result.getIds()).hasSize(2);
+        assertThat(result.getErrors())
+            .extracting(TalkImportErrorDTO::getRow, TalkImportErrorDTO::getField, TalkImportErrorDTO::getMessage)
+            .containsExactly(tuple(2, "room", "room is booked at that time by rows [1]"));
+    }
+
+    @Test
+    @Transactional
+    void importTalksFromCsv() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+        Room room = talk.getRoom();
+        Timeslot timeslot = talk.getTimeslot();
+        String csv =
+            "title,speaker,abstract_text,room_id,timeslot_id\r\n" +
+            "\"Streams, \"\"fast\"\"\"," + DEFAULT_SPEAKER + ",\"two\nlines\"," + room.getId() + "," + timeslot.getId() + "\r\n" +
+            "Broken," + DEFAULT_SPEAKER + "," + DEFAULT_ABSTRACT_TEXT + ",abc," + timeslot.getId() + "\r\n";
+
+        TalkImportResultDTO result = om.readValue(
+            restTalkMockMvc
+                .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            TalkImportResultDTO.class
+        );
+
+        assertThat(result.getIds()).hasSize(1);
+        assertThat(result.getErrors()).extracting(TalkImportErrorDTO::getRow, TalkImportErrorDTO::getField).containsExactly(
+            tuple(2, "room_id")
+        );
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 1);
+        Talk imported = talkRepository.findById(result.getIds().get(0)).orElseThrow();
+        assertThat(imported.getTitle()).isEqualTo("Streams, \"fast\"");
+        assertThat(imported.getAbstractText()).isEqualTo("two\nlines");
+    }
+
+    @Test
+    @Transactional
+    void importTalksFromCsvWithMissingColumn() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+
+        restTalkMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content("title,speaker,abstract_text,room_id\r\na,b,c,1\r\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(0))
+            .andExpect(jsonPath("$.errors[0].row").value(0))
+            .andExpect(jsonPath("$.errors[0].field").value("timeslot_id"));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport);
+    }
+
+    @Test
+    @Transactional
+    void createTalkInBookedRoom() throws Exception {
+        // Initialize the database
+        insertedTalk = talkRepository.saveAndFlush(talk);
+        scheduleConflictService.rebuild();
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        Talk sameSlotTalk = createUpdatedEntity(em).room(talk.getRoom()).timeslot(talk.getTimeslot());
+        restTalkMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(sameSlotTalk)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.type").value(ErrorConstants.SCHEDULE_CONFLICT_TYPE.toString()))
+            .andExpect(jsonPath("$.conflicts").value(hasItem(talk.getId().intValue())));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createTalkWithExistingId() throws Exception {
@@ -240,24 +397,95 @@ class TalkResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(talk.getId().intValue())))
             .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
             .andExpect(jsonPath("$.[*].speaker").value(hasItem(DEFAULT_SPEAKER)))
-            .andExpect(jsonPath("$.[*].abstractText").value(hasItem(DEFAULT_ABSTRACT_TEXT)));
+            .andExpect(jsonPath("$.[*].roomId").value(hasItem(talk.getRoom().getId().intValue())))
+            .andExpect(jsonPath("$.[*].timeslotId").value(hasItem(talk.getTimeslot().getId().intValue())))
+            .andExpect(jsonPath("$.[*].abstractText").doesNotExist());
     }
 
-    @SuppressWarnings({ "unchecked" })
-    void getAllTalksWithEagerRelationshipsIsEnabled() throws Exception {
-        when(talkServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+    @Test
+    @Transactional
+    void getAllTalksFetchesRoomAndTimeslotInOneStatement() throws Exception {
+        // Initialize the database with talks that all use a different room and timeslot
+        insertTalksWithDistinctRoomsAndTimeslots(3);
+
+        Statistics statistics = startStatistics();
+        try {
+            restTalkMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].roomName").isNotEmpty())
+                .andExpect(jsonPath("$.[*].timeslotStart").isNotEmpty());
+
+            // One select for the page content and one for the total count, no select per room or timeslot
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
 
-        restTalkMockMvc.perform(get(ENTITY_API_URL + "?eagerload=true")).andExpect(status().isOk());
+    @Test
+    @Transactional
+    void getTalksAfterCursorIssuesOneStatementPerPage() throws Exception {
+        // Initialize the database with talks that all use a different room and timeslot
+        insertTalksWithDistinctRoomsAndTimeslots(3);
+        String cursor = KeysetPaginationUtil.encodeCursor(0L);
 
-        verify(talkServiceMock, times(1)).findAllWithEagerRelationships(any());
+        Statistics statistics = startStatistics();
+        try {
+            restTalkMockMvc
+                .perform(get(ENTITY_API_URL + "?after={cursor}&size=2", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$.[*].roomName").isNotEmpty())
+                .andExpect(jsonPath("$.[*].timeslotId").isNotEmpty())
+                .andExpect(jsonPath("$.[*].abstractText").doesNotExist());
+
+            // A single select for the page content, with neither a count nor a select per room or timeslot
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
     }
 
-    @SuppressWarnings({ "unchecked" })
-    void getAllTalksWithEagerRelationshipsIsNotEnabled() throws Exception {
-        when(talkServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+    @Test
+    @Transactional
+    void getAllTalkSummaries() throws Exception {
+        // Initialize the database
+        insertedTalk = talkRepository.saveAndFlush(talk);
 
-        restTalkMockMvc.perform(get(ENTITY_API_URL + "?eagerload=false")).andExpect(status().isOk());
-        verify(talkRepositoryMock, times(1)).findAll(any(Pageable.class));
+        // Get all the talk summaries
+        restTalkMockMvc
+            .perform(get(ENTITY_API_URL + "/summaries?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(talk.getId().intValue())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].speaker").value(hasItem(DEFAULT_SPEAKER)))
+            .andExpect(jsonPath("$.[*].roomId").value(hasItem(talk.getRoom().getId().intValue())))
+            .andExpect(jsonPath("$.[*].timeslotId").value(hasItem(talk.getTimeslot().getId().intValue())))
+            .andExpect(jsonPath("$.[*].abstractText").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllTalkSummariesIssuesOneStatementPerPage() throws Exception {
+        // Initialize the database with talks that all use a different room and timeslot
+        insertTalksWithDistinctRoomsAndTimeslots(3);
+
+        Statistics statistics = startStatistics();
+        try {
+            restTalkMockMvc
+                .perform(get(ENTITY_API_URL + "/summaries?sort=id,desc&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].roomName").isNotEmpty());
+
+            // One select for the page content and one for the total count
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
     }
 
     @Test
@@ -274,7 +502,104 @@ class TalkResourceIT {
             .andExpect(jsonPath("$.id").value(talk.getId().intValue()))
             .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
             .andExpect(jsonPath("$.speaker").value(DEFAULT_SPEAKER))
-            .andExpect(jsonPath("$.abstractText").value(DEFAULT_ABSTRACT_TEXT));
+            .andExpect(jsonPath("$.abstractText").value(DEFAULT_ABSTRACT_TEXT))
+            .andExpect(jsonPath("$.room.id").value(talk.getRoom().getId().intValue()))
+            .andExpect(jsonPath("$.room.name").value(talk.getRoom().getName()))
+            .andExpect(jsonPath("$.timeslot.id").value(talk.getTimeslot().getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllTalksIsModifiedAfterRoomWrite() throws Exception {
+        String eTag = restTalkMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restTalkMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Talks embed their room, so a committed room write must invalidate the talk listing
+        entityVersionService.increment(Room.class);
+
+        restTalkMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.not(eTag)));
+    }
+
+    @Test
+    @Transactional
+    void exportTalksAsNdjson() throws Exception {
+        // Initialize the database
+        insertedTalk = talkRepository.saveAndFlush(talk);
+
+        String[] lines = restTalkMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+
+        assertThat(lines).hasSize((int) getRepositoryCount());
+        List<Talk> exported = new ArrayList<>();
+        for (String line : lines) {
+            exported.add(om.readValue(line, Talk.class));
+        }
+        assertThat(exported).extracting(Talk::getId).isSorted().contains(talk.getId());
+        Talk exportedTalk = exported.stream().filter(t -> t.getId().equals(talk.getId())).findFirst().orElseThrow();
+        assertTalkUpdatableFieldsEquals(exportedTalk, talk);
+        assertThat(exportedTalk.getRoom().getId()).isEqualTo(talk.getRoom().getId());
+        assertThat(exportedTalk.getTimeslot().getId()).isEqualTo(talk.getTimeslot().getId());
+    }
+
+    @Test
+    @Transactional
+    void exportTalksAsCsv() throws Exception {
+        // Initialize the database with a title that needs quoting
+        talk.setTitle("Streams, \"fast\"");
+        insertedTalk = talkRepository.saveAndFlush(talk);
+
+        String csv = restTalkMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"talks.csv\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,title,speaker,abstract_text,room_id,room_name,timeslot_id,timeslot_start,timeslot_end");
+        assertThat(lines).hasSize((int) getRepositoryCount() + 1);
+        assertThat(lines).contains(
+            talk.getId() +
+            ",\"Streams, \"\"fast\"\"\"," +
+            DEFAULT_SPEAKER +
+            "," +
+            DEFAULT_ABSTRACT_TEXT +
+            "," +
+            talk.getRoom().getId() +
+            "," +
+            talk.getRoom().getName() +
+            "," +
+            talk.getTimeslot().getId() +
+            "," +
+            talk.getTimeslot().getStart() +
+            "," +
+            talk.getTimeslot().getEnd()
+        );
+    }
+
+    @Test
+    @Transactional
+    void exportTalksWithUnsupportedFormat() throws Exception {
+        restTalkMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -482,6 +807,62 @@ class TalkResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void attendAndLeaveTalk() throws Exception {
+        // Initialize the database
+        insertedTalk = talkRepository.saveAndFlush(talk);
+
+        // Attending twice is attending once
+        for (int i = 0; i < 2; i++) {
+            restTalkMockMvc.perform(put(ENTITY_API_URL_ID + "/attendance", talk.getId())).andExpect(status().isNoContent());
+        }
+        assertThat(attendanceRepository.existsByTalkIdAndUserLogin(talk.getId(), "user")).isTrue();
+        assertThat(attendanceRepository.findAllWithUserByTalkIdIn(List.of(talk.getId()))).hasSize(1);
+
+        restTalkMockMvc.perform(delete(ENTITY_API_URL_ID + "/attendance", talk.getId())).andExpect(status().isNoContent());
+        assertThat(attendanceRepository.existsByTalkIdAndUserLogin(talk.getId(), "user")).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void attendNonExistingTalk() throws Exception {
+        restTalkMockMvc.perform(put(ENTITY_API_URL_ID + "/attendance", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("unknown-login")
+    void attendTalkAsUnknownUser() throws Exception {
+        // Initialize the database
+        insertedTalk = talkRepository.saveAndFlush(talk);
+
+        restTalkMockMvc.perform(put(ENTITY_API_URL_ID + "/attendance", talk.getId())).andExpect(status().isNotFound());
+        assertThat(attendanceRepository.existsByTalkIdAndUserLogin(talk.getId(), "unknown-login")).isFalse();
+    }
+
+    private void insertTalksWithDistinctRoomsAndTimeslots(int count) {
+        for (int i = 0; i < count; i++) {
+            Room room = RoomResourceIT.createEntity();
+            em.persist(room);
+            Timeslot timeslot = TimeslotResourceIT.createEntity();
+            em.persist(timeslot);
+            em.persist(
+                new Talk().title(DEFAULT_TITLE).speaker(DEFAULT_SPEAKER).abstractText(DEFAULT_ABSTRACT_TEXT).room(room).timeslot(timeslot)
+            );
+        }
+        em.flush();
+        // Start from an empty persistence context so that every entity has to be read from the database
+        em.clear();
+    }
+
+    private Statistics startStatistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
     protected long getRepositoryCount() {
         return talkRepository.count();
     }
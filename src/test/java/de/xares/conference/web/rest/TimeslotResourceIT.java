@@ -11,6 +11,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.xares.conference.IntegrationTest;
 import de.xares.conference.domain.Timeslot;
 import de.xares.conference.repository.TimeslotRepository;
+import de.xares.conference.service.ScheduleConflictService;
+import de.xares.conference.web.rest.errors.ErrorConstants;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -23,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,6 +55,9 @@ class TimeslotResourceIT {
     @Autowired
     private TimeslotRepository timeslotRepository;
 
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
+
     @Autowired
     private EntityManager em;
 
@@ -95,6 +101,12 @@ class TimeslotResourceIT {
         }
     }
 
+    @AfterTransaction
+    public void resetScheduleConflicts() {
+        // Drop what the test indexed from its rolled back transaction
+        scheduleConflictService.rebuild();
+    }
+
     @Test
     @Transactional
     void createTimeslot() throws Exception {
@@ -117,6 +129,34 @@ class TimeslotResourceIT {
         insertedTimeslot = returnedTimeslot;
     }
 
+    @Test
+    @Transactional
+    void createOverlappingTimeslot() throws Exception {
+        // Initialize the database
+        Timeslot existingTimeslot = timeslotRepository.saveAndFlush(
+            new Timeslot().start(Instant.parse("2025-03-01T10:00:00Z")).end(Instant.parse("2025-03-01T11:00:00Z"))
+        );
+        scheduleConflictService.rebuild();
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        Timeslot overlappingTimeslot = new Timeslot()
+            .start(Instant.parse("2025-03-01T10:30:00Z"))
+            .end(Instant.parse("2025-03-01T11:30:00Z"));
+        restTimeslotMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(overlappingTimeslot)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.type").value(ErrorConstants.SCHEDULE_CONFLICT_TYPE.toString()))
+            .andExpect(jsonPath("$.conflicts").value(hasItem(existingTimeslot.getId().intValue())));
+
+        // Adjacent timeslots do not overlap
+        Timeslot nextTimeslot = new Timeslot().start(Instant.parse("2025-03-01T11:00:00Z")).end(Instant.parse("2025-03-01T12:00:00Z"));
+        restTimeslotMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(nextTimeslot)))
+            .andExpect(status().isCreated());
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createTimeslotWithExistingId() throws Exception {
@@ -0,0 +1,149 @@
+package de.xares.conference.web.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.xares.conference.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Test class for the {@link SseBroadcaster}.
+ */
+class SseBroadcasterTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    private MeterRegistry meterRegistry;
+
+    private SseBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getStream().setBufferSize(BUFFER_SIZE);
+        applicationProperties.getStream().setWriterThreads(1);
+        applicationProperties.getStream().setWriteTimeout(Duration.ofMillis(100));
+        broadcaster = new SseBroadcaster(applicationProperties, new ObjectMapper(), meterRegistry);
+        broadcaster.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void slowClientIsDisconnected() {
+        SseEmitter slow = broadcaster.connect("slow");
+
+        // Writes to the emitter wait for its lock, as they would for a client not reading
+        synchronized (slow) {
+            for (int i = 0; i < BUFFER_SIZE + 1; i++) {
+                broadcaster.broadcast("talk", Map.of("id", i));
+            }
+            assertThat(broadcaster.getClientCount()).isZero();
+        }
+        assertThat(meterRegistry.get(SseBroadcaster.EVICTIONS_METER_NAME).counter().count()).isEqualTo(1);
+
+        // Fits in the buffer, along with the comment sent on connection
+        broadcaster.connect("fast");
+        for (int i = 0; i < BUFFER_SIZE - 1; i++) {
+            broadcaster.broadcast("talk", Map.of("id", i));
+        }
+        assertThat(broadcaster.getClientCount()).isEqualTo(1);
+        assertThat(meterRegistry.get(SseBroadcaster.CLIENTS_METER_NAME).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(SseBroadcaster.EVICTIONS_METER_NAME).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SseBroadcaster.EVENTS_METER_NAME).counter().count()).isEqualTo(2 * BUFFER_SIZE);
+    }
+
+    @Test
+    void stalledClientDoesNotHoldUpTheOthers() throws Exception {
+        CountDownLatch unblocked = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(unblocked);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+
+        // The only writer blocks on the stalled client from the comment sent on connection
+        broadcaster.connect("stalled", stalled);
+        broadcaster.connect("healthy", healthy);
+        try {
+            assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).as("connected").isNotNull();
+            for (int i = 0; i < 2 * BUFFER_SIZE; i++) {
+                broadcaster.broadcast("talk", Map.of("id", i));
+                assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).as("event %d", i).isNotNull();
+            }
+            assertThat(broadcaster.getClientCount()).isEqualTo(1);
+            assertThat(meterRegistry.get(SseBroadcaster.EVICTIONS_METER_NAME).counter().count()).isEqualTo(1);
+        } finally {
+            unblocked.countDown();
+        }
+
+        // Nothing is written to the disconnected client once its write returns
+        assertThat(stalled.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+        broadcaster.broadcast("talk", Map.of("id", 2 * BUFFER_SIZE));
+        assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(stalled.sent).isEmpty();
+    }
+
+    @Test
+    void eventsAreOnlySentToConnectedUsers() {
+        broadcaster.connect("attendee");
+        broadcaster.connect(null);
+
+        broadcaster.send("talk-moved", Map.of("attendee", "moves", "absent", "moves"));
+
+        assertThat(meterRegistry.get(SseBroadcaster.EVENTS_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void clientsAreDisconnectedOnShutdown() {
+        broadcaster.connect("user");
+        broadcaster.connect("user");
+
+        broadcaster.destroy();
+
+        assertThat(broadcaster.getClientCount()).isZero();
+        assertThat(meterRegistry.get(SseBroadcaster.EVICTIONS_METER_NAME).counter().count()).isZero();
+    }
+
+    /**
+     * Emitter recording the events written, blocking writes until unblocked when given a latch.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Set<DataWithMediaType>> sent = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch unblocked;
+
+        private RecordingEmitter(CountDownLatch unblocked) {
+            this.unblocked = unblocked;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (unblocked != null) {
+                try {
+                    unblocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(items);
+        }
+    }
+}